@@ -0,0 +1,72 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class AsyncDataProviderAcceptanceTest {
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @DataProvider
+    public static Future<Object[][]> dataProviderIsPositive() {
+        return executor.submit(new Callable<Object[][]>() {
+            @Override
+            public Object[][] call() throws Exception {
+                Thread.sleep(50); // simulate I/O
+                return new Object[][] { { 1 }, { 2 }, { 3 } };
+            }
+        });
+    }
+
+    @DataProvider
+    public static Future<List<List<Object>>> dataProviderIsLongerThan() {
+        return executor.submit(new Callable<List<List<Object>>>() {
+            @Override
+            public List<List<Object>> call() throws Exception {
+                Thread.sleep(50); // simulate I/O
+                List<List<Object>> result = new ArrayList<List<Object>>();
+                for (String string : new String[] { "ab", "abc" }) {
+                    List<Object> row = new ArrayList<Object>();
+                    row.add(string);
+                    row.add(1);
+                    result.add(row);
+                }
+                return result;
+            }
+        });
+    }
+
+    @Test
+    @UseDataProvider
+    public void testIsPositive(int value) {
+        // Expect:
+        assertThat(value).isPositive();
+    }
+
+    @Test
+    @UseDataProvider
+    public void testIsLongerThan(String string, int length) {
+        // Expect:
+        assertThat(string.length()).isGreaterThan(length);
+    }
+}
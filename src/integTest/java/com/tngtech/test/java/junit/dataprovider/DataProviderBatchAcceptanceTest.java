@@ -0,0 +1,51 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderBatch;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class DataProviderBatchAcceptanceTest {
+
+    private static final AtomicInteger setups = new AtomicInteger();
+    private static final AtomicInteger rows = new AtomicInteger();
+
+    @AfterClass
+    public static void checkBatches() {
+        assertThat(setups.get()).isEqualTo(10);
+        assertThat(rows.get()).isEqualTo(10000);
+    }
+
+    @Before
+    public void setup() {
+        setups.incrementAndGet();
+    }
+
+    @DataProvider
+    public static Object[][] dataProviderSquareIsNotNegative() {
+        Object[][] result = new Object[10000][];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = new Object[] { idx - 5000 };
+        }
+        return result;
+    }
+
+    @Test
+    @UseDataProvider
+    @DataProviderBatch(size = 1000)
+    public void testSquareIsNotNegative(int value) {
+        // Expect:
+        assertThat(value * value).isGreaterThanOrEqualTo(0);
+        rows.incrementAndGet();
+    }
+}
@@ -0,0 +1,76 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderBenchmark;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class DataProviderBenchmarkAcceptanceTest {
+
+    private static final ConcurrentMap<Integer, AtomicInteger> invocations =
+            new ConcurrentHashMap<Integer, AtomicInteger>();
+    private static final AtomicInteger setUps = new AtomicInteger();
+
+    @BeforeClass
+    public static void enableBenchmarks() {
+        System.setProperty(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED, "true");
+    }
+
+    @AfterClass
+    public static void disableBenchmarksAndCheckInvocations() {
+        System.clearProperty(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED);
+
+        assertThat(setUps.get()).isEqualTo(3);
+        assertThat(invocations).hasSize(3);
+        for (AtomicInteger count : invocations.values()) {
+            assertThat(count.get()).isEqualTo((2 + 3) * 4);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        setUps.incrementAndGet();
+    }
+
+    @DataProvider
+    public static Object[][] dataProviderPayloadSizes() {
+        // @formatter:off
+        return new Object[][] {
+            { 16 },
+            { 256 },
+            { 4096 },
+        };
+        // @formatter:on
+    }
+
+    @Test
+    @UseDataProvider("dataProviderPayloadSizes")
+    @DataProviderBenchmark(warmupIterations = 2, iterations = 3, operationsPerIteration = 4)
+    public void testEncode(int size) {
+        // Given:
+        invocations.putIfAbsent(size, new AtomicInteger());
+        StringBuilder payload = new StringBuilder();
+
+        // When:
+        for (int idx = 0; idx < size; idx++) {
+            payload.append((char) ('a' + idx % 26));
+        }
+
+        // Then:
+        assertThat(payload.length()).isEqualTo(size);
+        invocations.get(size).incrementAndGet();
+    }
+}
@@ -0,0 +1,51 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderContext;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.DataProviderSampling;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class DataProviderContextAcceptanceTest {
+
+    private static final AtomicInteger generated = new AtomicInteger();
+    private static final AtomicInteger rows = new AtomicInteger();
+
+    @AfterClass
+    public static void checkOnlySelectedRowsAreGenerated() {
+        assertThat(generated.get()).isEqualTo(3);
+        assertThat(rows.get()).isEqualTo(3);
+    }
+
+    @DataProvider
+    public static Object[][] dataProviderHuge(DataProviderContext context) {
+        assertThat(context.getTestMethod().getName()).isEqualTo("testHuge");
+
+        List<Integer> selected = context.selectRows(1000000);
+        Object[][] result = new Object[selected.size()][];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = new Object[] { selected.get(idx) };
+            generated.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Test
+    @UseDataProvider
+    @DataProviderSampling(limit = 3, seed = 42)
+    public void testHuge(int row) {
+        // Expect:
+        assertThat(row).isBetween(0, 999999);
+        rows.incrementAndGet();
+    }
+}
@@ -0,0 +1,73 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.AfterDataProviderRows;
+import com.tngtech.java.junit.dataprovider.BeforeDataProviderRows;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class DataProviderRowsHooksAcceptanceTest {
+
+    private static int setUps = 0;
+    private static int tearDowns = 0;
+    private static boolean serverRunning = false;
+
+    @BeforeDataProviderRows
+    public static void startServer() {
+        assertThat(serverRunning).isFalse();
+        serverRunning = true;
+        setUps++;
+    }
+
+    @AfterDataProviderRows
+    public static void stopServer() {
+        assertThat(serverRunning).isTrue();
+        serverRunning = false;
+        tearDowns++;
+    }
+
+    @AfterClass
+    public static void checkHooks() {
+        assertThat(setUps).isEqualTo(2);
+        assertThat(tearDowns).isEqualTo(2);
+        assertThat(serverRunning).isFalse();
+    }
+
+    @DataProvider
+    public static Object[][] dataProviderServerIsRunning() {
+        // @formatter:off
+        return new Object[][] {
+                { 1 },
+                { 2 },
+                { 3 },
+        };
+        // @formatter:on
+    }
+
+    @Test
+    @UseDataProvider
+    public void testServerIsRunning(int row) {
+        // Expect:
+        assertThat(serverRunning).isTrue();
+    }
+
+    @Test
+    @DataProvider({ "a", "b" })
+    public void testServerIsRunningForStringRows(String row) {
+        // Expect:
+        assertThat(serverRunning).isTrue();
+    }
+
+    @Test
+    public void testWithoutDataProvider() {
+        // Expect:
+        assertThat(serverRunning).isFalse();
+    }
+}
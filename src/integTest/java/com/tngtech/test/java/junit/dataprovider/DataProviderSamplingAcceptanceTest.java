@@ -0,0 +1,44 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.DataProviderSampling;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class DataProviderSamplingAcceptanceTest {
+
+    private static final Set<Integer> executed = new HashSet<Integer>();
+
+    @AfterClass
+    public static void checkSample() {
+        assertThat(executed).hasSize(5);
+    }
+
+    @DataProvider
+    public static Object[][] dataProviderIsBelowThousand() {
+        Object[][] result = new Object[1000][];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = new Object[] { idx };
+        }
+        return result;
+    }
+
+    @Test
+    @UseDataProvider
+    @DataProviderSampling(limit = 5, seed = 1)
+    public void testIsBelowThousand(int value) {
+        // Expect:
+        assertThat(value).isLessThan(1000);
+        executed.add(value);
+    }
+}
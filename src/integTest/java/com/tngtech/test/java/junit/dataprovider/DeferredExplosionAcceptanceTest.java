@@ -0,0 +1,167 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Categories.CategoryFilter;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.Filter;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+public class DeferredExplosionAcceptanceTest {
+
+    private static final AtomicInteger fastInvocations = new AtomicInteger();
+    private static final AtomicInteger slowInvocations = new AtomicInteger();
+
+    public interface Slow {
+        // category marker
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class FastAndSlowRows {
+
+        @DataProvider
+        public static Object[][] dataProviderFast() {
+            fastInvocations.incrementAndGet();
+            return new Object[][] { { 1 }, { 2 } };
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderSlow() {
+            slowInvocations.incrementAndGet();
+            return new Object[][] { { 1 }, { 2 }, { 3 } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderFast")
+        public void testFast(int value) {
+            assertThat(value).isPositive();
+        }
+
+        @Test
+        @Category(Slow.class)
+        @UseDataProvider("dataProviderSlow")
+        public void testSlow(int value) {
+            assertThat(value).isPositive();
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class FailingDataProvider {
+
+        @DataProvider
+        public static Object[][] dataProviderFailing() {
+            throw new IllegalStateException("dataprovider failed");
+        }
+
+        @Test
+        @UseDataProvider("dataProviderFailing")
+        public void testFailing(int value) {
+            // never run
+        }
+
+        @Test
+        public void testWithoutDataProvider() {
+            // run regardless of the failing dataprovider
+        }
+    }
+
+    @Before
+    public void resetInvocations() {
+        fastInvocations.set(0);
+        slowInvocations.set(0);
+    }
+
+    @Test
+    public void testSingleMethodRequestShouldNotInvokeDataProviderOfOtherTestMethod() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(FastAndSlowRows.class, "testFast"));
+
+        // Then:
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRunCount()).isEqualTo(2);
+        assertThat(fastInvocations.get()).isEqualTo(1);
+        assertThat(slowInvocations.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCategoryFilterShouldNotInvokeDataProviderOfExcludedTestMethod() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.aClass(FastAndSlowRows.class).filterWith(
+                CategoryFilter.include(Slow.class)));
+
+        // Then:
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRunCount()).isEqualTo(3);
+        assertThat(fastInvocations.get()).isEqualTo(0);
+        assertThat(slowInvocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFilterDependingOnRowsShouldStillRunMatchingRows() {
+        // Given:
+        Filter secondRowsOnly = new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                return !description.isTest() || description.getMethodName().contains("[1:");
+            }
+
+            @Override
+            public String describe() {
+                return "second rows only";
+            }
+        };
+
+        // When:
+        Result result = new JUnitCore().run(Request.aClass(FastAndSlowRows.class).filterWith(secondRowsOnly));
+
+        // Then:
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRunCount()).isEqualTo(2);
+        assertThat(fastInvocations.get()).isEqualTo(1);
+        assertThat(slowInvocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnfilteredRunShouldInvokeEveryDataProviderOnce() {
+        // Given:
+
+        // When:
+        Result result = JUnitCore.runClasses(FastAndSlowRows.class);
+
+        // Then:
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRunCount()).isEqualTo(5);
+        assertThat(fastInvocations.get()).isEqualTo(1);
+        assertThat(slowInvocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailingDataProviderShouldBeReportedForItsTestMethodOnly() {
+        // Given:
+
+        // When:
+        Result result = JUnitCore.runClasses(FailingDataProvider.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(2);
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getDescription().getMethodName()).isEqualTo("testFailing");
+        assertThat(result.getFailures().get(0).getMessage()).contains("dataprovider failed");
+    }
+}
@@ -0,0 +1,57 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class LazyConversionAcceptanceTest {
+
+    private static final AtomicInteger rows = new AtomicInteger();
+
+    @AfterClass
+    public static void checkRows() {
+        assertThat(rows.get()).isEqualTo(5003);
+    }
+
+    @Test
+    // @formatter:off
+    @DataProvider(value = {
+            "1, SECONDS, a",
+            "2, MINUTES, b",
+            "3, HOURS,",
+        }, convertLazily = true)
+    // @formatter:on
+    public void testConvertLazily(long value, TimeUnit unit, String... names) {
+        // Expect:
+        assertThat(unit.toSeconds(value)).isPositive();
+        assertThat(names).hasSize(1);
+        rows.incrementAndGet();
+    }
+
+    @DataProvider(convertLazily = true)
+    public static String[] dataProviderManyRows() {
+        String[] result = new String[5000];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = idx + ", " + (idx % 2 == 0);
+        }
+        return result;
+    }
+
+    @Test
+    @UseDataProvider
+    public void testManyRows(int value, boolean even) {
+        // Expect:
+        assertThat(value % 2 == 0).isEqualTo(even);
+        rows.incrementAndGet();
+    }
+}
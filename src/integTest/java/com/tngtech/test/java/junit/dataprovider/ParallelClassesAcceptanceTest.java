@@ -0,0 +1,128 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunListener;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.Placeholders;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import com.tngtech.java.junit.dataprovider.internal.placeholder.BasePlaceholder;
+
+public class ParallelClassesAcceptanceTest {
+
+    private static final int ROWS = 50;
+    private static final int COPIES = 20;
+
+    @RunWith(DataProviderRunner.class)
+    public static class ParallelDataProviderMethod {
+
+        @DataProvider
+        public static Object[][] dataProviderRows() {
+            Object[][] result = new Object[ROWS][];
+            for (int idx = 0; idx < ROWS; idx++) {
+                result[idx] = new Object[] { idx };
+            }
+            return result;
+        }
+
+        @Test
+        @UseDataProvider("dataProviderRows")
+        public void testRows(int row) {
+            // Expect:
+            assertThat(row).isBetween(0, ROWS - 1);
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class ParallelStringDataProvider {
+
+        @Test
+        @DataProvider({ "a, 1", "b, 2", "c, 3" })
+        public void testStrings(String letter, int number) {
+            // Expect:
+            assertThat(letter.charAt(0) - 'a' + 1).isEqualTo(number);
+        }
+    }
+
+    private static class NeverMatchingPlaceholder extends BasePlaceholder {
+        NeverMatchingPlaceholder() {
+            super("%neverMatching");
+        }
+
+        @Override
+        protected String getReplacementFor(String placeholder) {
+            return "should never be used";
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Placeholders.reset();
+    }
+
+    @Test
+    public void testRunManyClassesInParallelWhileModifyingPlaceholders() throws Exception {
+        // Given:
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (int copy = 0; copy < COPIES; copy++) {
+            classes.add(ParallelDataProviderMethod.class);
+            classes.add(ParallelStringDataProvider.class);
+        }
+
+        final Queue<String> names = new ConcurrentLinkedQueue<String>();
+        JUnitCore junitCore = new JUnitCore();
+        junitCore.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                names.add(description.getMethodName());
+            }
+        });
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        Thread placeholderModifier = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (running.get()) {
+                    BasePlaceholder placeholder = new NeverMatchingPlaceholder();
+                    Placeholders.all().add(0, placeholder);
+                    Placeholders.all().remove(placeholder);
+                }
+            }
+        });
+        placeholderModifier.start();
+
+        // When:
+        Result result;
+        try {
+            result = junitCore.run(new ParallelComputer(true, true), classes.toArray(new Class<?>[classes.size()]));
+        } finally {
+            running.set(false);
+            placeholderModifier.join();
+        }
+
+        // Then:
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRunCount()).isEqualTo(COPIES * (ROWS + 3));
+        assertThat(names).hasSize(COPIES * (ROWS + 3));
+        for (String name : names) {
+            assertThat(name).matches("testRows\\[\\d+: \\d+\\]|testStrings\\[\\d: [abc], \\d\\]");
+        }
+        assertThat(names).containsAll(Arrays.asList("testRows[0: 0]", "testRows[49: 49]", "testStrings[2: c, 3]"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.ReuseTestInstance;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class ReuseTestInstanceAcceptanceTest {
+
+    private static final AtomicInteger instances = new AtomicInteger();
+    private static final AtomicInteger setups = new AtomicInteger();
+
+    private int rowsOfInstance;
+
+    public ReuseTestInstanceAcceptanceTest() {
+        instances.incrementAndGet();
+    }
+
+    @AfterClass
+    public static void checkInstances() {
+        assertThat(instances.get()).isEqualTo(1);
+        assertThat(setups.get()).isEqualTo(10);
+    }
+
+    @Before
+    public void setup() {
+        setups.incrementAndGet();
+        rowsOfInstance++;
+    }
+
+    @DataProvider
+    public static Object[][] dataProviderRowsOfInstance() {
+        Object[][] result = new Object[10][];
+        for (int idx = 0; idx < result.length; idx++) {
+            result[idx] = new Object[] { idx + 1 };
+        }
+        return result;
+    }
+
+    @Test
+    @UseDataProvider
+    @ReuseTestInstance
+    public void testRowsOfInstance(int expected) {
+        // Expect:
+        assertThat(rowsOfInstance).isEqualTo(expected);
+    }
+}
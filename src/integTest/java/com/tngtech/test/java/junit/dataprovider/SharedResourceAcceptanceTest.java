@@ -0,0 +1,89 @@
+package com.tngtech.test.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.SharedResource;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+public class SharedResourceAcceptanceTest {
+
+    private static final ConcurrentMap<String, AtomicInteger> activeRowsPerKey =
+            new ConcurrentHashMap<String, AtomicInteger>();
+    private static final AtomicInteger activeRows = new AtomicInteger();
+    private static final AtomicInteger maxActiveRows = new AtomicInteger();
+    private static final AtomicInteger maxActiveRowsPerKey = new AtomicInteger();
+
+    @RunWith(DataProviderRunner.class)
+    public static class RowsSharingPorts {
+
+        @DataProvider
+        public static Object[][] dataProviderPorts() {
+            // @formatter:off
+            return new Object[][] {
+                { "port-1", 1 },
+                { "port-1", 2 },
+                { "port-1", 3 },
+                { "port-2", 1 },
+                { "port-2", 2 },
+                { "port-2", 3 },
+            };
+            // @formatter:on
+        }
+
+        @Test
+        @UseDataProvider("dataProviderPorts")
+        @SharedResource(parameters = 0)
+        public void testUsingPort(String port, int row) throws Exception {
+            activeRowsPerKey.putIfAbsent(port, new AtomicInteger());
+
+            int activeForKey = activeRowsPerKey.get(port).incrementAndGet();
+            int active = activeRows.incrementAndGet();
+            updateMax(maxActiveRowsPerKey, activeForKey);
+            updateMax(maxActiveRows, active);
+            try {
+                Thread.sleep(50);
+            } finally {
+                activeRows.decrementAndGet();
+                activeRowsPerKey.get(port).decrementAndGet();
+            }
+        }
+
+        private void updateMax(AtomicInteger max, int value) {
+            int current;
+            do {
+                current = max.get();
+            } while (value > current && !max.compareAndSet(current, value));
+        }
+    }
+
+    @Test
+    public void testRowsSharingResourceKeyAreSerializedWhileOthersRunInParallel() {
+        // Given:
+        System.setProperty(DataProviderRunner.SYSTEM_PROPERTY_THREADS, "4");
+
+        // When:
+        Result result;
+        try {
+            result = JUnitCore.runClasses(RowsSharingPorts.class);
+        } finally {
+            System.clearProperty(DataProviderRunner.SYSTEM_PROPERTY_THREADS);
+        }
+
+        // Then:
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRunCount()).isEqualTo(6);
+        assertThat(maxActiveRowsPerKey.get()).isEqualTo(1);
+        assertThat(maxActiveRows.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,26 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.After;
+
+/**
+ * Annotates {@code public static void} methods without parameters which are run by the {@link DataProviderRunner} once
+ * after the last row of every dataprovider of every test method, if the {@code @}{@link BeforeDataProviderRows} methods
+ * have been run for it. In contrast to {@code @}{@link After}, this is well suited to release resources acquired by
+ * {@code @}{@link BeforeDataProviderRows} methods.
+ * <p>
+ * All of these methods are run, even if one fails. As the last row has already been finished at this point, failures
+ * are reported as additional failures of the last finished row.
+ *
+ * @see BeforeDataProviderRows
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AfterDataProviderRows {
+}
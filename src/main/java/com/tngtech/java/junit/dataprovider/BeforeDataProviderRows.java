@@ -0,0 +1,29 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.Before;
+
+/**
+ * Annotates {@code public static void} methods without parameters which are run by the {@link DataProviderRunner} once
+ * before the first row of every dataprovider of every test method, i.e. once per {@code @}{@link UseDataProvider}
+ * dataprovider method or test method annotated with {@code @}{@link DataProvider}. In contrast to {@code @}
+ * {@link Before}, this is well suited for expensive setup which only depends on the test method, e.g. starting an
+ * embedded server or loading a schema.
+ * <p>
+ * If any of these methods fails, all rows of the dataprovider are reported as failed with the thrown exception without
+ * being executed. The {@code @}{@link AfterDataProviderRows} methods are run anyway.
+ * <p>
+ * Test methods without dataprovider do not trigger these methods.
+ *
+ * @see AfterDataProviderRows
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface BeforeDataProviderRows {
+}
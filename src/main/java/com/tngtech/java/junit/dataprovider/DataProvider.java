@@ -62,6 +62,13 @@ public @interface DataProvider {
      */
     String DEFAULT_FORMAT = "%m[%i: %p[0..-1]]";
 
+    /**
+     * Value for {@link #abortAfterFailures()} such that all rows are executed regardless of previous failures.
+     *
+     * @see #abortAfterFailures()
+     */
+    int NEVER_ABORT = 0;
+
     /**
      * Define a list of parameters each as a regex-separated {@link String} for the annotated test method. Optional.
      *
@@ -175,4 +182,51 @@ public @interface DataProvider {
      *         for the corresponding {@link Enum} values is case-insensitive. Default is {@code false}. Optional.
      */
     boolean ignoreEnumCase() default false;
+
+    /**
+     * The number of failed rows after which the remaining rows of the test method using this dataprovider are not
+     * executed anymore but reported as skipped. The first skipped row is reported as failure summarizing the abort.
+     * This avoids thousands of identical (slow) failures if a regression breaks a test method with a huge dataprovider.
+     * Defaults to {@link #NEVER_ABORT}. Optional.
+     *
+     * @return the number of failed rows after which remaining rows are skipped or {@link #NEVER_ABORT}
+     * @see #NEVER_ABORT
+     */
+    int abortAfterFailures() default NEVER_ABORT;
+
+    /**
+     * {@code true} if rows with equal parameters (compared deeply, i.e. including arrays) should only be executed once,
+     * {@code false} otherwise. Only the first occurrence of such a row is kept, keeping its original index (see
+     * {@code %i} in {@link #format()}). The number of removed rows is printed to {@link System#out}. Default is
+     * {@code false}. Optional.
+     *
+     * @return {@code true} iif duplicate rows should be removed
+     */
+    boolean removeDuplicates() default false;
+
+    /**
+     * {@code true} if equal values of the regex-separated {@link String}s given by {@link #value()} or returned by the
+     * method annotated with {@code @}{@link DataProvider} should be converted to a single shared instance if their
+     * target type is immutable (e.g. primitive types and their wrappers, {@link String}, {@link java.math.BigDecimal}),
+     * {@code false} otherwise. This saves conversion time and memory if the same values occur in many rows. The number
+     * of shared instances is bounded per target type. Default is {@code false}. Optional.
+     *
+     * @return {@code true} iif equal values of immutable types should be converted to a shared instance
+     */
+    boolean internValues() default false;
+
+    /**
+     * {@code true} if the regex-separated {@link String}s given by {@link #value()} or returned by a dataprovider
+     * method returning {@code String[]} should not be converted while the test methods are generated but each row
+     * only just before its test method is invoked, {@code false} otherwise. While generating, only the number of
+     * parameters of each row is checked, such that big dataproviders start fast and only keep their (compact)
+     * {@link String}s in memory. A row which cannot be converted lets only its own test method fail.
+     * <p>
+     * Note that the parameter placeholders in {@link #format()} (as well as {@link #removeDuplicates()}) then see the
+     * unconverted {@link String} of a row as single parameter. Has no effect on other kinds of dataproviders. Default is
+     * {@code false}. Optional.
+     *
+     * @return {@code true} iif rows should be converted just before their test method is invoked
+     */
+    boolean convertLazily() default false;
 }
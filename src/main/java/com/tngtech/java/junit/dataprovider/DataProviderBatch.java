@@ -0,0 +1,39 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the rows of the dataproviders of the annotated test method in batches instead of one by one. Each batch is a
+ * single JUnit test which invokes the test method for each of its rows on the same test instance, such that the per
+ * test overhead of JUnit (i.e. {@link org.junit.runner.Description}s, notifications, {@code @}{@link Before} and
+ * {@code @}{@link After} methods, rules, ...) is only paid once per batch. This is useful for a huge number of rows
+ * with very cheap assertions. Each batch is named by its index, its dataprovider method and the names of its first and
+ * last row (see {@link DataProvider#format()}).
+ * <p>
+ * All rows of a batch are run, even if some of them fail. Every failed row is reported as a separate failure of the
+ * batch which names the failed row (see {@link DataProvider#format()}) and has the original exception as cause. Rows
+ * violating an assumption are skipped silently.
+ * <p>
+ * Note that {@link Test#expected()} and {@link Test#timeout()} apply to the whole batch and should therefore not be
+ * used together with this annotation.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DataProviderBatch {
+
+    /**
+     * The maximum number of rows of each batch, must be greater than zero. Defaults to {@code 1000}. Optional.
+     *
+     * @return the maximum number of rows of each batch
+     */
+    int size() default 1000;
+}
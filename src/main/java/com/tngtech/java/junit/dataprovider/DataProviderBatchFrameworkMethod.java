@@ -0,0 +1,141 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.MultipleFailureException;
+
+/**
+ * A special framework method that invokes the test method for a batch of dataprovider rows at once (see
+ * {@code @}{@link DataProviderBatch}).
+ */
+public class DataProviderBatchFrameworkMethod extends FrameworkMethod {
+
+    /**
+     * Name of the dataprovider method of the rows or {@code null} if the {@code @}{@link DataProvider} is used on the
+     * test method itself.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    final String dataProviderName;
+
+    /**
+     * Index of the batch within the rows of its dataprovider such that each get a unique name.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    final int batchIdx;
+
+    /**
+     * The rows of this batch.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    final List<DataProviderFrameworkMethod> rows;
+
+    /**
+     * Create a {@link FrameworkMethod} for a batch of rows of a test method using a dataprovider.
+     *
+     * @param method test method for which the {@link FrameworkMethod} is created
+     * @param dataProviderName the name of the dataprovider method of the rows or {@code null} if the
+     *            {@code @}{@link DataProvider} is used on the test method itself
+     * @param batchIdx the index of the batch within the rows of its dataprovider
+     * @param rows the rows of the batch
+     * @throws NullPointerException iif given {@code rows} is {@code null}
+     * @throws IllegalArgumentException iif given {@code rows} is empty
+     */
+    public DataProviderBatchFrameworkMethod(Method method, String dataProviderName, int batchIdx,
+            List<DataProviderFrameworkMethod> rows) {
+        super(method);
+
+        checkNotNull(rows, "rows must not be null");
+        checkArgument(!rows.isEmpty(), "rows must not be empty");
+
+        this.dataProviderName = dataProviderName;
+        this.batchIdx = batchIdx;
+        this.rows = new ArrayList<DataProviderFrameworkMethod>(rows);
+    }
+
+    /**
+     * Returns the name of this batch consisting of the name of the test method, the dataprovider method (if any), the
+     * index of this batch and the names of its first and last row as formatted by {@link DataProvider#format()}.
+     */
+    @Override
+    public String getName() {
+        StringBuilder result = new StringBuilder(getMethod().getName()).append("[batch ").append(batchIdx);
+        if (dataProviderName != null) {
+            result.append(" of ").append(dataProviderName);
+        }
+        return result.append(": ").append(rows.size()).append(" rows from ").append(rows.get(0).getName())
+                .append(" to ").append(rows.get(rows.size() - 1).getName()).append(']').toString();
+    }
+
+    /**
+     * Invokes the test method for every row of this batch, ignoring the given {@code params}. Rows violating an
+     * assumption are skipped.
+     *
+     * @throws AssertionError if a single row failed, having the original exception as cause
+     * @throws MultipleFailureException if multiple rows failed, containing an {@link AssertionError} for each of them
+     */
+    @Override
+    public Object invokeExplosively(Object target, Object... params) throws Throwable {
+        List<Throwable> failures = new ArrayList<Throwable>();
+        for (DataProviderFrameworkMethod row : rows) {
+            try {
+                row.invokeExplosively(target);
+            } catch (AssumptionViolatedException e) {
+                // skip row as an assumption failed
+            } catch (Throwable t) {
+                AssertionError failure = new AssertionError(String.format("Row '%s' failed: %s", row.getName(), t));
+                failure.initCause(t);
+                failures.add(failure);
+            }
+        }
+        MultipleFailureException.assertEmpty(failures);
+        return null;
+    }
+
+    /**
+     * Releases the parameters of all rows of this batch, see {@link DataProviderFrameworkMethod#releaseParameters()}.
+     */
+    public void releaseParameters() {
+        for (DataProviderFrameworkMethod row : rows) {
+            row.releaseParameters();
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = super.hashCode();
+        result = prime * result + ((dataProviderName == null) ? 0 : dataProviderName.hashCode());
+        result = prime * result + batchIdx;
+        result = prime * result + rows.hashCode();
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        DataProviderBatchFrameworkMethod other = (DataProviderBatchFrameworkMethod) obj;
+        return (dataProviderName == null ? other.dataProviderName == null : dataProviderName
+                .equals(other.dataProviderName)) && batchIdx == other.batchIdx && rows.equals(other.rows);
+    }
+}
@@ -0,0 +1,75 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the annotated test method (or all test methods of the annotated class) as microbenchmark such that the same
+ * dataprovider rows can drive correctness as well as performance runs. By default, the test method is run once per row
+ * as usual. If the system property {@value #SYSTEM_PROPERTY_ENABLED} is {@code true}, every row is invoked
+ * {@link #warmupIterations()} times without measuring and afterwards {@link #iterations()} times, each time invoking
+ * the test method {@link #operationsPerIteration()} times in a row. {@code @}{@link org.junit.Before} and
+ * {@code @}{@link org.junit.After} methods are only run once around all iterations of a row.
+ * <p>
+ * The mean time per invocation of every row is printed to {@link System#out} in nanoseconds per operation together with
+ * its error, i.e. the half width of its 95% confidence interval (assuming normal distribution). The results are also
+ * written to the file given by the system property {@value #SYSTEM_PROPERTY_RESULT_FILE}, if set. If the system property
+ * {@value #SYSTEM_PROPERTY_BASELINE_FILE} points to the result file of a previous run, every row fails which is
+ * significantly slower than its baseline (see {@link #maxRegression()}).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface DataProviderBenchmark {
+
+    /**
+     * System property to run all test methods annotated with {@code @}{@link DataProviderBenchmark} as benchmarks.
+     */
+    String SYSTEM_PROPERTY_ENABLED = "junit.dataprovider.benchmark";
+
+    /**
+     * System property to specify the path of the file to which the benchmark results are written.
+     */
+    String SYSTEM_PROPERTY_RESULT_FILE = "junit.dataprovider.benchmark.resultFile";
+
+    /**
+     * System property to specify the path of the result file of a previous run to which all results are compared.
+     */
+    String SYSTEM_PROPERTY_BASELINE_FILE = "junit.dataprovider.benchmark.baselineFile";
+
+    /**
+     * The number of iterations run before measuring to warm up the JVM, e.g. to trigger just-in-time compilation.
+     * Defaults to {@code 5}. Optional.
+     *
+     * @return the number of warm up iterations (must not be negative)
+     */
+    int warmupIterations() default 5;
+
+    /**
+     * The number of measured iterations. Defaults to {@code 10}. Optional.
+     *
+     * @return the number of measured iterations (must be greater than zero)
+     */
+    int iterations() default 10;
+
+    /**
+     * The number of invocations of the test method per iteration. Should be increased for very fast test methods such
+     * that a single iteration takes significantly longer than the resolution of {@link System#nanoTime()}. Defaults to
+     * {@code 1}. Optional.
+     *
+     * @return the number of invocations per iteration (must be greater than zero)
+     */
+    int operationsPerIteration() default 1;
+
+    /**
+     * The fraction by which a row may be slower than its baseline (see {@value #SYSTEM_PROPERTY_BASELINE_FILE}), e.g.
+     * {@code 0.1} for 10%. A row fails only if the lower bound of its confidence interval exceeds the allowed time, such
+     * that noisy measurements do not fail. Defaults to {@code 0.1}. Optional.
+     *
+     * @return the allowed regression compared to the baseline as fraction
+     */
+    double maxRegression() default 0.1;
+}
@@ -0,0 +1,104 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.runners.model.FrameworkMethod;
+
+import com.tngtech.java.junit.dataprovider.internal.RowSampler;
+
+/**
+ * Context which can be passed as single parameter to a dataprovider method instead of the {@link FrameworkMethod} of
+ * the test method. Besides the test method, it tells generating dataproviders which of their rows will actually be run,
+ * such that they can skip producing rows which would be discarded anyway, e.g. due to
+ * {@code @}{@link DataProviderSampling}:
+ *
+ * <pre>
+ * <code>
+ * &#064;DataProvider
+ * public static Object[][] dataProviderHuge(DataProviderContext context) {
+ *     List&lt;Integer&gt; rows = context.selectRows(1000000);
+ *     Object[][] result = new Object[rows.size()][];
+ *     for (int idx = 0; idx &lt; result.length; idx++) {
+ *         result[idx] = generateRow(rows.get(idx));
+ *     }
+ *     return result;
+ * }
+ * </code>
+ * </pre>
+ * <p>
+ * Rows removed by filters or not assigned to the selected shard are not known in advance as both depend on the
+ * converted parameters of the rows. They are dropped while or after exploding the returned rows.
+ */
+public class DataProviderContext {
+
+    private final FrameworkMethod testMethod;
+
+    private List<Integer> selectedRows;
+
+    /**
+     * @param testMethod the test method using the dataprovider
+     * @throws NullPointerException iif given {@code testMethod} is {@code null}
+     */
+    public DataProviderContext(FrameworkMethod testMethod) {
+        this.testMethod = checkNotNull(testMethod, "testMethod must not be null");
+    }
+
+    /**
+     * @return the test method using the dataprovider
+     */
+    public FrameworkMethod getTestMethod() {
+        return testMethod;
+    }
+
+    /**
+     * Returns the indices of the rows which will be run if the dataprovider would return {@code rowCount} rows. After
+     * calling this method, the dataprovider must only return exactly the rows with the returned indices in the same
+     * order. These rows are neither sampled again nor re-indexed, i.e. they retain the returned indices (see {@code %i}
+     * in {@link DataProvider#format()}).
+     *
+     * @param rowCount the total number of rows the dataprovider could generate
+     * @return the sorted indices of the rows to be generated (never {@code null})
+     * @throws IllegalArgumentException iif given {@code rowCount} is negative
+     * @throws IllegalStateException iif the rows have already been selected
+     */
+    public synchronized List<Integer> selectRows(int rowCount) {
+        checkArgument(rowCount >= 0, "rowCount must not be negative but was %d", rowCount);
+        if (selectedRows != null) {
+            throw new IllegalStateException("Rows have already been selected");
+        }
+        List<Integer> sample = sample(rowCount);
+        if (sample == null) {
+            sample = new ArrayList<Integer>(rowCount);
+            for (int idx = 0; idx < rowCount; idx++) {
+                sample.add(idx);
+            }
+        }
+        selectedRows = Collections.unmodifiableList(new ArrayList<Integer>(sample));
+        return selectedRows;
+    }
+
+    /**
+     * Draws the sample of rows according to {@code @}{@link DataProviderSampling} or its system properties.
+     * <p>
+     * This method purely exists as potential extension point by overriding it.
+     * </p>
+     *
+     * @param rowCount the total number of rows the dataprovider could generate
+     * @return the sorted indices of the rows to be run or {@code null} if all rows should be run
+     */
+    protected List<Integer> sample(int rowCount) {
+        return new RowSampler().sample(testMethod, rowCount);
+    }
+
+    /**
+     * @return the row indices returned by {@link #selectRows(int)} or {@code null} if it has not been called
+     */
+    public synchronized List<Integer> getSelectedRows() {
+        return selectedRows;
+    }
+}
@@ -5,6 +5,7 @@ import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotN
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.junit.experimental.categories.Categories.CategoryFilter;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 
@@ -81,6 +82,30 @@ public class DataProviderFilter extends Filter {
         return false;
     }
 
+    /**
+     * Returns whether any row of the test method with the given {@code testMethodDescription} might be run, such that
+     * test methods can be filtered before their dataproviders are invoked. If the description of the original filter is
+     * parsable by {@link #DESCRIPTION_PATTERN}, the test method and class names are compared ignoring the row index.
+     * Otherwise, the original filter is only asked for the test method itself if it is known not to depend on the row,
+     * i.e. for a {@link CategoryFilter}. For any other filter, {@code true} is returned such that the rows are filtered
+     * after exploding as before.
+     *
+     * @param testMethodDescription the {@link Description} of the not yet exploded test method
+     * @return {@code true} if any row of the test method might be run, {@code false} otherwise
+     */
+    public boolean shouldRunAnyRowOf(Description testMethodDescription) {
+        Matcher filterDescriptionMatcher = DESCRIPTION_PATTERN.matcher(filter.describe());
+        if (!filterDescriptionMatcher.find()) {
+            return !(filter instanceof CategoryFilter) || filter.shouldRun(testMethodDescription);
+        }
+        Matcher generousDescMatcher = GENEROUS_DESCRIPTION_PATTERN.matcher(testMethodDescription.getDisplayName());
+        if (!generousDescMatcher.matches()) {
+            return true;
+        }
+        return filterDescriptionMatcher.group(GROUP_METHOD_NAME).equals(generousDescMatcher.group(GROUP_METHOD_NAME))
+                && filterDescriptionMatcher.group(GROUP_CLASS).equals(generousDescMatcher.group(GROUP_CLASS));
+    }
+
     @Override
     public String describe() {
         return filter.describe();
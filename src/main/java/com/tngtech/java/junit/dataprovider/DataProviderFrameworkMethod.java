@@ -8,13 +8,21 @@ import java.util.Arrays;
 
 import org.junit.runners.model.FrameworkMethod;
 
+import com.tngtech.java.junit.dataprovider.internal.ResourceKeys;
+import com.tngtech.java.junit.dataprovider.internal.RowFingerprint;
 import com.tngtech.java.junit.dataprovider.internal.placeholder.BasePlaceholder;
+import com.tngtech.java.junit.dataprovider.internal.placeholder.ParameterPlaceholder;
 
 /**
  * A special framework method that allows the usage of parameters for the test method.
  */
 public class DataProviderFrameworkMethod extends FrameworkMethod {
 
+    /**
+     * System property to limit the length of test method names, see {@link #getName()}. Not limited by default.
+     */
+    public static final String SYSTEM_PROPERTY_MAX_NAME_LENGTH = "junit.dataprovider.format.maxNameLength";
+
     /**
      * Index of exploded test method such that each get a unique name.
      * <p>
@@ -24,12 +32,12 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
     final int idx;
 
     /**
-     * Parameters to invoke the test method.
+     * Parameters to invoke the test method or {@code null} if already released, see {@link #releaseParameters()}.
      * <p>
      * This field is package private (= visible) for testing.
      * </p>
      */
-    final Object[] parameters;
+    volatile Object[] parameters;
 
     /**
      * Format of test method name.
@@ -39,6 +47,22 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
      */
     final String nameFormat;
 
+    /**
+     * Stable hash of the {@link #parameters} computed on creation, see {@link RowFingerprint#hashParameters(Object[])}.
+     */
+    private final long parametersHash;
+
+    /**
+     * Name and hash code of the {@link #parameters} remembered by {@link #releaseParameters()}.
+     */
+    private String releasedName;
+    private int releasedParametersHashCode;
+
+    /**
+     * Keys of the resources shared by this test method determined while exploding or {@code null} if not determined.
+     */
+    private volatile ResourceKeys resourceKeys;
+
     /**
      * Create a {@link FrameworkMethod} extended with special attributes for using this test with a dataprovider.
      *
@@ -57,23 +81,98 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
         this.idx = idx;
         this.parameters = Arrays.copyOf(parameters, parameters.length);
         this.nameFormat = nameFormat;
+        this.parametersHash = RowFingerprint.hashParameters(parameters);
     }
 
+    /**
+     * Returns the name of this test method formatted according to its name format. If the name is longer than given by
+     * the system property {@value #SYSTEM_PROPERTY_MAX_NAME_LENGTH}, its middle is replaced by {@code ...}. The
+     * {@link ParameterPlaceholder} already skips formatting parameters which would be replaced anyway.
+     *
+     * @throws IllegalArgumentException iif the system property {@value #SYSTEM_PROPERTY_MAX_NAME_LENGTH} is not greater
+     *             than zero
+     */
     @Override
     public String getName() {
+        Object[] params = parameters; // read once as it may be released concurrently
+        if (params == null) {
+            return releasedName;
+        }
         String result = nameFormat;
         for (BasePlaceholder placeHolder : Placeholders.all()) {
             synchronized (placeHolder) {
-                placeHolder.setContext(getMethod(), idx, Arrays.copyOf(parameters, parameters.length));
+                placeHolder.setContext(getMethod(), idx, Arrays.copyOf(params, params.length));
                 result = placeHolder.process(result);
             }
         }
+
+        int maxLength = ParameterPlaceholder.getLengthLimit(SYSTEM_PROPERTY_MAX_NAME_LENGTH);
+        if (result != null && result.length() > maxLength) {
+            result = result.substring(0, ParameterPlaceholder.getHeadEnd(result, maxLength)) + "..."
+                    + result.substring(ParameterPlaceholder.getTailBegin(result, maxLength));
+        }
         return result;
     }
 
     @Override
     public Object invokeExplosively(Object target, Object... params) throws Throwable {
-        return super.invokeExplosively(target, parameters);
+        return super.invokeExplosively(target, getInvocationParameters());
+    }
+
+    /**
+     * This method purely exists as potential extension point by overriding it.
+     *
+     * @return the parameters to invoke the test method with
+     * @throws Throwable if the parameters cannot be resolved, which lets the test method fail
+     */
+    protected Object[] getInvocationParameters() throws Throwable {
+        Object[] result = parameters;
+        if (result == null) {
+            throw new IllegalStateException(String.format("Parameters of '%s' have already been released", getName()));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the reference to the parameters of this test method such that they can be garbage collected, e.g. after
+     * it has been run. Its name, hash code and equality stay the same, but it cannot be invoked anymore.
+     */
+    public synchronized void releaseParameters() {
+        if (parameters != null) {
+            releasedName = getName();
+            releasedParametersHashCode = Arrays.hashCode(parameters);
+            parameters = null;
+        }
+    }
+
+    /**
+     * @return the stable hash of the parameters of this test method computed on creation, which is kept if the
+     *         parameters are released (see {@link RowFingerprint#hashParameters(Object[])})
+     */
+    public long getParametersHash() {
+        return parametersHash;
+    }
+
+    /**
+     * @return the keys of the resources shared by this test method as determined while exploding or {@code null} if
+     *         they have not been determined, e.g. if this test method has not been created by the
+     *         {@link com.tngtech.java.junit.dataprovider.internal.TestGenerator}
+     */
+    public ResourceKeys getResourceKeys() {
+        return resourceKeys;
+    }
+
+    /**
+     * @param resourceKeys the keys of the resources shared by this test method, see {@code @}{@link SharedResource}
+     * @throws NullPointerException iif given {@code resourceKeys} is {@code null}
+     */
+    public void setResourceKeys(ResourceKeys resourceKeys) {
+        this.resourceKeys = checkNotNull(resourceKeys, "resourceKeys must not be null");
+    }
+
+    private int getParametersHashCode() {
+        Object[] params = parameters;
+        return (params == null) ? releasedParametersHashCode : Arrays.hashCode(params);
     }
 
     @Override
@@ -82,7 +181,7 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
         int result = super.hashCode();
         result = prime * result + idx;
         result = prime * result + ((nameFormat == null) ? 0 : nameFormat.hashCode());
-        result = prime * result + Arrays.hashCode(parameters);
+        result = prime * result + getParametersHashCode();
         return result;
     }
 
@@ -108,7 +207,12 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
         } else if (!nameFormat.equals(other.nameFormat)) {
             return false;
         }
-        if (!Arrays.equals(parameters, other.parameters)) {
+        Object[] params = parameters;
+        Object[] otherParams = other.parameters;
+        if (params == null || otherParams == null) {
+            return getParametersHashCode() == other.getParametersHashCode() && getName().equals(other.getName());
+        }
+        if (!Arrays.equals(params, otherParams)) {
             return false;
         }
         return true;
@@ -2,27 +2,67 @@ package com.tngtech.java.junit.dataprovider;
 
 import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
 
+import java.io.IOException;
+import java.io.PrintStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Lock;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Ignore;
 import org.junit.Test;
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.statements.RunAfters;
+import org.junit.internal.runners.statements.RunBefores;
+import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
 
 import com.tngtech.java.junit.dataprovider.UseDataProvider.ResolveStrategy;
 import com.tngtech.java.junit.dataprovider.internal.DataConverter;
 import com.tngtech.java.junit.dataprovider.internal.DefaultDataProviderMethodResolver;
+import com.tngtech.java.junit.dataprovider.internal.ParallelRowScheduler;
+import com.tngtech.java.junit.dataprovider.internal.ResourceKeys;
+import com.tngtech.java.junit.dataprovider.internal.ResourceLocks;
+import com.tngtech.java.junit.dataprovider.internal.RowBenchmarks;
+import com.tngtech.java.junit.dataprovider.internal.RowBenchmarks.Result;
+import com.tngtech.java.junit.dataprovider.internal.RowFingerprint;
+import com.tngtech.java.junit.dataprovider.internal.RowGroup;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory.Status;
+import com.tngtech.java.junit.dataprovider.internal.RowJournal;
+import com.tngtech.java.junit.dataprovider.internal.RowResourceUsage;
+import com.tngtech.java.junit.dataprovider.internal.RowResourceUsage.Sample;
+import com.tngtech.java.junit.dataprovider.internal.RowStore;
+import com.tngtech.java.junit.dataprovider.internal.ShardPlan;
 import com.tngtech.java.junit.dataprovider.internal.TestGenerator;
 import com.tngtech.java.junit.dataprovider.internal.TestValidator;
 
@@ -35,6 +75,38 @@ import com.tngtech.java.junit.dataprovider.internal.TestValidator;
  */
 public class DataProviderRunner extends BlockJUnit4ClassRunner {
 
+    /**
+     * System property to enable a hierarchical {@link Description} tree, i.e. the rows of each test method using a
+     * dataprovider are grouped by an intermediate suite {@link Description} for the test method and, if it uses
+     * multiple dataproviders (see {@link ResolveStrategy#AGGREGATE_ALL_MATCHES}), for each dataprovider.
+     */
+    public static final String SYSTEM_PROPERTY_HIERARCHICAL_DESCRIPTION = "junit.dataprovider.description.hierarchical";
+
+    /**
+     * System property to enable invoking and converting dataproviders on background threads, given as the maximum
+     * number of test methods which are exploded ahead of the one currently processed. Disabled by default.
+     */
+    public static final String SYSTEM_PROPERTY_PREFETCH = "junit.dataprovider.prefetch";
+
+    /**
+     * System property to release the parameters of every row as soon as it has been run such that they can be garbage
+     * collected, see {@link DataProviderFrameworkMethod#releaseParameters()}. Disabled by default.
+     */
+    public static final String SYSTEM_PROPERTY_RELEASE_PARAMETERS = "junit.dataprovider.releaseParameters";
+
+    /**
+     * System property to run the test methods of each test class on the given number of threads. Rows sharing resources
+     * declared by {@code @}{@link SharedResource} are serialized. Disabled by default.
+     */
+    public static final String SYSTEM_PROPERTY_THREADS = "junit.dataprovider.threads";
+
+    private static final Statement EMPTY_STATEMENT = new Statement() {
+        @Override
+        public void evaluate() {
+            // nothing to do
+        }
+    };
+
     /**
      * The {@link DataConverter} to be used to convert from supported return types of any dataprovider to {@link List}
      * {@code <}{@link Object}{@code []>} such that data can be further handled.
@@ -54,12 +126,47 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
     protected TestValidator testValidator;
 
     /**
-     * Cached result of {@link #computeTestMethods()}.
+     * The {@link RowHistory} to be used to record the outcome and duration of all test methods and to run previously
+     * failing and slow test methods first.
+     */
+    protected RowHistory rowHistory;
+
+    /**
+     * The {@link RowJournal} to be used to append the outcome of all test methods to a journal and to only rerun
+     * previously failed or not yet recorded test methods.
+     */
+    protected RowJournal rowJournal;
+
+    /**
+     * The {@link RowBenchmarks} to be used to record and compare the results of all test methods annotated with
+     * {@code @}{@link DataProviderBenchmark}.
+     */
+    protected RowBenchmarks rowBenchmarks;
+
+    /**
+     * The {@link RowResourceUsage} to be used to account the CPU time and allocated bytes of all test methods of this
+     * class.
+     */
+    protected RowResourceUsage rowResourceUsage;
+
+    /**
+     * The {@link ResourceLocks} to be used to serialize test methods sharing resources declared by
+     * {@code @}{@link SharedResource}.
+     */
+    protected ResourceLocks resourceLocks;
+
+    /**
+     * The {@link ShardPlan} to be used to select the test methods of the shard to be run.
+     */
+    protected ShardPlan shardPlan;
+
+    /**
+     * Cached result of {@link #computeTestMethods()}, computed only once even if the runner is used concurrently.
      * <p>
      * This field is package private (= visible) for testing.
      * </p>
      */
-    List<FrameworkMethod> computedTestMethods;
+    volatile List<FrameworkMethod> computedTestMethods;
 
     /**
      * Cached result of {@link #getDataProviderMethods(FrameworkMethod)}.
@@ -67,7 +174,56 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      * This field is package private (= visible) for testing.
      * </p>
      */
-    Map<FrameworkMethod, List<FrameworkMethod>> dataProviderMethods;
+    volatile Map<FrameworkMethod, List<FrameworkMethod>> dataProviderMethods;
+
+    /**
+     * The {@link RowGroup} of each exploded test method which was generated using a dataprovider. It is only filled
+     * while {@link #computeTestMethods()} computes the exploded test methods, i.e. it is safely published by
+     * {@link #computedTestMethods}.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    Map<FrameworkMethod, RowGroup> rowGroups;
+
+    /**
+     * The test method for which {@link #methodBlock(FrameworkMethod)} is currently creating a test instance on the
+     * current thread, required by {@link #createTest()} to reuse test instances.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    final ThreadLocal<FrameworkMethod> currentMethod = new ThreadLocal<FrameworkMethod>();
+
+    /**
+     * The exploded test methods which have been removed by {@link #filter(Filter)}.
+     */
+    private final Set<FrameworkMethod> filteredTestMethods = Collections
+            .newSetFromMap(new IdentityHashMap<FrameworkMethod, Boolean>());
+
+    /**
+     * The test methods which are exploded by {@link #computeTestMethods()}, i.e. all test methods of the test class
+     * less the ones removed by {@link #filter(Filter)} before exploding. It is lazily initialized and only accessed
+     * while holding the lock on {@code this}.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    List<FrameworkMethod> testMethodsToExplode;
+
+    /**
+     * Cached hierarchical {@link Description}, reset on filtering and sorting.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    volatile Description hierarchicalDescription;
+
+    /**
+     * The scheduler running the test methods of this class in parallel or {@code null} if they are not run by a
+     * {@link ParallelRowScheduler}, see {@link #setScheduler(RunnerScheduler)}.
+     */
+    private volatile ParallelRowScheduler rowScheduler;
 
     /**
      * Creates a DataProviderRunner to run supplied {@code clazz}.
@@ -77,6 +233,23 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      */
     public DataProviderRunner(Class<?> clazz) throws InitializationError {
         super(clazz);
+
+        int threads = Integer.getInteger(SYSTEM_PROPERTY_THREADS, 1);
+        if (threads > 1) {
+            setScheduler(new ParallelRowScheduler(threads));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, remembers a given {@link ParallelRowScheduler} such that rows whose shared resources are currently
+     * used by other rows can be deferred instead of blocking its threads.
+     */
+    @Override
+    public void setScheduler(RunnerScheduler scheduler) {
+        super.setScheduler(scheduler);
+        rowScheduler = (scheduler instanceof ParallelRowScheduler) ? (ParallelRowScheduler) scheduler : null;
     }
 
     @Override
@@ -85,23 +258,37 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
         // this, i.e. fields are not initialized yet but required in super.collectInitializationErrors(errors) ...
         initializeHelpers();
 
+        validatePublicVoidNoArgMethods(BeforeDataProviderRows.class, true, errors);
+        validatePublicVoidNoArgMethods(AfterDataProviderRows.class, true, errors);
         super.collectInitializationErrors(errors);
     }
 
     /**
-     * Initialize and/or override {@link DataConverter}, {@link TestGenerator} and/or {@link TestValidator} helper classes.
+     * Initialize and/or override {@link DataConverter}, {@link TestGenerator}, {@link TestValidator},
+     * {@link RowHistory}, {@link RowJournal}, {@link RowBenchmarks}, {@link RowResourceUsage}, {@link ResourceLocks}
+     * and/or {@link ShardPlan} helper classes.
      */
     protected void initializeHelpers() {
         dataConverter = new DataConverter();
         testGenerator = new TestGenerator(dataConverter);
         testValidator = new TestValidator(dataConverter);
+        rowHistory = RowHistory.getInstance();
+        rowJournal = RowJournal.getInstance();
+        rowBenchmarks = RowBenchmarks.getInstance();
+        rowResourceUsage = new RowResourceUsage();
+        resourceLocks = ResourceLocks.getInstance();
+        shardPlan = ShardPlan.getInstance();
+        testGenerator.setShardPlan(shardPlan);
+        testGenerator.setTestClass(getTestClass().getJavaClass());
     }
 
     /**
      * {@inheritDoc}
      * <p>
      * Is copied from {@link BlockJUnit4ClassRunner#validateInstanceMethods} because {@link #computeTestMethods()} must
-     * not be called if validation already found errors!
+     * not be called while validating: it invokes all dataproviders, which is deferred until the test methods have been
+     * filtered (see {@link #filter(Filter)}). Dataproviders are still validated structurally by
+     * {@link #validateTestMethods(List)} without invoking them.
      */
     @Override
     @Deprecated
@@ -110,7 +297,7 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
         validatePublicVoidNoArgMethods(Before.class, false, errors);
         validateTestMethods(errors);
 
-        if (errors.isEmpty() && computeTestMethods().size() == 0) {
+        if (errors.isEmpty() && getTestClassInt().getAnnotatedMethods(Test.class).isEmpty()) {
             errors.add(new Exception("No runnable methods"));
         }
     }
@@ -170,31 +357,216 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      * original test method is added.
      * <p>
      * Additionally, caches the result as {@link #computeTestMethods()} is call multiple times while test execution by
-     * the JUnit framework (to validate, to filter, to execute, ...).
+     * the JUnit framework (to filter, to describe, to execute, ...). The result is computed only once, even if called
+     * concurrently, e.g. if classes or methods are run in parallel. Test methods which have already been removed by
+     * {@link #filter(Filter)} are not exploded, i.e. their dataproviders are never invoked.
+     * <p>
+     * As the dataproviders are invoked lazily, a failing dataprovider cannot be reported as initialization error of the
+     * runner anymore. Instead, an {@link InitializationErrorFrameworkMethod} is returned for the affected test method
+     * which reports the error, while all other test methods are exploded and run as usual (see
+     * {@link #generateExplodedTestMethodsFor(List)}). If exploding fails otherwise, a single
+     * {@link InitializationErrorFrameworkMethod} is returned for the test class. Serious errors, i.e.
+     * {@link VirtualMachineError}s, {@link ThreadDeath} and {@link LinkageError}s, are rethrown.
      *
      * @return the exploded list of test methods (never {@code null})
      */
     @Override
     protected List<FrameworkMethod> computeTestMethods() {
-        if (computedTestMethods == null) {
-            // Further method for generation is required due to stubbing of "super.computeTestMethods()" is not possible
-            computedTestMethods = generateExplodedTestMethodsFor(super.computeTestMethods());
+        List<FrameworkMethod> result = computedTestMethods;
+        if (result == null) {
+            // lock on "this" as this method is called via constructors super(...) => fields are not initialized yet
+            synchronized (this) {
+                result = computedTestMethods;
+                if (result == null) {
+                    List<FrameworkMethod> testMethods = getTestMethodsToExplode();
+                    try {
+                        // Further method for generation is required due to stubbing of "super.computeTestMethods()"
+                        // is not possible
+                        result = generateExplodedTestMethodsFor(testMethods);
+                    } catch (Throwable t) {
+                        rethrowIfSerious(t);
+                        if (testMethods.isEmpty()) {
+                            throw new IllegalStateException(String.format(
+                                    "Could not explode test methods of '%s': %s", getTestClass().getName(),
+                                    t.getMessage()), t);
+                        }
+                        result = Collections.<FrameworkMethod> singletonList(new InitializationErrorFrameworkMethod(
+                                testMethods.get(0).getMethod(), t));
+                    }
+                    computedTestMethods = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void rethrowIfSerious(Throwable t) {
+        // the JVM is not able to run any tests anymore or classes could not be linked at all
+        if (t instanceof VirtualMachineError || t instanceof ThreadDeath || t instanceof LinkageError) {
+            throw (Error) t;
+        }
+    }
+
+    private List<FrameworkMethod> getTestMethodsToExplode() {
+        if (testMethodsToExplode == null) {
+            testMethodsToExplode = new ArrayList<FrameworkMethod>(super.computeTestMethods());
         }
-        return computedTestMethods;
+        return testMethodsToExplode;
     }
 
     /**
      * {@inheritDoc}
      * <p>
      * If possible the given {@code filter} is wrapped by {@link DataProviderFilter} to enable filtering of tests using
-     * a dataprovider.
+     * a dataprovider. If the test methods have not been exploded yet, all test methods of which no row can be run (see
+     * {@link DataProviderFilter#shouldRunAnyRowOf(Description)}) are removed before, such that their dataproviders are
+     * never invoked. Additionally, removes the filtered test methods from their {@link RowGroup} such that
+     * {@code @}{@link AfterDataProviderRows} methods are run and reused test instances are released after the last
+     * remaining row.
      *
      * @param filter the {@link Filter} to be wrapped or apply, respectively
      */
     @Override
     public void filter(Filter filter) throws NoTestsRemainException {
         checkNotNull(filter, "filter must not be null");
-        super.filter(new DataProviderFilter(filter));
+        DataProviderFilter dataProviderFilter = new DataProviderFilter(filter);
+        hierarchicalDescription = null;
+        synchronized (this) {
+            if (computedTestMethods == null) {
+                Iterator<FrameworkMethod> testMethods = getTestMethodsToExplode().iterator();
+                while (testMethods.hasNext()) {
+                    FrameworkMethod testMethod = testMethods.next();
+                    if (!dataProviderFilter.shouldRunAnyRowOf(Description.createTestDescription(
+                            getTestClass().getJavaClass(), testMethod.getName(), testMethod.getAnnotations()))) {
+                        testMethods.remove();
+                    }
+                }
+            }
+        }
+        super.filter(dataProviderFilter);
+
+        if (rowGroups != null) {
+            boolean hasDataProviderRowsHooks = hasDataProviderRowsHooks();
+            for (FrameworkMethod testMethod : computeTestMethods()) {
+                RowGroup rowGroup = getRowGroup(testMethod);
+                if (rowGroup != null
+                        && (hasDataProviderRowsHooks || isTestInstanceReused(rowGroup.getTestMethod()))
+                        && !filteredTestMethods.contains(testMethod)
+                        && !dataProviderFilter.shouldRun(describeChild(testMethod))) {
+                    filteredTestMethods.add(testMethod);
+                    rowGroup.finishRow();
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, resets the cached hierarchical {@link Description}.
+     */
+    @Override
+    public void sort(Sorter sorter) {
+        hierarchicalDescription = null;
+        super.sort(sorter);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the system property {@value #SYSTEM_PROPERTY_HIERARCHICAL_DESCRIPTION} is {@code true}, the rows of each test
+     * method using a dataprovider are grouped by an intermediate suite {@link Description}. As JUnit 4 requires all
+     * children of a {@link Description} to be created up front, the tree cannot be built lazily. Instead, it is built
+     * on the first call and cached until the next filtering or sorting, where JUnit would otherwise rebuild the flat
+     * list for every call.
+     */
+    @Override
+    public Description getDescription() {
+        if (!Boolean.getBoolean(SYSTEM_PROPERTY_HIERARCHICAL_DESCRIPTION)) {
+            return super.getDescription();
+        }
+        Description result = hierarchicalDescription;
+        if (result == null) {
+            // concurrent callers may both build the tree, but each of them returns a complete one
+            result = createHierarchicalDescription(super.getDescription());
+            hierarchicalDescription = result;
+        }
+        return result;
+    }
+
+    private Description createHierarchicalDescription(Description flatDescription) {
+        Map<Description, RowGroup> rowGroupsByDescription = new HashMap<Description, RowGroup>();
+        for (FrameworkMethod testMethod : computeTestMethods()) {
+            RowGroup rowGroup = getRowGroup(testMethod);
+            if (rowGroup != null) {
+                rowGroupsByDescription.put(describeChild(testMethod), rowGroup);
+            }
+        }
+
+        String className = getTestClassInt().getName();
+        Description result = flatDescription.childlessCopy();
+        Map<FrameworkMethod, Description> testMethodSuites = new HashMap<FrameworkMethod, Description>();
+        Map<RowGroup, Description> rowGroupSuites = new IdentityHashMap<RowGroup, Description>();
+        for (Description child : flatDescription.getChildren()) {
+            RowGroup rowGroup = rowGroupsByDescription.get(child);
+            if (rowGroup == null) {
+                result.addChild(child);
+                continue;
+            }
+
+            Description parent = rowGroupSuites.get(rowGroup);
+            if (parent == null) {
+                FrameworkMethod testMethod = rowGroup.getTestMethod();
+                Description testMethodSuite = testMethodSuites.get(testMethod);
+                if (testMethodSuite == null) {
+                    testMethodSuite = Description.createSuiteDescription(
+                            String.format("%s(%s)", testMethod.getName(), className), testMethod.getAnnotations());
+                    testMethodSuites.put(testMethod, testMethodSuite);
+                    result.addChild(testMethodSuite);
+                }
+
+                parent = testMethodSuite;
+                FrameworkMethod dataProviderMethod = rowGroup.getDataProviderMethod();
+                if (dataProviderMethod != null && getDataProviderMethods(testMethod).size() > 1) {
+                    parent = Description.createSuiteDescription(String.format("%s[%s](%s)", testMethod.getName(),
+                            dataProviderMethod.getName(), className));
+                    testMethodSuite.addChild(parent);
+                }
+                rowGroupSuites.put(rowGroup, parent);
+            }
+            parent.addChild(child);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, deletes the spilled rows (see {@link RowStore}), flushes the {@link RowJournal}, saves the
+     * {@link RowHistory} and {@link RowBenchmarks} and prints the report of the {@link RowResourceUsage} after all tests
+     * of this class have been run.
+     */
+    @Override
+    public void run(RunNotifier notifier) {
+        try {
+            super.run(notifier);
+        } finally {
+            testGenerator.closeRowStores();
+            rowJournal.flush();
+            try {
+                rowHistory.save();
+            } catch (IOException e) {
+                System.err.println("Could not save dataprovider row history: " + e.getMessage());
+            }
+            try {
+                rowBenchmarks.save();
+            } catch (IOException e) {
+                System.err.println("Could not save dataprovider benchmark results: " + e.getMessage());
+            }
+            for (String line : rowResourceUsage.report()) {
+                getOut().println(line);
+            }
+        }
     }
 
     /**
@@ -209,7 +581,19 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      * Generates the exploded list of test methods for the given {@code testMethods}. Each of the given
      * {@link FrameworkMethod}s is checked if it uses a {@code @}{@link DataProvider} or not. If yes, for each line of
      * the {@link DataProvider}s result a specific, parameterized test method will be added. If no, the original test
-     * method is added.
+     * method is added. If the {@link RowHistory} is enabled, the resulting test methods are ordered such that
+     * previously failing test methods run first, followed by the slowest ones. If the {@link ShardPlan} is enabled,
+     * only the test methods assigned to the shard given by {@value ShardPlan#SYSTEM_PROPERTY_SHARD} are returned.
+     * <p>
+     * All dataprovider methods returning a {@link Future} are invoked before any test method is exploded such that their
+     * asynchronous computations overlap with each other and with the invocation of all other dataprovider methods. If
+     * the system property {@value #SYSTEM_PROPERTY_PREFETCH} is set, test methods are additionally exploded by a
+     * pipeline of background threads, keeping the order of the resulting test methods and reporting errors for the
+     * same test method as without.
+     * <p>
+     * If exploding a test method fails, e.g. because its dataprovider throws an exception, the failure is reported by an
+     * {@link InitializationErrorFrameworkMethod} for this test method only instead of its rows. Serious errors, i.e.
+     * {@link VirtualMachineError}s, {@link ThreadDeath} and {@link LinkageError}s, are rethrown.
      * <p>
      * This method is package private (= visible) for testing.
      * </p>
@@ -222,11 +606,174 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
         if (testMethods == null) {
             return result;
         }
+        List<FrameworkMethod[]> toExplode = new ArrayList<FrameworkMethod[]>();
         for (FrameworkMethod testMethod : testMethods) {
             for (FrameworkMethod dataProviderMethod : getDataProviderMethods(testMethod)) {
-                result.addAll(testGenerator.generateExplodedTestMethodsFor(testMethod, dataProviderMethod));
+                if (returnsFuture(dataProviderMethod)) {
+                    testGenerator.startAsyncDataProviderMethod(testMethod, dataProviderMethod);
+                }
+                toExplode.add(new FrameworkMethod[] { testMethod, dataProviderMethod });
+            }
+        }
+
+        int prefetch = Integer.getInteger(SYSTEM_PROPERTY_PREFETCH, 0);
+        List<List<FrameworkMethod>> exploded = (prefetch > 0 && toExplode.size() > 1) ? explodePrefetching(toExplode,
+                prefetch) : explode(toExplode);
+        List<List<FrameworkMethod>> groups = new ArrayList<List<FrameworkMethod>>(toExplode.size());
+        for (int idx = 0; idx < toExplode.size(); idx++) {
+            List<FrameworkMethod> selected = selectShard(exploded.get(idx));
+            if (!isInitializationError(exploded.get(idx))) {
+                registerRowGroup(toExplode.get(idx)[0], toExplode.get(idx)[1], selected);
+            }
+            groups.add(selected);
+        }
+        for (List<FrameworkMethod> group : sortByRowHistory(groups)) {
+            result.addAll(group);
+        }
+        return result;
+    }
+
+    private List<List<FrameworkMethod>> explode(List<FrameworkMethod[]> toExplode) {
+        List<List<FrameworkMethod>> result = new ArrayList<List<FrameworkMethod>>();
+        for (FrameworkMethod[] methods : toExplode) {
+            result.add(explodeReportingError(methods));
+        }
+        return result;
+    }
+
+    /**
+     * Explodes the given test and dataprovider method, returning an {@link InitializationErrorFrameworkMethod} for the
+     * test method instead of its rows if this fails.
+     */
+    private List<FrameworkMethod> explodeReportingError(FrameworkMethod[] methods) {
+        try {
+            return testGenerator.generateExplodedTestMethodsFor(methods[0], methods[1]);
+        } catch (Throwable t) {
+            rethrowIfSerious(t);
+            return Collections.<FrameworkMethod> singletonList(new InitializationErrorFrameworkMethod(
+                    methods[0].getMethod(), t));
+        }
+    }
+
+    private boolean isInitializationError(List<FrameworkMethod> explodedTestMethods) {
+        return explodedTestMethods.size() == 1
+                && explodedTestMethods.get(0) instanceof InitializationErrorFrameworkMethod;
+    }
+
+    /**
+     * Explodes the given test and dataprovider methods on background threads, at most {@code prefetch} ahead of the
+     * one currently waited for. The results and any thrown exception are returned respectively thrown in the same
+     * order as by {@link #explode(List)}.
+     */
+    private List<List<FrameworkMethod>> explodePrefetching(List<FrameworkMethod[]> toExplode, int prefetch) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(prefetch, toExplode.size()),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread result = new Thread(runnable, "junit-dataprovider-prefetch");
+                        result.setDaemon(true);
+                        return result;
+                    }
+                });
+        try {
+            List<Future<List<FrameworkMethod>>> futures = new ArrayList<Future<List<FrameworkMethod>>>();
+            List<List<FrameworkMethod>> result = new ArrayList<List<FrameworkMethod>>();
+            for (int idx = 0; idx < toExplode.size(); idx++) {
+                while (futures.size() < toExplode.size() && futures.size() <= idx + prefetch) {
+                    final FrameworkMethod[] methods = toExplode.get(futures.size());
+                    futures.add(executor.submit(new Callable<List<FrameworkMethod>>() {
+                        @Override
+                        public List<FrameworkMethod> call() {
+                            return explodeReportingError(methods);
+                        }
+                    }));
+                }
+                result.add(getPrefetched(futures.get(idx)));
+                futures.set(idx, null);
+            }
+            return result;
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<FrameworkMethod> getPrefetched(Future<List<FrameworkMethod>> future) {
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for prefetched dataprovider rows", e);
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private boolean returnsFuture(FrameworkMethod dataProviderMethod) {
+        Method method = (dataProviderMethod == null) ? null : dataProviderMethod.getMethod();
+        return method != null && Future.class.isAssignableFrom(method.getReturnType());
+    }
+
+    private List<FrameworkMethod> selectShard(List<FrameworkMethod> testMethods) {
+        if (!shardPlan.isEnabled()) {
+            return testMethods;
+        }
+        int shard = shardPlan.getSelectedShard();
+        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
+        for (FrameworkMethod testMethod : testMethods) {
+            if (shardPlan.getShard(getFingerprint(testMethod)) == shard) {
+                result.add(testMethod);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the rows of each group (i.e. of each test method and dataprovider) and afterwards the groups by their first
+     * row according to the {@link RowHistory}. The rows of a group are kept together such that their
+     * {@code @}{@link BeforeDataProviderRows} state or reused test instance is not kept alive while rows of other groups
+     * are run.
+     */
+    private List<List<FrameworkMethod>> sortByRowHistory(List<List<FrameworkMethod>> groups) {
+        if (!rowHistory.isEnabled()) {
+            return groups;
+        }
+        final Map<FrameworkMethod, String> fingerprints = new IdentityHashMap<FrameworkMethod, String>();
+        List<List<FrameworkMethod>> result = new ArrayList<List<FrameworkMethod>>(groups.size());
+        for (List<FrameworkMethod> group : groups) {
+            if (!group.isEmpty()) {
+                for (FrameworkMethod testMethod : group) {
+                    fingerprints.put(testMethod, getFingerprint(testMethod));
+                }
+                result.add(new ArrayList<FrameworkMethod>(group));
+            }
+        }
+
+        final Comparator<String> comparator = rowHistory.getComparator();
+        final Comparator<FrameworkMethod> rowComparator = new Comparator<FrameworkMethod>() {
+            @Override
+            public int compare(FrameworkMethod testMethod1, FrameworkMethod testMethod2) {
+                return comparator.compare(fingerprints.get(testMethod1), fingerprints.get(testMethod2));
             }
+        };
+        for (List<FrameworkMethod> group : result) {
+            Collections.sort(group, rowComparator);
         }
+        Collections.sort(result, new Comparator<List<FrameworkMethod>>() {
+            @Override
+            public int compare(List<FrameworkMethod> group1, List<FrameworkMethod> group2) {
+                return rowComparator.compare(group1.get(0), group2.get(0));
+            }
+        });
         return result;
     }
 
@@ -234,15 +781,407 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      * <p>
      * This method is package private (= visible) for testing.
      * </p>
+     *
+     * @param testMethod the (exploded) test method
+     * @return the {@link RowFingerprint} of the given test method
      */
-    List<FrameworkMethod> getDataProviderMethods(FrameworkMethod testMethod) {
+    String getFingerprint(FrameworkMethod testMethod) {
+        long[] parametersHashes = null;
+        if (testMethod instanceof DataProviderFrameworkMethod) {
+            parametersHashes = new long[] { ((DataProviderFrameworkMethod) testMethod).getParametersHash() };
+
+        } else if (testMethod instanceof DataProviderBatchFrameworkMethod) {
+            List<DataProviderFrameworkMethod> rows = ((DataProviderBatchFrameworkMethod) testMethod).rows;
+            parametersHashes = new long[rows.size()];
+            for (int idx = 0; idx < rows.size(); idx++) {
+                parametersHashes[idx] = rows.get(idx).getParametersHash();
+            }
+        }
+        return RowFingerprint.of(getTestClassInt().getJavaClass(), testMethod.getMethod(), parametersHashes);
+    }
+
+    private void registerRowGroup(FrameworkMethod testMethod, FrameworkMethod dataProviderMethod,
+            List<FrameworkMethod> explodedTestMethods) {
+        DataProvider dataProvider = (dataProviderMethod == null) ? testMethod.getAnnotation(DataProvider.class)
+                : dataProviderMethod.getAnnotation(DataProvider.class);
+        if (dataProvider == null) {
+            return;
+        }
         // initialize field here as this method is called via constructors super(...) => fields are not initialized yet
-        if (dataProviderMethods == null) {
-            dataProviderMethods = new HashMap<FrameworkMethod, List<FrameworkMethod>>();
+        if (rowGroups == null) {
+            rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        }
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        rowGroup.addRows(explodedTestMethods.size());
+        for (FrameworkMethod explodedTestMethod : explodedTestMethods) {
+            rowGroups.put(explodedTestMethod, rowGroup);
+        }
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     *
+     * @param method the (exploded) test method
+     * @return the {@link RowGroup} of the given exploded test method or {@code null} if it does not use a dataprovider
+     */
+    RowGroup getRowGroup(FrameworkMethod method) {
+        return (rowGroups == null) ? null : rowGroups.get(method);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, skips the remaining rows of a test method if the number of failed rows reached
+     * {@link DataProvider#abortAfterFailures()}. The first skipped row is reported as failure summarizing the abort, all
+     * further as ignored. Test methods which should not be run according to the {@link RowJournal} are reported as
+     * ignored.
+     * <p>
+     * Runs the {@code @}{@link BeforeDataProviderRows} methods before the first row of a {@link RowGroup} and reports
+     * all its rows as failed without running them if these fail. Runs the {@code @}{@link AfterDataProviderRows}
+     * methods after the last row of a {@link RowGroup}.
+     * <p>
+     * If the system property {@value #SYSTEM_PROPERTY_RELEASE_PARAMETERS} is {@code true}, the parameters of the test
+     * method are released afterwards.
+     * <p>
+     * If run by a {@link ParallelRowScheduler}, the resources declared by {@code @}{@link SharedResource} are locked
+     * before anything else. If any of them is currently used by another row, the test method is deferred by the
+     * scheduler such that its thread runs other rows in the meantime.
+     */
+    @Override
+    protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+        if (method instanceof InitializationErrorFrameworkMethod) {
+            fireTestFailed(notifier, describeChild(method), ((InitializationErrorFrameworkMethod) method).getError());
+            return;
+        }
+        List<Lock> locks = null;
+        ParallelRowScheduler scheduler = rowScheduler;
+        if (scheduler != null) {
+            locks = resourceLocks.tryLock(getResourceKeys(method));
+            if (locks == null && scheduler.deferCurrent()) {
+                return; // run again by the scheduler after another row has finished
+            }
+            // otherwise the locks are waited for by the statement of the test method, see methodBlock
+        }
+        RowGroup rowGroup = getRowGroup(method);
+        try {
+            runRow(method, rowGroup, notifier);
+        } finally {
+            if (locks != null) {
+                resourceLocks.unlock(locks);
+            }
+            if (rowGroup != null && rowGroup.finishRow() && rowGroup.isSetUp()) {
+                runAfterDataProviderRows(method, notifier);
+            }
+            if (Boolean.getBoolean(SYSTEM_PROPERTY_RELEASE_PARAMETERS)) {
+                releaseParameters(method);
+            }
+        }
+    }
+
+    private void releaseParameters(FrameworkMethod method) {
+        if (method instanceof DataProviderFrameworkMethod) {
+            ((DataProviderFrameworkMethod) method).releaseParameters();
+
+        } else if (method instanceof DataProviderBatchFrameworkMethod) {
+            ((DataProviderBatchFrameworkMethod) method).releaseParameters();
+        }
+    }
+
+    private void runRow(FrameworkMethod method, RowGroup rowGroup, RunNotifier notifier) {
+        if (rowJournal.isEnabled() && rowJournal.shouldSkip(getFingerprint(method))) {
+            notifier.fireTestIgnored(describeChild(method));
+            return;
+        }
+        if (rowGroup != null && rowGroup.isAborted()) {
+            Description description = describeChild(method);
+            if (rowGroup.markAbortReported()) {
+                fireTestFailed(notifier, description, new AssertionError(String.format(
+                        "Skipped this and all remaining rows of '%s' because %d rows failed already (see @%s#abortAfterFailures())",
+                        rowGroup.getTestMethod().getName(), rowGroup.getFailures(), DataProvider.class.getSimpleName())));
+            } else {
+                notifier.fireTestIgnored(description);
+            }
+            return;
+        }
+        if (rowGroup != null && method.getAnnotation(Ignore.class) == null && hasDataProviderRowsHooks()) {
+            Throwable setUpFailure = rowGroup.setUpOnce(new RunBefores(EMPTY_STATEMENT,
+                    getTestClassInt().getAnnotatedMethods(BeforeDataProviderRows.class), null));
+            if (setUpFailure != null) {
+                rowGroup.recordFailure();
+                fireTestFailed(notifier, describeChild(method), setUpFailure);
+                return;
+            }
+        }
+        super.runChild(method, notifier);
+    }
+
+    private void runAfterDataProviderRows(FrameworkMethod lastMethod, RunNotifier notifier) {
+        try {
+            new RunAfters(EMPTY_STATEMENT, getTestClassInt().getAnnotatedMethods(AfterDataProviderRows.class), null)
+                    .evaluate();
+        } catch (Throwable t) {
+            notifier.fireTestFailure(new Failure(describeChild(lastMethod), t));
+        }
+    }
+
+    private boolean hasDataProviderRowsHooks() {
+        return !getTestClassInt().getAnnotatedMethods(BeforeDataProviderRows.class).isEmpty()
+                || !getTestClassInt().getAnnotatedMethods(AfterDataProviderRows.class).isEmpty();
+    }
+
+    private void fireTestFailed(RunNotifier notifier, Description description, Throwable failure) {
+        notifier.fireTestStarted(description);
+        notifier.fireTestFailure(new Failure(description, failure));
+        notifier.fireTestFinished(description);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, records failed rows in their {@link RowGroup}, the outcome and duration of every test method in the
+     * {@link RowHistory} and its outcome in the {@link RowJournal}. If the test method or its dataprovider method is
+     * annotated with {@code @}{@link SharedResource}, the declared resources are locked while it runs (including all
+     * {@code @}{@link org.junit.Before} and {@code @}{@link org.junit.After} methods).
+     */
+    @Override
+    protected Statement methodBlock(FrameworkMethod method) {
+        Statement statement;
+        currentMethod.set(method);
+        try {
+            statement = super.methodBlock(method);
+        } finally {
+            currentMethod.remove();
+        }
+        return lockSharedResources(method, recordOutcome(method, statement));
+    }
+
+    private Statement recordOutcome(FrameworkMethod method, final Statement statement) {
+        final RowGroup rowGroup = getRowGroup(method);
+        final String fingerprint = (rowHistory.isEnabled() || rowJournal.isEnabled()) ? getFingerprint(method) : null;
+        if (rowGroup == null && fingerprint == null) {
+            return statement;
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                long start = System.nanoTime();
+                Status status = Status.FAILED;
+                try {
+                    statement.evaluate();
+                    status = Status.PASSED;
+
+                } catch (AssumptionViolatedException e) {
+                    status = Status.SKIPPED;
+                    throw e;
+
+                } catch (Throwable t) {
+                    if (rowGroup != null) {
+                        rowGroup.recordFailure();
+                    }
+                    throw t;
+
+                } finally {
+                    if (fingerprint != null) {
+                        rowHistory.record(fingerprint, status, System.nanoTime() - start);
+                        rowJournal.record(fingerprint, status);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the system property {@value DataProviderBenchmark#SYSTEM_PROPERTY_ENABLED} is {@code true} and the test method
+     * or class is annotated with {@code @}{@link DataProviderBenchmark}, the test method is measured instead of invoked
+     * once. The result is printed, recorded in the {@link RowBenchmarks} and the test method fails if it is
+     * significantly slower than its baseline.
+     * <p>
+     * If the system property {@value RowResourceUsage#SYSTEM_PROPERTY_ENABLED} is {@code true}, the CPU time and
+     * allocated bytes of the invocation(s) of the test method are recorded in the {@link RowResourceUsage}.
+     */
+    @Override
+    protected Statement methodInvoker(FrameworkMethod method, Object test) {
+        Statement result = super.methodInvoker(method, test);
+
+        DataProviderBenchmark benchmark = getBenchmark(method);
+        if (benchmark != null) {
+            result = measureBenchmark(method, result, benchmark);
+        }
+        if (Boolean.getBoolean(RowResourceUsage.SYSTEM_PROPERTY_ENABLED)) {
+            result = recordResourceUsage(method, result);
+        }
+        return result;
+    }
+
+    private Statement measureBenchmark(final FrameworkMethod method, final Statement statement,
+            final DataProviderBenchmark benchmark) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Result result = RowBenchmarks.measure(statement, benchmark.warmupIterations(), benchmark.iterations(),
+                        benchmark.operationsPerIteration());
+
+                String name = describeChild(method).getDisplayName();
+                getOut().println(String.format("Benchmark %s: %s", name, result));
+
+                String fingerprint = getFingerprint(method);
+                rowBenchmarks.record(fingerprint, name, result);
+
+                Result baseline = rowBenchmarks.getBaseline(fingerprint);
+                if (baseline != null && result.isSlowerThan(baseline, benchmark.maxRegression())) {
+                    throw new AssertionError(String.format(
+                            "Benchmark is more than %.0f%% slower than its baseline: %s vs. %s (see @%s#maxRegression())",
+                            benchmark.maxRegression() * 100, result, baseline,
+                            DataProviderBenchmark.class.getSimpleName()));
+                }
+            }
+        };
+    }
+
+    private Statement recordResourceUsage(final FrameworkMethod method, final Statement statement) {
+        RowGroup rowGroup = getRowGroup(method);
+        final String group;
+        if (rowGroup == null) {
+            group = getQualifiedName(method);
+        } else if (rowGroup.getDataProviderMethod() == null) {
+            group = getQualifiedName(rowGroup.getTestMethod());
+        } else {
+            group = getQualifiedName(rowGroup.getTestMethod()) + " using "
+                    + getQualifiedName(rowGroup.getDataProviderMethod());
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Sample start = rowResourceUsage.sample();
+                try {
+                    statement.evaluate();
+                } finally {
+                    rowResourceUsage.record(group, method.getName(), start, rowResourceUsage.sample());
+                }
+            }
+        };
+    }
+
+    private String getQualifiedName(FrameworkMethod method) {
+        return method.getMethod().getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private DataProviderBenchmark getBenchmark(FrameworkMethod method) {
+        if (!Boolean.getBoolean(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED)) {
+            return null;
+        }
+        DataProviderBenchmark result = method.getAnnotation(DataProviderBenchmark.class);
+        if (result == null) {
+            result = getTestClassInt().getJavaClass().getAnnotation(DataProviderBenchmark.class);
+        }
+        return result;
+    }
+
+    private Statement lockSharedResources(final FrameworkMethod method, final Statement statement) {
+        if (ResourceKeys.getSharedResources(method, getDataProviderMethod(method)).isEmpty()) {
+            return statement;
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ResourceKeys keys = getResourceKeys(method);
+                resourceLocks.guard(statement, keys.getReadKeys(), keys.getWriteKeys()).evaluate();
+            }
+        };
+    }
+
+    /**
+     * Returns the keys of the resources shared by the given test method. The keys of rows are determined by the
+     * {@link TestGenerator} while exploding, i.e. only rows created otherwise use their parameters directly.
+     *
+     * @throws IllegalArgumentException iif a parameter index of {@code @}{@link SharedResource} is out of range
+     */
+    private ResourceKeys getResourceKeys(FrameworkMethod method) {
+        if (method instanceof DataProviderFrameworkMethod) {
+            return getResourceKeys((DataProviderFrameworkMethod) method);
+        }
+        if (method instanceof DataProviderBatchFrameworkMethod) {
+            ResourceKeys result = ResourceKeys.NONE;
+            for (DataProviderFrameworkMethod row : ((DataProviderBatchFrameworkMethod) method).rows) {
+                result = result.union(getResourceKeys(row));
+            }
+            return result;
+        }
+        return ResourceKeys.of(ResourceKeys.getSharedResources(method, null), method.getMethod(), null);
+    }
+
+    private ResourceKeys getResourceKeys(DataProviderFrameworkMethod row) {
+        ResourceKeys result = row.getResourceKeys();
+        if (result == null) {
+            result = ResourceKeys.of(ResourceKeys.getSharedResources(row, getDataProviderMethod(row)), row.getMethod(),
+                    row.parameters);
+        }
+        return result;
+    }
+
+    private FrameworkMethod getDataProviderMethod(FrameworkMethod method) {
+        RowGroup rowGroup = getRowGroup(method);
+        return (rowGroup == null) ? null : rowGroup.getDataProviderMethod();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, returns the test instance already created for a previous row of the same {@link RowGroup} on the
+     * current thread if the test method or class is annotated with {@code @}{@link ReuseTestInstance}.
+     */
+    @Override
+    protected Object createTest() throws Exception {
+        FrameworkMethod method = currentMethod.get();
+        RowGroup rowGroup = (method == null) ? null : getRowGroup(method);
+        if (rowGroup == null || !isTestInstanceReused(rowGroup.getTestMethod())) {
+            return super.createTest();
+        }
+        Object result = rowGroup.getTestInstance();
+        if (result == null) {
+            result = super.createTest();
+            rowGroup.setTestInstance(result);
+        }
+        return result;
+    }
+
+    private boolean isTestInstanceReused(FrameworkMethod testMethod) {
+        return testMethod.getAnnotation(ReuseTestInstance.class) != null
+                || getTestClassInt().getJavaClass().isAnnotationPresent(ReuseTestInstance.class);
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    List<FrameworkMethod> getDataProviderMethods(FrameworkMethod testMethod) {
+        Map<FrameworkMethod, List<FrameworkMethod>> cache = dataProviderMethods;
+        if (cache != null) {
+            List<FrameworkMethod> result = cache.get(testMethod);
+            if (result != null) {
+                return result;
+            }
         }
-        if (dataProviderMethods.containsKey(testMethod)) {
-            return dataProviderMethods.get(testMethod);
+        // lock on "this" as this method is called via constructors super(...) => fields are not initialized yet
+        synchronized (this) {
+            if (dataProviderMethods == null) {
+                dataProviderMethods = new ConcurrentHashMap<FrameworkMethod, List<FrameworkMethod>>();
+            }
+            List<FrameworkMethod> result = dataProviderMethods.get(testMethod);
+            if (result == null) {
+                result = resolveDataProviderMethods(testMethod);
+                dataProviderMethods.put(testMethod, result);
+            }
+            return result;
         }
+    }
+
+    private List<FrameworkMethod> resolveDataProviderMethods(FrameworkMethod testMethod) {
         List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
 
         UseDataProvider useDataProvider = testMethod.getAnnotation(UseDataProvider.class);
@@ -262,7 +1201,6 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
                 }
             }
         }
-        dataProviderMethods.put(testMethod, result);
         return result;
     }
 
@@ -295,4 +1233,14 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
             throw new IllegalStateException("The default constructor of " + resolverClass + " has thrown an exception", e);
         }
     }
+
+    /**
+     * Returns the stream to print the benchmark results and the resource usage report to, i.e. {@link System#out}.
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    PrintStream getOut() {
+        return System.out;
+    }
 }
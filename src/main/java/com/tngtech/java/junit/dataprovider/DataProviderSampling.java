@@ -0,0 +1,69 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts the rows of the dataproviders of the annotated test method (or all test methods of the annotated class) to a
+ * deterministic random sample. This is useful for quick-feedback test runs (e.g. pre-commit or pull request builds)
+ * which should only run a representative subset of big dataproviders. The sample is drawn before the dataprovider rows
+ * are turned into test methods and the index of each row (see {@code %i} in {@link DataProvider#format()}) is
+ * retained.
+ * <p>
+ * Sampling can also be enabled for all test methods using the system property {@value #SYSTEM_PROPERTY_SAMPLE} which
+ * takes precedence over this annotation. Its value is either a fraction (e.g. {@code 0.1} or {@code 10%}) or an
+ * absolute number of rows (e.g. {@code 100}). The seed can be given by the system property
+ * {@value #SYSTEM_PROPERTY_SEED}. If no seed is specified, a random one is chosen. The used seed is printed to
+ * {@link System#out} such that a failing sample can be reproduced exactly.
+ * <p>
+ * For every test method the sample is drawn using a separate seed derived from the configured seed and the test method,
+ * such that adding, removing, or reordering other test methods does not change the sample.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface DataProviderSampling {
+
+    /**
+     * System property to enable sampling of rows for all test methods, either as fraction (e.g. {@code 0.25} or
+     * {@code 25%}) or as absolute number of rows per test method (e.g. {@code 100}).
+     */
+    String SYSTEM_PROPERTY_SAMPLE = "junit.dataprovider.sample";
+
+    /**
+     * System property to specify the seed used to draw the samples.
+     */
+    String SYSTEM_PROPERTY_SEED = "junit.dataprovider.sample.seed";
+
+    /**
+     * Marker value for {@link #seed()} such that a random seed is chosen (or the one given by
+     * {@value #SYSTEM_PROPERTY_SEED}).
+     */
+    long RANDOM_SEED = Long.MIN_VALUE;
+
+    /**
+     * The fraction of rows to run for each dataprovider, must be greater than {@code 0} and less than or equal to
+     * {@code 1}. At least a single row is run. Defaults to {@code 1.0}. Optional.
+     *
+     * @return the fraction of rows to run
+     */
+    double fraction() default 1.0;
+
+    /**
+     * The maximum number of rows to run for each dataprovider. Defaults to {@link Integer#MAX_VALUE}. Optional.
+     *
+     * @return the maximum number of rows to run
+     */
+    int limit() default Integer.MAX_VALUE;
+
+    /**
+     * The seed used to draw the sample. Defaults to {@link #RANDOM_SEED}. Optional.
+     *
+     * @return the seed used to draw the sample
+     * @see #RANDOM_SEED
+     */
+    long seed() default RANDOM_SEED;
+}
@@ -5,6 +5,8 @@ import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotN
 import java.util.ArrayList;
 import java.util.List;
 
+import com.tngtech.java.junit.dataprovider.internal.CoveringArrayGenerator;
+
 public class DataProviders {
 
     /**
@@ -123,4 +125,69 @@ public class DataProviders {
         }
         return rowsOut;
     }
+
+    /**
+     * Creates a dataprovider test for a (near) minimal set of combinations of the rows of the provided data providers
+     * such that every pair of rows of any two data providers is contained at least once (= all-pairs or pairwise
+     * testing). Uses {@code 0} as seed, see {@link #tWise(int, long, Object[][]...)}.
+     *
+     * <pre>
+     * <code>
+     * Object[][] r = allPairs(dataProviderMethod1(), dataProviderMethod2(), dataProviderMethod3());
+     * </code>
+     * </pre>
+     *
+     * @param rowsOfDimensions rows of each dataprovider which should be combined pairwise
+     * @return an {@link Object} array array containing all pairs of the given {@code rowsOfDimensions}
+     * @throws NullPointerException iif given {@code rowsOfDimensions} is {@code null}
+     * @see #tWise(int, long, Object[][]...)
+     */
+    public static Object[][] allPairs(Object[][]... rowsOfDimensions) {
+        return tWise(2, 0, rowsOfDimensions);
+    }
+
+    /**
+     * Creates a dataprovider test for a (near) minimal set of combinations of the rows of the provided data providers
+     * such that every combination of rows of any {@code t} data providers is contained at least once (= t-wise
+     * testing). Like {@link #crossProduct(Object[][], Object[][])} the rows of the combined data providers are
+     * concatenated. If {@code t} is greater than or equal to the number of given data providers, the result is the full
+     * cross product. The result is deterministic for equal {@code seed}s.
+     *
+     * <pre>
+     * <code>
+     * Object[][] r = tWise(3, 42L, dataProviderMethod1(), dataProviderMethod2(), dataProviderMethod3(), dataProviderMethod4());
+     * </code>
+     * </pre>
+     *
+     * @param t the strength, i.e. the number of data providers whose rows are combined in every possible way
+     * @param seed the seed used to break ties while searching a small set of combinations
+     * @param rowsOfDimensions rows of each dataprovider which should be combined t-wise
+     * @return an {@link Object} array array containing the t-wise combinations of the given {@code rowsOfDimensions}
+     * @throws NullPointerException iif given {@code rowsOfDimensions} is {@code null}
+     * @throws IllegalArgumentException iif given {@code t} is less than one
+     */
+    public static Object[][] tWise(int t, long seed, Object[][]... rowsOfDimensions) {
+        checkNotNull(rowsOfDimensions, "rowsOfDimensions must not be null");
+
+        int[] dimensionSizes = new int[rowsOfDimensions.length];
+        for (int dim = 0; dim < rowsOfDimensions.length; dim++) {
+            dimensionSizes[dim] = rowsOfDimensions[dim].length;
+        }
+
+        List<int[]> combinations = new CoveringArrayGenerator(t, seed).generate(dimensionSizes);
+
+        Object[][] rowsOut = new Object[combinations.size()][];
+        for (int indexOut = 0; indexOut < rowsOut.length; indexOut++) {
+            int[] combination = combinations.get(indexOut);
+
+            List<Object> rowOut = new ArrayList<Object>();
+            for (int dim = 0; dim < combination.length; dim++) {
+                for (Object value : rowsOfDimensions[dim][combination[dim]]) {
+                    rowOut.add(value);
+                }
+            }
+            rowsOut[indexOut] = rowOut.toArray();
+        }
+        return rowsOut;
+    }
 }
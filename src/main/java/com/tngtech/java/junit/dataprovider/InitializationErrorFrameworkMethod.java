@@ -0,0 +1,53 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * A special framework method that reports an error which occurred while exploding a test method, e.g. because its
+ * dataprovider threw an exception. As the dataproviders are invoked lazily, such errors can no longer be reported as
+ * initialization error of the {@link DataProviderRunner}. Instead, they are reported under the name of the test method
+ * which could not be exploded.
+ */
+public class InitializationErrorFrameworkMethod extends FrameworkMethod {
+
+    private final Throwable error;
+
+    /**
+     * Create a {@link FrameworkMethod} reporting the given error.
+     *
+     * @param method the test method which could not be exploded, used to describe the error
+     * @param error which occurred while exploding the test methods
+     * @throws NullPointerException iif given {@code error} is {@code null}
+     */
+    public InitializationErrorFrameworkMethod(Method method, Throwable error) {
+        super(method);
+        this.error = checkNotNull(error, "error must not be null");
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Throws the error which occurred while exploding the test methods, ignoring the given {@code target} and
+     * {@code params}.
+     */
+    @Override
+    public Object invokeExplosively(Object target, Object... params) throws Throwable {
+        throw error;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj;
+    }
+}
@@ -0,0 +1,43 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+
+import com.tngtech.java.junit.dataprovider.internal.DataConverter;
+
+/**
+ * A special framework method for a single unconverted row of a {@link DataProvider#convertLazily()} dataprovider. The
+ * row is kept as regex-separated {@link String} (which is also used as single parameter for the name, see
+ * {@link DataProvider#format()}) and only converted just before the test method is invoked.
+ */
+public class LazyDataProviderFrameworkMethod extends DataProviderFrameworkMethod {
+
+    private final DataConverter dataConverter;
+    private final DataProvider dataProvider;
+
+    /**
+     * Create a {@link DataProviderFrameworkMethod} which converts the given {@code data} not until it is invoked.
+     *
+     * @param method test method for which the {@link org.junit.runners.model.FrameworkMethod} is created
+     * @param idx the index (row) of the used dataprovider
+     * @param data the regex-separated {@link String} of parameters for the test method
+     * @param nameFormat defines the format of the test method name according to {@code @}{@link DataProvider#format()}
+     * @param dataConverter to convert given {@code data} with
+     * @param dataProvider containing settings which should be used to convert given {@code data}
+     */
+    public LazyDataProviderFrameworkMethod(Method method, int idx, String data, String nameFormat,
+            DataConverter dataConverter, DataProvider dataProvider) {
+        super(method, idx, new Object[] { data }, nameFormat);
+
+        this.dataConverter = checkNotNull(dataConverter, "dataConverter must not be null");
+        this.dataProvider = checkNotNull(dataProvider, "dataProvider must not be null");
+    }
+
+    @Override
+    protected Object[] getInvocationParameters() throws Throwable {
+        Method method = getMethod();
+        return dataConverter.convert((String) super.getInvocationParameters()[0], method.isVarArgs(),
+                method.getParameterTypes(), dataProvider, idx);
+    }
+}
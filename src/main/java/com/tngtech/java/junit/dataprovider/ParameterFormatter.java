@@ -0,0 +1,18 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Renders a parameter of a dataprovider test as part of the test method name (see {@code %p} in
+ * {@link DataProvider#format()}) instead of using its {@link Object#toString()}. Register it using
+ * {@link ParameterFormatters#register(Class, ParameterFormatter)}.
+ *
+ * @param <T> type of the parameters which can be formatted
+ */
+public interface ParameterFormatter<T> {
+
+    /**
+     * @param parameter to be formatted (never {@code null})
+     * @return the {@link String} representation of the given {@code parameter} which is escaped and limited in length
+     *         afterwards
+     */
+    String format(T parameter);
+}
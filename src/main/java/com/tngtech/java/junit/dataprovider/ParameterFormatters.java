@@ -0,0 +1,118 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Use this class to register cheap {@link ParameterFormatter}s for parameter types whose {@link Object#toString()} is
+ * expensive or not suitable for test method names, e.g. domain objects which should only be named by their id.
+ * <p>
+ * E.g. one can register a formatter using a static initializer block in a base class of all tests:
+ *
+ * <pre>
+ * <code>
+ * public static class BaseTest {
+ *     static {
+ *         ParameterFormatters.register(Customer.class, new ParameterFormatter&lt;Customer&gt;() {
+ *             public String format(Customer customer) {
+ *                 return "Customer#" + customer.getId();
+ *             }
+ *         });
+ *     }
+ *     // ...
+ * }
+ * </code>
+ * </pre>
+ *
+ * The formatter of a parameter is looked up by its class, following its superclasses and then its interfaces, such that
+ * the most specific registered formatter wins. The result of the lookup is cached per class.
+ */
+public class ParameterFormatters {
+
+    /**
+     * Marker for classes without registered {@link ParameterFormatter} in {@link #resolved}.
+     */
+    private static final ParameterFormatter<Object> NONE = new ParameterFormatter<Object>() {
+        @Override
+        public String format(Object parameter) {
+            return String.valueOf(parameter);
+        }
+    };
+
+    private static final Map<Class<?>, ParameterFormatter<?>> formatters = new HashMap<Class<?>, ParameterFormatter<?>>();
+    private static final Map<Class<?>, ParameterFormatter<?>> resolved = new ConcurrentHashMap<Class<?>, ParameterFormatter<?>>();
+
+    /**
+     * Registers the given {@code formatter} for all parameters of the given {@code type} and its subtypes, replacing a
+     * formatter previously registered for the same {@code type}.
+     *
+     * @param <T> type of the parameters
+     * @param type of the parameters to be formatted using the given {@code formatter}
+     * @param formatter to be used
+     * @throws NullPointerException iif given {@code type} or {@code formatter} is {@code null}
+     */
+    public static synchronized <T> void register(Class<T> type, ParameterFormatter<? super T> formatter) {
+        checkNotNull(type, "type must not be null");
+        checkNotNull(formatter, "formatter must not be null");
+
+        formatters.put(type, formatter);
+        resolved.clear();
+    }
+
+    /**
+     * Removes all registered {@link ParameterFormatter}s such that {@link Object#toString()} is used again.
+     */
+    public static synchronized void reset() {
+        formatters.clear();
+        resolved.clear();
+    }
+
+    /**
+     * @param type of a parameter
+     * @return the most specific {@link ParameterFormatter} registered for the given {@code type} or {@code null} if
+     *         there is none
+     */
+    public static ParameterFormatter<Object> get(Class<?> type) {
+        ParameterFormatter<?> result = resolved.get(type);
+        if (result == null) {
+            result = resolve(type);
+        }
+        if (result == NONE) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        ParameterFormatter<Object> formatter = (ParameterFormatter<Object>) result;
+        return formatter;
+    }
+
+    private static synchronized ParameterFormatter<?> resolve(Class<?> type) {
+        ParameterFormatter<?> result = find(type);
+        resolved.put(type, result);
+        return result;
+    }
+
+    private static ParameterFormatter<?> find(Class<?> type) {
+        List<Class<?>> interfaces = new ArrayList<Class<?>>();
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            ParameterFormatter<?> result = formatters.get(clazz);
+            if (result != null) {
+                return result;
+            }
+            interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+        }
+        for (int idx = 0; idx < interfaces.size(); idx++) {
+            ParameterFormatter<?> result = formatters.get(interfaces.get(idx));
+            if (result != null) {
+                return result;
+            }
+            interfaces.addAll(Arrays.asList(interfaces.get(idx).getInterfaces()));
+        }
+        return NONE;
+    }
+}
@@ -1,7 +1,12 @@
 package com.tngtech.java.junit.dataprovider;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.tngtech.java.junit.dataprovider.internal.placeholder.BasePlaceholder;
 import com.tngtech.java.junit.dataprovider.internal.placeholder.CanonicalClassNamePlaceholder;
@@ -29,7 +34,7 @@ import com.tngtech.java.junit.dataprovider.internal.placeholder.SimpleMethodName
  */
 public class Placeholders {
 
-    private static final List<BasePlaceholder> placeholders = new ArrayList<BasePlaceholder>();
+    private static final PlaceholderList placeholders = new PlaceholderList();
     static {
         reset();
     }
@@ -38,6 +43,10 @@ public class Placeholders {
      * Retrieve all {@link BasePlaceholder} to handle {@link DataProvider#format()}. The returned {@link List} is the
      * original list such that all manipulations will change the behavior how test method names are formatted.
      * <p>
+     * The list is copy-on-write, i.e. it can be safely iterated while test method names are formatted concurrently.
+     * Every manipulation copies the list, such that placeholders should be registered once, e.g. in a static
+     * initializer block.
+     * <p>
      * <b>Note:</b>
      * <ul>
      * <li>The placeholder are process in order.</li>
@@ -53,15 +62,95 @@ public class Placeholders {
 
     /**
      * Resets all changes to the list of all {@link BasePlaceholder} such that is contains the default placeholders
-     * again.
+     * again. The contents are replaced at once, i.e. concurrent readers either see the previous or the default
+     * placeholders but never a mixture of both.
      */
     public static void reset() {
-        placeholders.clear();
-        placeholders.add(new CanonicalClassNamePlaceholder());
-        placeholders.add(new CompleteMethodSignaturePlaceholder());
-        placeholders.add(new IndexPlaceholder());
-        placeholders.add(new ParameterPlaceholder());
-        placeholders.add(new SimpleClassNamePlaceholder());
-        placeholders.add(new SimpleMethodNamePlaceholder());
+        placeholders.replaceAll(Arrays.<BasePlaceholder> asList(new CanonicalClassNamePlaceholder(),
+                new CompleteMethodSignaturePlaceholder(), new IndexPlaceholder(), new ParameterPlaceholder(),
+                new SimpleClassNamePlaceholder(), new SimpleMethodNamePlaceholder()));
+    }
+
+    /**
+     * The list returned by {@link Placeholders#all()} which delegates to a copy-on-write list. Its whole contents can
+     * be replaced atomically by swapping the delegate, while all modifications are serialized such that none gets lost
+     * by a concurrent replacement.
+     */
+    private static class PlaceholderList extends AbstractList<BasePlaceholder> {
+        private volatile CopyOnWriteArrayList<BasePlaceholder> delegate = new CopyOnWriteArrayList<BasePlaceholder>();
+
+        synchronized void replaceAll(List<BasePlaceholder> newPlaceholders) {
+            delegate = new CopyOnWriteArrayList<BasePlaceholder>(newPlaceholders);
+        }
+
+        @Override
+        public BasePlaceholder get(int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Iterator<BasePlaceholder> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public ListIterator<BasePlaceholder> listIterator(int index) {
+            return delegate.listIterator(index);
+        }
+
+        @Override
+        public synchronized BasePlaceholder set(int index, BasePlaceholder element) {
+            return delegate.set(index, element);
+        }
+
+        @Override
+        public synchronized boolean add(BasePlaceholder element) {
+            return delegate.add(element);
+        }
+
+        @Override
+        public synchronized void add(int index, BasePlaceholder element) {
+            delegate.add(index, element);
+        }
+
+        @Override
+        public synchronized boolean addAll(Collection<? extends BasePlaceholder> elements) {
+            return delegate.addAll(elements);
+        }
+
+        @Override
+        public synchronized boolean addAll(int index, Collection<? extends BasePlaceholder> elements) {
+            return delegate.addAll(index, elements);
+        }
+
+        @Override
+        public synchronized BasePlaceholder remove(int index) {
+            return delegate.remove(index);
+        }
+
+        @Override
+        public synchronized boolean remove(Object element) {
+            return delegate.remove(element);
+        }
+
+        @Override
+        public synchronized boolean removeAll(Collection<?> elements) {
+            return delegate.removeAll(elements);
+        }
+
+        @Override
+        public synchronized boolean retainAll(Collection<?> elements) {
+            return delegate.retainAll(elements);
+        }
+
+        @Override
+        public synchronized void clear() {
+            delegate.clear();
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+
+/**
+ * Lets the {@link DataProviderRunner} create a single test instance for all rows of a dataprovider of the annotated
+ * test method (or all test methods of the annotated class) instead of a new one for every row. This avoids repeating
+ * expensive constructors and field initializers, e.g. creating mocks or parsers, for thousands of rows. If rows are run
+ * in parallel, a separate test instance is created for every thread.
+ * <p>
+ * Note that the test instance is shared between rows:
+ * <ul>
+ * <li>Constructors and field initializers run only once per test method (and thread), while {@code @}{@link Before}
+ * and {@code @}{@link After} methods still run before and after every row. Mutable state must therefore be reset
+ * in a {@code @}{@link Before} method.</li>
+ * <li>The same applies for {@code @}{@link Rule} fields, e.g. expectations set on an
+ * {@link org.junit.rules.ExpectedException} remain for subsequent rows.</li>
+ * <li>Test methods without a dataprovider always get a new test instance.</li>
+ * </ul>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ReuseTestInstance {
+}
@@ -0,0 +1,76 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares resources shared by the rows of the annotated test method or dataprovider method, e.g. a local port, a
+ * temporary directory or an embedded database schema. If rows are run in parallel (see
+ * {@link DataProviderRunner#SYSTEM_PROPERTY_THREADS} or e.g. {@link org.junit.experimental.ParallelComputer}), rows
+ * sharing a resource key are serialized while all other rows still run in parallel:
+ *
+ * <pre>
+ * <code>
+ * &#064;Test
+ * &#064;UseDataProvider("dataProviderSchemas")
+ * &#064;SharedResource(value = "port-8080", parameters = 0)
+ * public void testMigration(String schema, int version) {
+ *     // ...
+ * }
+ * </code>
+ * </pre>
+ * <p>
+ * Resource keys are global within the JVM, i.e. rows of different test classes sharing a key are serialized as well.
+ * Keys of a test method and its dataprovider method are combined. Rows declaring a key with {@link Mode#READ} may run
+ * concurrently with each other but not with a row declaring the same key with {@link Mode#READ_WRITE}. If run using
+ * {@link DataProviderRunner#SYSTEM_PROPERTY_THREADS}, a row whose resources are currently used is deferred such that
+ * independent rows run in the meantime.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SharedResource {
+
+    /**
+     * How a row uses its shared resources.
+     */
+    enum Mode {
+        /**
+         * The row only reads the resources such that it can run concurrently with other reading rows.
+         */
+        READ,
+
+        /**
+         * The row modifies the resources such that it must run exclusively.
+         */
+        READ_WRITE,
+    }
+
+    /**
+     * The static keys of the resources shared by all rows. Defaults to no keys. Optional.
+     *
+     * @return the static resource keys
+     */
+    String[] value() default {};
+
+    /**
+     * The indices of the parameters of each row whose {@link String#valueOf(Object)} is used as additional resource key
+     * of the row. Defaults to no parameters. Optional.
+     * <p>
+     * The keys are determined while exploding the rows, i.e. rows using parameter keys are never converted lazily (see
+     * {@link DataProvider#convertLazily()}).
+     *
+     * @return the indices of parameters used as resource keys
+     */
+    int[] parameters() default {};
+
+    /**
+     * How the rows use the declared resources. Defaults to {@link Mode#READ_WRITE}. Optional.
+     *
+     * @return the {@link Mode} of using the resources
+     */
+    Mode mode() default Mode.READ_WRITE;
+}
@@ -0,0 +1,51 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+
+import com.tngtech.java.junit.dataprovider.internal.RowStore;
+
+/**
+ * A special framework method for a single dataprovider row whose parameters have been spilled to a {@link RowStore}.
+ * The parameters are released from memory right away (see {@link #releaseParameters()}) and only read back just before
+ * the test method is invoked.
+ */
+public class SpilledDataProviderFrameworkMethod extends DataProviderFrameworkMethod {
+
+    private final RowStore rowStore;
+    private final int rowStoreIdx;
+
+    /**
+     * Create a {@link DataProviderFrameworkMethod} whose parameters are read back from the given {@code rowStore}.
+     *
+     * @param method test method for which the {@link org.junit.runners.model.FrameworkMethod} is created
+     * @param idx the index (row) of the used dataprovider
+     * @param parameters used for invoking this test method, which are only used to compute its name and hash code
+     * @param nameFormat defines the format of the test method name according to {@code @}{@link DataProvider#format()}
+     * @param rowStore containing the given {@code parameters}
+     * @param rowStoreIdx the index of the given {@code parameters} in the {@code rowStore}
+     */
+    public SpilledDataProviderFrameworkMethod(Method method, int idx, Object[] parameters, String nameFormat,
+            RowStore rowStore, int rowStoreIdx) {
+        super(method, idx, parameters, nameFormat);
+
+        this.rowStore = checkNotNull(rowStore, "rowStore must not be null");
+        this.rowStoreIdx = rowStoreIdx;
+
+        releaseParameters();
+    }
+
+    /**
+     * @return the parameters of this test method read back from the {@link RowStore}
+     * @throws IllegalStateException iif the parameters cannot be read back
+     */
+    public Object[] readParameters() {
+        return rowStore.get(rowStoreIdx);
+    }
+
+    @Override
+    protected Object[] getInvocationParameters() throws Throwable {
+        return readParameters();
+    }
+}
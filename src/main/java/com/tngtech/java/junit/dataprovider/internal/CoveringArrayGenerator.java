@@ -0,0 +1,227 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Internal class to generate a covering array of strength {@code t} for multiple dimensions, i.e. a (small) set of
+ * combinations such that every combination of values of any {@code t} dimensions is contained in at least one
+ * resulting combination. For {@code t = 2} this is also known as "all-pairs" or "pairwise" testing.
+ * <p>
+ * The algorithm is a greedy, AETG-like heuristic: every new combination starts with a yet uncovered {@code t}-tuple and
+ * fills the remaining dimensions (in random order) with the value covering the most yet uncovered tuples. Out of
+ * several such candidates the best is taken. The result is not guaranteed to be minimal but is usually close to it and
+ * orders of magnitude smaller than the full cross product. For the same input and {@code seed} the result is always
+ * the same.
+ */
+public class CoveringArrayGenerator {
+
+    /**
+     * Number of candidate combinations which are generated to choose the best next combination from.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    static final int CANDIDATES = 20;
+
+    private final int strength;
+    private final long seed;
+
+    /**
+     * @param strength the strength {@code t} of the covering array, i.e. {@code 2} for all-pairs
+     * @param seed the seed for the random number generator used to break ties
+     * @throws IllegalArgumentException iif {@code strength} is less than one
+     */
+    public CoveringArrayGenerator(int strength, long seed) {
+        checkArgument(strength >= 1, "strength must be greater than zero but was %d", strength);
+        this.strength = strength;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a covering array for the dimensions of the given sizes.
+     *
+     * @param dimensionSizes the number of values of each dimension
+     * @return the covering array, each row containing a value index for each dimension (never {@code null})
+     * @throws NullPointerException iif given {@code dimensionSizes} is {@code null}
+     */
+    public List<int[]> generate(int[] dimensionSizes) {
+        checkNotNull(dimensionSizes, "dimensionSizes must not be null");
+
+        List<int[]> result = new ArrayList<int[]>();
+        if (dimensionSizes.length == 0) {
+            return result;
+        }
+        for (int size : dimensionSizes) {
+            if (size <= 0) {
+                return result;
+            }
+        }
+
+        Coverage coverage = new Coverage(dimensionSizes, Math.min(strength, dimensionSizes.length));
+        Random random = new Random(seed);
+        while (coverage.uncovered > 0) {
+            int[] best = null;
+            int bestScore = -1;
+            for (int candidate = 0; candidate < CANDIDATES; candidate++) {
+                int[] row = coverage.createCandidate(random);
+                int score = coverage.countUncovered(row);
+                if (score > bestScore) {
+                    best = row;
+                    bestScore = score;
+                }
+            }
+            coverage.cover(best);
+            result.add(best);
+        }
+        return result;
+    }
+
+    /**
+     * Book-keeping of already covered {@code t}-tuples of all combinations of {@code t} dimensions.
+     */
+    private static class Coverage {
+        private static final int UNASSIGNED = -1;
+
+        private final int[] dimensionSizes;
+        private final int[][] combinations;
+        private final boolean[][] covered;
+        private final List<List<Integer>> combinationsByDimension;
+        private int uncovered;
+
+        Coverage(int[] dimensionSizes, int t) {
+            this.dimensionSizes = dimensionSizes;
+
+            List<int[]> combinationList = new ArrayList<int[]>();
+            collectCombinations(new int[t], 0, 0, combinationList);
+            this.combinations = combinationList.toArray(new int[combinationList.size()][]);
+
+            this.covered = new boolean[combinations.length][];
+            this.combinationsByDimension = new ArrayList<List<Integer>>();
+            for (int dim = 0; dim < dimensionSizes.length; dim++) {
+                combinationsByDimension.add(new ArrayList<Integer>());
+            }
+            for (int idx = 0; idx < combinations.length; idx++) {
+                int tuples = 1;
+                for (int dim : combinations[idx]) {
+                    tuples *= dimensionSizes[dim];
+                    combinationsByDimension.get(dim).add(idx);
+                }
+                covered[idx] = new boolean[tuples];
+                uncovered += tuples;
+            }
+        }
+
+        private void collectCombinations(int[] current, int pos, int start, List<int[]> result) {
+            if (pos == current.length) {
+                result.add(current.clone());
+                return;
+            }
+            for (int dim = start; dim <= dimensionSizes.length - (current.length - pos); dim++) {
+                current[pos] = dim;
+                collectCombinations(current, pos + 1, dim + 1, result);
+            }
+        }
+
+        int[] createCandidate(Random random) {
+            int[] row = new int[dimensionSizes.length];
+            for (int dim = 0; dim < row.length; dim++) {
+                row[dim] = UNASSIGNED;
+            }
+            assignFirstUncoveredTuple(row);
+
+            List<Integer> remaining = new ArrayList<Integer>();
+            for (int dim = 0; dim < row.length; dim++) {
+                if (row[dim] == UNASSIGNED) {
+                    remaining.add(dim);
+                }
+            }
+            while (!remaining.isEmpty()) {
+                int dim = remaining.remove(random.nextInt(remaining.size()));
+
+                int bestValue = 0;
+                int bestScore = -1;
+                int ties = 0;
+                for (int value = 0; value < dimensionSizes[dim]; value++) {
+                    row[dim] = value;
+                    int score = countUncovered(row, dim);
+                    if (score > bestScore) {
+                        bestValue = value;
+                        bestScore = score;
+                        ties = 1;
+                    } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                        bestValue = value;
+                    }
+                }
+                row[dim] = bestValue;
+            }
+            return row;
+        }
+
+        private void assignFirstUncoveredTuple(int[] row) {
+            for (int idx = 0; idx < combinations.length; idx++) {
+                for (int tuple = 0; tuple < covered[idx].length; tuple++) {
+                    if (!covered[idx][tuple]) {
+                        int rest = tuple;
+                        for (int pos = combinations[idx].length - 1; pos >= 0; pos--) {
+                            int dim = combinations[idx][pos];
+                            row[dim] = rest % dimensionSizes[dim];
+                            rest /= dimensionSizes[dim];
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+
+        int countUncovered(int[] row) {
+            int result = 0;
+            for (int idx = 0; idx < combinations.length; idx++) {
+                if (!covered[idx][tupleIndex(idx, row)]) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Counts the uncovered tuples of all dimension combinations containing {@code dim} whose other dimensions are
+         * already assigned in {@code row}.
+         */
+        private int countUncovered(int[] row, int dim) {
+            int result = 0;
+            for (int idx : combinationsByDimension.get(dim)) {
+                int tupleIdx = tupleIndex(idx, row);
+                if (tupleIdx >= 0 && !covered[idx][tupleIdx]) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        void cover(int[] row) {
+            for (int idx = 0; idx < combinations.length; idx++) {
+                int tupleIdx = tupleIndex(idx, row);
+                if (!covered[idx][tupleIdx]) {
+                    covered[idx][tupleIdx] = true;
+                    uncovered--;
+                }
+            }
+        }
+
+        private int tupleIndex(int combinationIdx, int[] row) {
+            int result = 0;
+            for (int dim : combinations[combinationIdx]) {
+                if (row[dim] == UNASSIGNED) {
+                    return -1;
+                }
+                result = result * dimensionSizes[dim] + row[dim];
+            }
+            return result;
+        }
+    }
+}
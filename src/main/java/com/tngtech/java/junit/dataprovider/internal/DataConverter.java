@@ -6,8 +6,10 @@ import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotN
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.internal.convert.ObjectArrayConverter;
@@ -37,10 +39,12 @@ public class DataConverter {
      * <li>Iterable&lt;?&gt;</li>
      * <li>Object[]</li>
      * <li>String[]</li>
+     * <li>Future&lt;T&gt; where T is any of the above</li>
      * </ul>
      *
-     * Please note, that {@link Iterable} can be replaced by any valid subtype (checked via {@link Class#isAssignableFrom(Class)}). As well
-     * as an arbitrary inner type is also accepted. Only rawtypes are not supported currently.
+     * Please note, that {@link Iterable} and {@link Future} can be replaced by any valid subtype (checked via
+     * {@link Class#isAssignableFrom(Class)}). As well as an arbitrary inner type is also accepted. Only rawtypes are not
+     * supported currently.
      *
      * @param type to be checked for convertibility (use either {@link Method#getGenericReturnType()}, {@link Method#getReturnType()}, or
      *            simple {@link Class} if possible)
@@ -58,6 +62,14 @@ public class DataConverter {
             if (Iterable.class.isAssignableFrom((Class<?>) rawType)) {
                 return canConvertIterableOf(parameterizedType);
             }
+            if (Future.class.isAssignableFrom((Class<?>) rawType)
+                    && parameterizedType.getActualTypeArguments().length == 1) {
+                Type resultType = parameterizedType.getActualTypeArguments()[0];
+                if (resultType instanceof WildcardType) {
+                    resultType = ((WildcardType) resultType).getUpperBounds()[0];
+                }
+                return canConvert(resultType);
+            }
         }
         return false;
     }
@@ -78,27 +90,94 @@ public class DataConverter {
      * @throws ClassCastException iif {@code data} is not a compatible type
      */
     public List<Object[]> convert(Object data, boolean isVarArgs, Class<?>[] parameterTypes, DataProvider dataProvider) {
+        List<Object[]> result = new ArrayList<Object[]>();
+        convert(data, isVarArgs, parameterTypes, dataProvider, result);
+        return result;
+    }
+
+    /**
+     * Converts the given {@link Object} like {@link #convert(Object, boolean, Class[], DataProvider)} but adds every
+     * converted row to the given {@code result} as soon as it has been converted, such that the rows can be processed
+     * (e.g. spilled to disk) while converting the remaining ones.
+     *
+     * @param data to be converted
+     * @param isVarArgs determines whether test method has a varargs parameter
+     * @param parameterTypes required types for {@code data}
+     * @param dataProvider containing settings which should be used to convert given {@code data}
+     * @param result to add the converted rows to in order
+     * @throws NullPointerException iif given {@code parameterTypes}, {@code settings} or {@code result} are
+     *             {@code null}
+     * @throws IllegalArgumentException iif given {@code parameterTypes} is empty
+     * @throws ClassCastException iif {@code data} is not a compatible type
+     */
+    public void convert(Object data, boolean isVarArgs, Class<?>[] parameterTypes, DataProvider dataProvider,
+            List<Object[]> result) {
         checkNotNull(parameterTypes, "parameterTypes must not be null");
         checkNotNull(dataProvider, "dataProvider must not be null");
+        checkNotNull(result, "result must not be null");
         checkArgument(parameterTypes.length != 0, "parameterTypes must not be empty");
 
         if (data instanceof Object[][]) {
-            return convert((Object[][]) data, isVarArgs, parameterTypes);
+            convert((Object[][]) data, isVarArgs, parameterTypes, result);
 
         } else if (data instanceof String[]) {
-            return convert((String[]) data, isVarArgs, parameterTypes, dataProvider);
+            convert((String[]) data, isVarArgs, parameterTypes, dataProvider, result);
 
         } else if (data instanceof Object[]) {
-            return convert((Object[]) data, isVarArgs, parameterTypes);
+            convert((Object[]) data, isVarArgs, parameterTypes, result);
 
         } else if (data instanceof Iterable) {
             @SuppressWarnings("rawtypes")
             Iterable iterableData = (Iterable) data;
-            return convert(iterableData, isVarArgs, parameterTypes);
+            convert(iterableData, isVarArgs, parameterTypes, result);
+
+        } else {
+            throw new ClassCastException(String.format(
+                    "Cannot cast to either Object[][], Object[], String[], or Iterable because data was: %s", data));
+        }
+    }
+
+    /**
+     * Checks the number of parameters of all rows of the given {@code data} without converting them, such that they
+     * can be converted later on using {@link #convert(String, boolean, Class[], DataProvider, int)}, see
+     * {@link DataProvider#convertLazily()}.
+     *
+     * @param data to be checked
+     * @param isVarArgs determines whether test method has a varargs parameter
+     * @param parameterTypes required types for {@code data}
+     * @param dataProvider containing settings which should be used to split given {@code data}
+     * @throws NullPointerException iif given {@code data}, {@code parameterTypes} or {@code settings} are {@code null}
+     * @throws IllegalArgumentException iif given {@code parameterTypes} is empty or the parameter count of a row does
+     *             not match
+     */
+    public void checkParameterCount(String[] data, boolean isVarArgs, Class<?>[] parameterTypes,
+            DataProvider dataProvider) {
+        checkNotNull(data, "data must not be null");
+        checkNotNull(parameterTypes, "parameterTypes must not be null");
+        checkNotNull(dataProvider, "dataProvider must not be null");
+        checkArgument(parameterTypes.length != 0, "parameterTypes must not be empty");
 
+        int idx = 0;
+        for (String argString : data) {
+            stringConverter.checkParameterCount(argString, isVarArgs, parameterTypes, dataProvider, idx++);
         }
-        throw new ClassCastException(
-                String.format("Cannot cast to either Object[][], Object[], String[], or Iterable because data was: %s", data));
+    }
+
+    /**
+     * Converts a single row of regex-separated {@link String} {@code data} which has been checked using
+     * {@link #checkParameterCount(String[], boolean, Class[], DataProvider)} before.
+     *
+     * @param data regex-separated {@link String} of parameters for test method
+     * @param isVarArgs determines whether test method has a varargs parameter
+     * @param parameterTypes required types for {@code data}
+     * @param dataProvider containing settings which should be used to convert given {@code data}
+     * @param rowIdx index of {@code data} (row) for better error messages
+     * @return split, trimmed and converted {@code Object[]} of supplied regex-separated {@code data}
+     * @throws IllegalArgumentException iif an argument cannot be converted to required type
+     */
+    public Object[] convert(String data, boolean isVarArgs, Class<?>[] parameterTypes, DataProvider dataProvider,
+            int rowIdx) {
+        return stringConverter.convert(data, isVarArgs, parameterTypes, dataProvider, rowIdx);
     }
 
     private boolean canConvertIterableOf(ParameterizedType parameterizedType) {
@@ -113,33 +192,27 @@ public class DataConverter {
         return false;
     }
 
-    private List<Object[]> convert(Object[][] data, boolean isVarArgs, Class<?>[] parameterTypes) {
-        List<Object[]> result = new ArrayList<Object[]>();
+    private void convert(Object[][] data, boolean isVarArgs, Class<?>[] parameterTypes, List<Object[]> result) {
         for (Object[] arguments : data) {
             result.add(objectArrayConverter.convert(arguments, isVarArgs, parameterTypes));
         }
-        return result;
     }
 
-    private List<Object[]> convert(String[] data, boolean isVarArgs, Class<?>[] parameterTypes, DataProvider dataProvider) {
-        List<Object[]> result = new ArrayList<Object[]>();
+    private void convert(String[] data, boolean isVarArgs, Class<?>[] parameterTypes, DataProvider dataProvider,
+            List<Object[]> result) {
         int idx = 0;
         for (String argString : data) {
             result.add(stringConverter.convert(argString, isVarArgs, parameterTypes, dataProvider, idx++));
         }
-        return result;
     }
 
-    private List<Object[]> convert(Object[] data, boolean isVarArgs, Class<?>[] parameterTypes) {
-        List<Object[]> result = new ArrayList<Object[]>();
+    private void convert(Object[] data, boolean isVarArgs, Class<?>[] parameterTypes, List<Object[]> result) {
         for (Object argument : data) {
             result.add(singleArgConverter.convert(argument, isVarArgs, parameterTypes));
         }
-        return result;
     }
 
-    private List<Object[]> convert(Iterable<?> data, boolean isVarArgs, Class<?>[] parameterTypes) {
-        List<Object[]> result = new ArrayList<Object[]>();
+    private void convert(Iterable<?> data, boolean isVarArgs, Class<?>[] parameterTypes, List<Object[]> result) {
         for (Object arguments : data) {
             if (arguments != null && Iterable.class.isAssignableFrom(arguments.getClass())) {
                 @SuppressWarnings("rawtypes")
@@ -150,7 +223,6 @@ public class DataConverter {
                 result.add(singleArgConverter.convert(arguments, isVarArgs, parameterTypes));
             }
         }
-        return result;
     }
 
     private Object[] toArray(Iterable<?> iterable) {
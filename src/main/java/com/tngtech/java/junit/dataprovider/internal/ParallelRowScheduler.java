@@ -0,0 +1,155 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * Internal {@link RunnerScheduler} to run the (exploded) test methods of a test class on a fixed number of threads.
+ * Rows sharing resources declared by {@code @}{@link com.tngtech.java.junit.dataprovider.SharedResource} are serialized
+ * by the {@link ResourceLocks} while running. A row whose resources are currently used by another row can be deferred
+ * by {@link #deferCurrent()}, such that its thread runs independent rows instead of blocking.
+ */
+public class ParallelRowScheduler implements RunnerScheduler {
+
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    private final ExecutorService executor;
+
+    private final ThreadLocal<Task> currentTask = new ThreadLocal<Task>();
+
+    /**
+     * Tasks deferred by {@link #deferCurrent()} which are scheduled again as soon as another task has finished. Also
+     * guards {@link #pendingTasks} and {@link #deferringTasks}.
+     */
+    private final List<Task> deferredTasks = new ArrayList<Task>();
+
+    /**
+     * The number of scheduled tasks which have not finished yet, including the deferred ones.
+     */
+    private int pendingTasks;
+
+    /**
+     * The number of running tasks which have been deferred but are not contained in {@link #deferredTasks} yet.
+     */
+    private int deferringTasks;
+
+    /**
+     * @param threads the number of threads to run test methods on
+     * @throws IllegalArgumentException iif given {@code threads} is not positive
+     */
+    public ParallelRowScheduler(int threads) {
+        checkArgument(threads > 0, "threads must be positive but was %d", threads);
+
+        final int pool = poolNumber.incrementAndGet();
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread result = new Thread(runnable, "junit-dataprovider-rows-" + pool + "-"
+                        + threadNumber.incrementAndGet());
+                result.setDaemon(true);
+                return result;
+            }
+        });
+    }
+
+    @Override
+    public void schedule(Runnable childStatement) {
+        synchronized (deferredTasks) {
+            pendingTasks++;
+        }
+        executor.execute(new Task(childStatement));
+    }
+
+    /**
+     * Defers the task currently running on this thread, i.e. it is run again after another task has finished instead
+     * of waiting for the resources used by other tasks. The current task must return without doing anything afterwards.
+     * A task is only deferred if another task, which is not deferred itself, will finish later on.
+     *
+     * @return {@code true} iif the current task will be run again, otherwise it must run now
+     */
+    public boolean deferCurrent() {
+        Task task = currentTask.get();
+        if (task == null || task.deferred) {
+            return false;
+        }
+        synchronized (deferredTasks) {
+            if (pendingTasks - deferredTasks.size() - deferringTasks <= 1) {
+                return false;
+            }
+            deferringTasks++;
+            task.deferred = true;
+            return true;
+        }
+    }
+
+    @Override
+    public void finished() {
+        try {
+            synchronized (deferredTasks) {
+                while (pendingTasks > 0) {
+                    deferredTasks.wait();
+                }
+            }
+            executor.shutdown();
+
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void finish(Task task) {
+        List<Task> toReschedule;
+        synchronized (deferredTasks) {
+            if (task.deferred) {
+                task.deferred = false;
+                deferringTasks--;
+                deferredTasks.add(task);
+                if (pendingTasks > deferredTasks.size() + deferringTasks) {
+                    return; // rescheduled as soon as another task has finished
+                }
+            } else {
+                pendingTasks--;
+                deferredTasks.notifyAll();
+            }
+            toReschedule = new ArrayList<Task>(deferredTasks);
+            deferredTasks.clear();
+        }
+        for (Task deferredTask : toReschedule) {
+            executor.execute(deferredTask);
+        }
+    }
+
+    /**
+     * A scheduled child statement which may be deferred while running, see {@link #deferCurrent()}.
+     */
+    private class Task implements Runnable {
+        private final Runnable childStatement;
+        private boolean deferred;
+
+        Task(Runnable childStatement) {
+            this.childStatement = childStatement;
+        }
+
+        @Override
+        public void run() {
+            currentTask.set(this);
+            try {
+                childStatement.run();
+            } finally {
+                currentTask.remove();
+                finish(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.runners.model.FrameworkMethod;
+
+import com.tngtech.java.junit.dataprovider.SharedResource;
+
+/**
+ * Internal class holding the keys of the resources shared by a row as declared by {@code @}{@link SharedResource}. The
+ * keys of a row are determined once while exploding, i.e. while its parameters are still available, such that neither
+ * lazily converted nor spilled rows must be read again for locking them.
+ */
+public class ResourceKeys {
+
+    /**
+     * The keys of a row not sharing any resources.
+     */
+    public static final ResourceKeys NONE = new ResourceKeys(Collections.<String> emptySet(),
+            Collections.<String> emptySet());
+
+    private final Set<String> readKeys;
+    private final Set<String> writeKeys;
+
+    /**
+     * @param readKeys the keys of the resources which are only read
+     * @param writeKeys the keys of the resources which are modified
+     * @throws NullPointerException iif any argument is {@code null}
+     */
+    public ResourceKeys(Set<String> readKeys, Set<String> writeKeys) {
+        checkNotNull(readKeys, "readKeys must not be null");
+        checkNotNull(writeKeys, "writeKeys must not be null");
+
+        this.readKeys = Collections.unmodifiableSet(new HashSet<String>(readKeys));
+        this.writeKeys = Collections.unmodifiableSet(new HashSet<String>(writeKeys));
+    }
+
+    /**
+     * @param testMethod the test method
+     * @param dataProviderMethod the dataprovider method of the test method or {@code null} if there is none
+     * @return the {@code @}{@link SharedResource} annotations of the given test and dataprovider method (never
+     *         {@code null})
+     * @throws NullPointerException iif given {@code testMethod} is {@code null}
+     */
+    public static List<SharedResource> getSharedResources(FrameworkMethod testMethod,
+            FrameworkMethod dataProviderMethod) {
+        checkNotNull(testMethod, "testMethod must not be null");
+
+        List<SharedResource> result = new ArrayList<SharedResource>();
+        addIfNotNull(result, testMethod.getAnnotation(SharedResource.class));
+        if (dataProviderMethod != null) {
+            addIfNotNull(result, dataProviderMethod.getAnnotation(SharedResource.class));
+        }
+        return result;
+    }
+
+    /**
+     * @param sharedResources the {@code @}{@link SharedResource} annotations of a row
+     * @return {@code true} iif any of the given {@code sharedResources} uses parameters of the row as keys
+     */
+    public static boolean hasParameterKeys(List<SharedResource> sharedResources) {
+        for (SharedResource sharedResource : sharedResources) {
+            if (sharedResource.parameters().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines the static and parameter keys of a single row.
+     *
+     * @param sharedResources the {@code @}{@link SharedResource} annotations of the row
+     * @param method the test method of the row
+     * @param parameters the parameters of the row or {@code null} if the test method does not use a dataprovider, i.e.
+     *            only the static keys are used
+     * @return the keys of the resources shared by the row (never {@code null})
+     * @throws IllegalArgumentException iif a parameter index is out of range of the given {@code parameters}
+     */
+    public static ResourceKeys of(List<SharedResource> sharedResources, Method method, Object[] parameters) {
+        if (sharedResources.isEmpty()) {
+            return NONE;
+        }
+        Set<String> readKeys = new HashSet<String>();
+        Set<String> writeKeys = new HashSet<String>();
+        for (SharedResource sharedResource : sharedResources) {
+            Set<String> keys = (SharedResource.Mode.READ == sharedResource.mode()) ? readKeys : writeKeys;
+            keys.addAll(Arrays.asList(sharedResource.value()));
+            if (parameters == null) {
+                continue;
+            }
+            for (int idx : sharedResource.parameters()) {
+                if (idx < 0 || idx >= parameters.length) {
+                    throw new IllegalArgumentException(String.format(
+                            "@%s parameter index %d of '%s' is out of range for %d parameters",
+                            SharedResource.class.getSimpleName(), idx, method.getName(), parameters.length));
+                }
+                keys.add(String.valueOf(parameters[idx]));
+            }
+        }
+        return new ResourceKeys(readKeys, writeKeys);
+    }
+
+    /**
+     * @param other the keys to be combined with these keys, e.g. of another row of the same batch
+     * @return the keys of both, these and the given {@code other} keys (never {@code null})
+     * @throws NullPointerException iif given {@code other} is {@code null}
+     */
+    public ResourceKeys union(ResourceKeys other) {
+        checkNotNull(other, "other must not be null");
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Set<String> unionReadKeys = new HashSet<String>(readKeys);
+        unionReadKeys.addAll(other.readKeys);
+        Set<String> unionWriteKeys = new HashSet<String>(writeKeys);
+        unionWriteKeys.addAll(other.writeKeys);
+        return new ResourceKeys(unionReadKeys, unionWriteKeys);
+    }
+
+    /**
+     * @return {@code true} iif there are neither read nor write keys
+     */
+    public boolean isEmpty() {
+        return readKeys.isEmpty() && writeKeys.isEmpty();
+    }
+
+    /**
+     * @return the keys of the resources which are only read (never {@code null})
+     */
+    public Set<String> getReadKeys() {
+        return readKeys;
+    }
+
+    /**
+     * @return the keys of the resources which are modified (never {@code null})
+     */
+    public Set<String> getWriteKeys() {
+        return writeKeys;
+    }
+
+    private static <T> void addIfNotNull(List<T> list, T element) {
+        if (element != null) {
+            list.add(element);
+        }
+    }
+}
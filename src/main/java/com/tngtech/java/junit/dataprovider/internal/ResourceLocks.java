@@ -0,0 +1,152 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.runners.model.Statement;
+
+import com.tngtech.java.junit.dataprovider.SharedResource;
+
+/**
+ * Internal class to serialize rows sharing resources declared by {@code @}{@link SharedResource}. Every resource key is
+ * guarded by a fair {@link ReadWriteLock}. All locks of a row are acquired in the natural order of their keys such that
+ * rows sharing multiple resources cannot deadlock.
+ * <p>
+ * The locks are shared by all test classes of the JVM and never removed, i.e. the number of distinct resource keys
+ * should be bounded.
+ */
+public class ResourceLocks {
+
+    private static final ResourceLocks INSTANCE = new ResourceLocks();
+
+    private final ConcurrentMap<String, ReadWriteLock> locks = new ConcurrentHashMap<String, ReadWriteLock>();
+
+    /**
+     * @return the {@link ResourceLocks} shared by all test classes (never {@code null})
+     */
+    public static ResourceLocks getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a {@link Statement} which holds the locks of the given resource keys while evaluating the given
+     * {@code statement}. Keys contained in both sets are locked for writing.
+     *
+     * @param statement to be guarded
+     * @param readKeys the keys of the resources which are only read
+     * @param writeKeys the keys of the resources which are modified
+     * @return the guarding {@link Statement} or the given one if there are no keys (never {@code null})
+     * @throws NullPointerException iif any argument is {@code null}
+     */
+    public Statement guard(final Statement statement, Set<String> readKeys, Set<String> writeKeys) {
+        checkNotNull(statement, "statement must not be null");
+        checkNotNull(readKeys, "readKeys must not be null");
+        checkNotNull(writeKeys, "writeKeys must not be null");
+
+        if (readKeys.isEmpty() && writeKeys.isEmpty()) {
+            return statement;
+        }
+
+        final List<Lock> orderedLocks = getOrderedLocks(readKeys, writeKeys);
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                List<Lock> acquired = new ArrayList<Lock>();
+                try {
+                    for (Lock lock : orderedLocks) {
+                        lock.lockInterruptibly();
+                        acquired.add(lock);
+                    }
+                    statement.evaluate();
+
+                } finally {
+                    unlock(acquired);
+                }
+            }
+        };
+    }
+
+    /**
+     * Acquires the locks of the given resource keys without waiting for them, e.g. such that a scheduler can run
+     * another row instead if any resource is currently used. The locks are reentrant, i.e. a statement guarded by the
+     * same keys can still be evaluated by the current thread while it holds the returned locks.
+     *
+     * @param keys of the resources to be locked
+     * @return the acquired locks to be released by {@link #unlock(List)} or {@code null} if any lock is currently
+     *         held by another thread, in which case none of them has been acquired
+     * @throws NullPointerException iif given {@code keys} is {@code null}
+     */
+    public List<Lock> tryLock(ResourceKeys keys) {
+        checkNotNull(keys, "keys must not be null");
+
+        List<Lock> result = new ArrayList<Lock>();
+        for (Lock lock : getOrderedLocks(keys.getReadKeys(), keys.getWriteKeys())) {
+            if (!lock.tryLock()) {
+                unlock(result);
+                return null;
+            }
+            result.add(lock);
+        }
+        return result;
+    }
+
+    /**
+     * Releases the given {@code locks} in reverse order of their acquisition.
+     *
+     * @param locks acquired by {@link #tryLock(ResourceKeys)}
+     * @throws NullPointerException iif given {@code locks} is {@code null}
+     */
+    public void unlock(List<Lock> locks) {
+        checkNotNull(locks, "locks must not be null");
+
+        List<Lock> reversed = new ArrayList<Lock>(locks);
+        Collections.reverse(reversed);
+        for (Lock lock : reversed) {
+            lock.unlock();
+        }
+    }
+
+    private List<Lock> getOrderedLocks(Set<String> readKeys, Set<String> writeKeys) {
+        Map<String, Boolean> writeByKey = new TreeMap<String, Boolean>();
+        for (String key : readKeys) {
+            writeByKey.put(key, false);
+        }
+        for (String key : writeKeys) {
+            writeByKey.put(key, true);
+        }
+        List<Lock> result = new ArrayList<Lock>();
+        for (Map.Entry<String, Boolean> entry : writeByKey.entrySet()) {
+            ReadWriteLock lock = getLock(entry.getKey());
+            result.add(entry.getValue() ? lock.writeLock() : lock.readLock());
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    ReadWriteLock getLock(String key) {
+        ReadWriteLock result = locks.get(key);
+        if (result == null) {
+            ReadWriteLock newLock = new ReentrantReadWriteLock(true);
+            result = locks.putIfAbsent(key, newLock);
+            if (result == null) {
+                result = newLock;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,277 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runners.model.Statement;
+
+import com.tngtech.java.junit.dataprovider.DataProviderBenchmark;
+
+/**
+ * Internal class to measure (exploded) test methods annotated with {@code @}{@link DataProviderBenchmark}, to persist
+ * their results identified by their {@link RowFingerprint} and to compare them to the results of a previous run.
+ * <p>
+ * The results are written after each test class to the file given by the system property
+ * {@value DataProviderBenchmark#SYSTEM_PROPERTY_RESULT_FILE}. Each line contains the fingerprint, the mean nanoseconds
+ * per operation, its error, the number of measured iterations and the name of a single row, separated by tabs. The
+ * baseline given by {@value DataProviderBenchmark#SYSTEM_PROPERTY_BASELINE_FILE} is read once per JVM and has the same
+ * format.
+ */
+public class RowBenchmarks {
+
+    /**
+     * The result of measuring a single row.
+     */
+    public static class Result {
+        private final double nanosPerOperation;
+        private final double error;
+        private final int iterations;
+
+        public Result(double nanosPerOperation, double error, int iterations) {
+            this.nanosPerOperation = nanosPerOperation;
+            this.error = error;
+            this.iterations = iterations;
+        }
+
+        /**
+         * @return the mean time of a single invocation of the test method in nanoseconds
+         */
+        public double getNanosPerOperation() {
+            return nanosPerOperation;
+        }
+
+        /**
+         * @return the half width of the 95% confidence interval of {@link #getNanosPerOperation()}
+         */
+        public double getError() {
+            return error;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * @param baseline the result of a previous run
+         * @param maxRegression the fraction by which this result may be slower than the given {@code baseline}
+         * @return {@code true} iif the lower bound of the confidence interval of this result is slower than the
+         *         {@code baseline} including the allowed regression
+         */
+        public boolean isSlowerThan(Result baseline, double maxRegression) {
+            return nanosPerOperation - error > baseline.getNanosPerOperation() * (1 + maxRegression);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "%.1f +/- %.1f ns/op (%d iterations)", nanosPerOperation, error,
+                    iterations);
+        }
+    }
+
+    /**
+     * The z-value of the two-sided 95% confidence interval of the standard normal distribution.
+     */
+    private static final double Z_95 = 1.96;
+
+    private static final String SEPARATOR = RowFiles.SEPARATOR;
+
+    private static final RowFiles.Instances<RowBenchmarks> instances = new RowFiles.Instances<RowBenchmarks>();
+
+    private final File resultFile;
+    private final ConcurrentMap<String, String> lines = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, Result> baseline = new ConcurrentHashMap<String, Result>();
+    private volatile boolean dirty;
+
+    /**
+     * <p>
+     * This constructor is package private (= visible) for testing.
+     * </p>
+     *
+     * @param resultFile the file to save the results to or {@code null} to only measure
+     */
+    RowBenchmarks(File resultFile) {
+        this.resultFile = resultFile;
+    }
+
+    /**
+     * Returns the shared {@link RowBenchmarks} for the files given by the system properties
+     * {@value DataProviderBenchmark#SYSTEM_PROPERTY_RESULT_FILE} and
+     * {@value DataProviderBenchmark#SYSTEM_PROPERTY_BASELINE_FILE}.
+     *
+     * @return the shared {@link RowBenchmarks} (never {@code null})
+     */
+    public static RowBenchmarks getInstance() {
+        return getInstance(System.getProperty(DataProviderBenchmark.SYSTEM_PROPERTY_RESULT_FILE),
+                System.getProperty(DataProviderBenchmark.SYSTEM_PROPERTY_BASELINE_FILE));
+    }
+
+    /**
+     * Returns the shared {@link RowBenchmarks} for the given files, loading the baseline initially if it exists.
+     *
+     * @param resultPath of the result file or {@code null} to not save any results
+     * @param baselinePath of the baseline file or {@code null} to not compare results
+     * @return the shared {@link RowBenchmarks} (never {@code null})
+     */
+    public static RowBenchmarks getInstance(String resultPath, String baselinePath) {
+        final File resultFile = RowFiles.toFile(resultPath);
+        final File baselineFile = RowFiles.toFile(baselinePath);
+
+        return instances.get(Arrays.asList(resultFile, baselineFile), new RowFiles.Factory<RowBenchmarks>() {
+            @Override
+            public RowBenchmarks create() {
+                RowBenchmarks result = new RowBenchmarks(resultFile);
+                if (baselineFile != null) {
+                    result.loadBaseline(baselineFile);
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Measures the given {@code invocation} by evaluating it {@code warmupIterations} times without measuring and
+     * afterwards {@code iterations} times, each time {@code operationsPerIteration} times in a row.
+     *
+     * @param invocation to be measured
+     * @param warmupIterations the number of not measured iterations
+     * @param iterations the number of measured iterations
+     * @param operationsPerIteration the number of evaluations of {@code invocation} per iteration
+     * @return the {@link Result} of the measured iterations (never {@code null})
+     * @throws NullPointerException iif given {@code invocation} is {@code null}
+     * @throws IllegalArgumentException iif {@code warmupIterations} is negative or {@code iterations} or
+     *             {@code operationsPerIteration} is not positive
+     * @throws Throwable if any evaluation of {@code invocation} throws
+     */
+    public static Result measure(Statement invocation, int warmupIterations, int iterations, int operationsPerIteration)
+            throws Throwable {
+        checkNotNull(invocation, "invocation must not be null");
+        checkArgument(warmupIterations >= 0, "warmupIterations must not be negative but was %d", warmupIterations);
+        checkArgument(iterations > 0, "iterations must be positive but was %d", iterations);
+        checkArgument(operationsPerIteration > 0, "operationsPerIteration must be positive but was %d",
+                operationsPerIteration);
+
+        for (int iteration = 0; iteration < warmupIterations; iteration++) {
+            for (int operation = 0; operation < operationsPerIteration; operation++) {
+                invocation.evaluate();
+            }
+        }
+
+        double[] nanosPerOperation = new double[iterations];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            long start = System.nanoTime();
+            for (int operation = 0; operation < operationsPerIteration; operation++) {
+                invocation.evaluate();
+            }
+            nanosPerOperation[iteration] = (double) (System.nanoTime() - start) / operationsPerIteration;
+        }
+        return toResult(nanosPerOperation);
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    static Result toResult(double[] nanosPerOperation) {
+        double sum = 0;
+        for (double value : nanosPerOperation) {
+            sum += value;
+        }
+        double mean = sum / nanosPerOperation.length;
+
+        double error = 0;
+        if (nanosPerOperation.length > 1) {
+            double squares = 0;
+            for (double value : nanosPerOperation) {
+                squares += (value - mean) * (value - mean);
+            }
+            double standardDeviation = Math.sqrt(squares / (nanosPerOperation.length - 1));
+            error = Z_95 * standardDeviation / Math.sqrt(nanosPerOperation.length);
+        }
+        return new Result(mean, error, nanosPerOperation.length);
+    }
+
+    /**
+     * Records the given {@code result} of the row with the given {@code fingerprint}, replacing any previous one.
+     *
+     * @param fingerprint of the row
+     * @param name of the row to be written to the result file for humans
+     * @param result of measuring the row
+     */
+    public void record(String fingerprint, String name, Result result) {
+        if (resultFile != null) {
+            lines.put(fingerprint, String.format(Locale.ENGLISH, "%s%s%.3f%s%.3f%s%d%s%s", fingerprint, SEPARATOR,
+                    result.getNanosPerOperation(), SEPARATOR, result.getError(), SEPARATOR, result.getIterations(),
+                    SEPARATOR, name.replaceAll("[\t\r\n]", " ")));
+            dirty = true;
+        }
+    }
+
+    /**
+     * @param fingerprint of the row
+     * @return the baseline {@link Result} of the row with the given {@code fingerprint} or {@code null} if none exists
+     */
+    public Result getBaseline(String fingerprint) {
+        return baseline.get(fingerprint);
+    }
+
+    /**
+     * Writes all recorded results to the result file if anything was recorded since the last save. Does nothing if no
+     * result file is given.
+     *
+     * @throws IOException if the result file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (resultFile == null || !dirty) {
+            return;
+        }
+        dirty = false;
+
+        try {
+            RowFiles.replace(resultFile, new ArrayList<String>(lines.values()));
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        }
+    }
+
+    private void loadBaseline(File baselineFile) {
+        if (!baselineFile.exists()) {
+            System.err.println(String.format("Ignoring not existing dataprovider benchmark baseline file '%s'",
+                    baselineFile));
+            return;
+        }
+        try {
+            RowFiles.read(baselineFile, 4, new BaselineHandler());
+        } catch (IOException e) {
+            System.err.println(String.format("Ignoring unreadable dataprovider benchmark baseline file '%s': %s",
+                    baselineFile, e.getMessage()));
+        }
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    void loadBaseline(Reader reader) throws IOException {
+        RowFiles.read(reader, 4, new BaselineHandler());
+    }
+
+    private class BaselineHandler implements RowFiles.LineHandler {
+        @Override
+        public void handle(String[] columns) {
+            baseline.put(columns[0], new Result(Double.parseDouble(columns[1]), Double.parseDouble(columns[2]),
+                    Integer.parseInt(columns[3])));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Internal helper to share, read and write the tab separated files of {@link RowHistory}, {@link RowJournal},
+ * {@link RowBenchmarks} and {@link ShardPlan}. All files are encoded in {@value #ENCODING} and contain a single record
+ * per line whose columns are separated by {@value #SEPARATOR}.
+ */
+final class RowFiles {
+
+    static final String SEPARATOR = "\t";
+
+    private static final String ENCODING = "UTF-8";
+
+    private RowFiles() {
+        // utility class
+    }
+
+    /**
+     * Creates a shared instance for a file, see {@link Instances}.
+     *
+     * @param <T> the type of the shared instance
+     */
+    interface Factory<T> {
+        T create();
+    }
+
+    /**
+     * Handles the columns of a single line, see {@link RowFiles#read(Reader, int, LineHandler)}.
+     */
+    interface LineHandler {
+        /**
+         * @param columns of the line, at least as many as requested
+         * @throws IllegalArgumentException if the line is corrupt and should be ignored
+         */
+        void handle(String[] columns);
+    }
+
+    /**
+     * Cache of the instances shared per JVM, e.g. by all test classes, identified by their files.
+     *
+     * @param <T> the type of the shared instances
+     */
+    static class Instances<T> {
+        private final Map<Object, T> instances = new HashMap<Object, T>();
+
+        /**
+         * @param key identifying the instance, e.g. its file
+         * @param factory to create the instance if it does not exist yet
+         * @return the existing or newly created instance (never {@code null})
+         */
+        synchronized T get(Object key, Factory<T> factory) {
+            T result = instances.get(key);
+            if (result == null) {
+                result = checkNotNull(factory.create(), "created instance must not be null");
+                instances.put(key, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @param path of a file, e.g. given by a system property
+     * @return the absolute file of the given {@code path} or {@code null} if it is {@code null} or blank
+     */
+    static File toFile(String path) {
+        if (path == null || path.trim().isEmpty()) {
+            return null;
+        }
+        return new File(path.trim()).getAbsoluteFile();
+    }
+
+    /**
+     * Reads all lines of the given {@code file}, see {@link #read(Reader, int, LineHandler)}.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    static void read(File file, int minColumns, LineHandler handler) throws IOException {
+        Reader reader = openForReading(file);
+        try {
+            read(reader, minColumns, handler);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads all remaining lines of the given {@code reader} and passes their columns to the given {@code handler}.
+     * Corrupt lines, i.e. lines having less than {@code minColumns} columns or for which the {@code handler} throws an
+     * {@link IllegalArgumentException}, are ignored as they are most likely left by an aborted previous write.
+     *
+     * @param reader to read the lines from
+     * @param minColumns the minimum number of columns of a valid line
+     * @param handler of the columns of each valid line
+     * @throws IOException if the lines cannot be read
+     */
+    static void read(Reader reader, int minColumns, LineHandler handler) throws IOException {
+        BufferedReader bufferedReader = (reader instanceof BufferedReader) ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            String[] columns = line.split(SEPARATOR);
+            if (columns.length < minColumns) {
+                continue;
+            }
+            try {
+                handler.handle(columns);
+            } catch (IllegalArgumentException e) {
+                // ignore corrupt line
+            }
+        }
+    }
+
+    /**
+     * Replaces the given {@code file} by the given {@code lines} such that it is never left partially written: the
+     * lines are written to a temporary file which is renamed to the given {@code file} afterwards.
+     *
+     * @param file to be replaced
+     * @param lines to be written, each without line separator
+     * @throws IOException if the file cannot be written or replaced
+     */
+    static void replace(File file, Iterable<String> lines) throws IOException {
+        createParentDirectory(file);
+
+        File tmpFile = new File(file.getPath() + ".tmp");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), ENCODING));
+        try {
+            for (String line : lines) {
+                writer.write(line + "\n");
+            }
+        } finally {
+            writer.close();
+        }
+        if ((file.exists() && !file.delete()) || !tmpFile.renameTo(file)) {
+            throw new IOException("Could not replace " + file + " by " + tmpFile);
+        }
+    }
+
+    /**
+     * @param file to read lines from
+     * @return a buffered {@link Reader} of the given {@code file} (never {@code null})
+     * @throws IOException if the file cannot be opened
+     */
+    static Reader openForReading(File file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), ENCODING));
+    }
+
+    /**
+     * @param file to append lines to
+     * @return a buffered {@link Writer} appending to the given {@code file} (never {@code null})
+     * @throws IOException if the file cannot be opened
+     */
+    static Writer openForAppending(File file) throws IOException {
+        createParentDirectory(file);
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), ENCODING));
+    }
+
+    private static void createParentDirectory(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+    }
+}
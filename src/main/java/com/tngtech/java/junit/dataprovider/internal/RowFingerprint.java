@@ -0,0 +1,158 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Internal class to create fingerprints of (exploded) test methods which are stable across test runs. A fingerprint
+ * consists of the test class name, the test method signature and, for dataprovider rows, a hash of the converted
+ * parameters of the row(s) computed while exploding (see {@link #hashParameters(Object[])}), e.g.
+ * {@code com.example.FooTest#testBar(int,java.lang.String)#0f1e2d3c4b5a6978}. The index of a row is not part of its
+ * fingerprint such that adding, removing or reordering other rows of a dataprovider does not change it.
+ * <p>
+ * <b>Note:</b> The hash is only stable if the parameters are, i.e. it is <i>not</i> stable if the {@code toString()}
+ * of a parameter not handled specially depends on the identity of the object, e.g. if it uses the default
+ * implementation of {@link Object#toString()} including the identity hash code.
+ */
+public class RowFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * @param testClass the class of the test to be run (which may be a subclass of the declaring class of
+     *            {@code method})
+     * @param method the test method
+     * @param parametersHashes the hashes of the parameters of the dataprovider row(s) in their order or none if
+     *            {@code method} does not use a dataprovider
+     * @return the fingerprint of the given (exploded) test method
+     * @throws NullPointerException iif given {@code testClass} or {@code method} is {@code null}
+     */
+    public static String of(Class<?> testClass, Method method, long... parametersHashes) {
+        checkNotNull(testClass, "testClass must not be null");
+        checkNotNull(method, "method must not be null");
+
+        StringBuilder result = new StringBuilder(testClass.getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int idx = 0; idx < parameterTypes.length; idx++) {
+            if (idx > 0) {
+                result.append(',');
+            }
+            appendTypeName(result, parameterTypes[idx]);
+        }
+        result.append(')');
+
+        if (parametersHashes != null && parametersHashes.length > 0) {
+            long hash = parametersHashes[0];
+            if (parametersHashes.length > 1) {
+                hash = FNV_OFFSET_BASIS;
+                for (long parametersHash : parametersHashes) {
+                    hash = hash(hash, parametersHash);
+                }
+            }
+            String hex = Long.toHexString(hash);
+            result.append('#');
+            for (int idx = hex.length(); idx < 16; idx++) {
+                result.append('0');
+            }
+            result.append(hex);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Computes a 64-bit hash of the given (converted) parameters which, in contrast to {@link Object#hashCode()}, is
+     * stable across test runs and has a sufficiently low collision probability for large dataproviders. Arrays,
+     * {@link Iterable}s and {@link Map}s are hashed by their elements, {@link Enum}s by their name and {@link Class}es
+     * by their name. All other parameters are hashed by their class and {@link Object#toString()}.
+     *
+     * @param parameters the parameters of a dataprovider row
+     * @return the hash of the given parameters
+     * @throws NullPointerException iif given {@code parameters} is {@code null}
+     */
+    public static long hashParameters(Object[] parameters) {
+        checkNotNull(parameters, "parameters must not be null");
+        return hash(FNV_OFFSET_BASIS, parameters);
+    }
+
+    private static void appendTypeName(StringBuilder result, Class<?> type) {
+        if (type.isArray()) {
+            appendTypeName(result, type.getComponentType());
+            result.append("[]");
+        } else {
+            result.append(type.getName());
+        }
+    }
+
+    private static long hash(long hash, Object obj) {
+        if (obj == null) {
+            return hash(hash, 'n');
+        }
+        Class<?> type = obj.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(obj);
+            long result = hash(hash(hash, '['), length);
+            for (int idx = 0; idx < length; idx++) {
+                result = hash(result, Array.get(obj, idx));
+            }
+            return result;
+        }
+        if (obj instanceof Set<?>) {
+            // independent of the iteration order which may differ between runs, e.g. for enum elements
+            long sum = 0;
+            for (Object element : (Set<?>) obj) {
+                sum += hash(FNV_OFFSET_BASIS, element);
+            }
+            return hash(hash(hash, '{'), sum);
+        }
+        if (obj instanceof Map<?, ?>) {
+            long sum = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+                sum += hash(hash(FNV_OFFSET_BASIS, entry.getKey()), entry.getValue());
+            }
+            return hash(hash(hash, '{'), sum);
+        }
+        if (obj instanceof Iterable<?>) {
+            long result = hash(hash, '(');
+            for (Object element : (Iterable<?>) obj) {
+                result = hash(result, element);
+            }
+            return hash(result, ')');
+        }
+        if (obj instanceof Enum<?>) {
+            return hash(hash(hash, ((Enum<?>) obj).getDeclaringClass().getName()), ((Enum<?>) obj).name());
+        }
+        if (obj instanceof Class<?>) {
+            return hash(hash(hash, 'c'), ((Class<?>) obj).getName());
+        }
+        return hash(hash(hash, type.getName()), obj.toString());
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the given {@link String} continuing the given {@code hash}.
+     */
+    private static long hash(long hash, String str) {
+        long result = hash(hash, str.length());
+        for (int idx = 0; idx < str.length(); idx++) {
+            result = hash(result, str.charAt(idx));
+        }
+        return result;
+    }
+
+    private static long hash(long hash, char c) {
+        long result = (hash ^ (c & 0xff)) * FNV_PRIME;
+        return (result ^ (c >>> 8)) * FNV_PRIME;
+    }
+
+    private static long hash(long hash, long value) {
+        long result = hash;
+        for (int shift = 0; shift < 64; shift += 8) {
+            result = (result ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return result;
+    }
+}
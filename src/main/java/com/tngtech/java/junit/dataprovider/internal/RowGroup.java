@@ -0,0 +1,169 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+
+import com.tngtech.java.junit.dataprovider.DataProvider;
+
+/**
+ * Internal class to hold the state shared by all rows exploded from a single test method using a single dataprovider,
+ * i.e. either a dataprovider method or {@link DataProvider#value()} on the test method itself.
+ */
+public class RowGroup {
+
+    private final FrameworkMethod testMethod;
+    private final FrameworkMethod dataProviderMethod;
+    private final DataProvider dataProvider;
+
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean abortReported = new AtomicBoolean();
+    private final List<AtomicReference<Object>> testInstances = new ArrayList<AtomicReference<Object>>();
+    private final ThreadLocal<AtomicReference<Object>> testInstance = new ThreadLocal<AtomicReference<Object>>() {
+        @Override
+        protected AtomicReference<Object> initialValue() {
+            AtomicReference<Object> result = new AtomicReference<Object>();
+            synchronized (testInstances) {
+                testInstances.add(result);
+            }
+            return result;
+        }
+    };
+    private final AtomicInteger remainingRows = new AtomicInteger();
+
+    private boolean setUp;
+    private Throwable setUpFailure;
+
+    /**
+     * @param testMethod the original test method
+     * @param dataProviderMethod the dataprovider method or {@code null} if {@code dataProvider} is used on the test
+     *            method
+     * @param dataProvider the {@code @}{@link DataProvider} providing the rows
+     * @throws NullPointerException iif given {@code testMethod} or {@code dataProvider} is {@code null}
+     */
+    public RowGroup(FrameworkMethod testMethod, FrameworkMethod dataProviderMethod, DataProvider dataProvider) {
+        this.testMethod = checkNotNull(testMethod, "testMethod must not be null");
+        this.dataProviderMethod = dataProviderMethod;
+        this.dataProvider = checkNotNull(dataProvider, "dataProvider must not be null");
+    }
+
+    public FrameworkMethod getTestMethod() {
+        return testMethod;
+    }
+
+    /**
+     * @return the dataprovider method or {@code null} if the {@code @}{@link DataProvider} is used on the test method
+     */
+    public FrameworkMethod getDataProviderMethod() {
+        return dataProviderMethod;
+    }
+
+    public DataProvider getDataProvider() {
+        return dataProvider;
+    }
+
+    /**
+     * Records a failed row of this group.
+     *
+     * @return the number of failed rows including the recorded one
+     */
+    public int recordFailure() {
+        return failures.incrementAndGet();
+    }
+
+    public int getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return {@code true} iif the remaining rows of this group should not be executed anymore because the number of
+     *         failed rows reached {@link DataProvider#abortAfterFailures()}
+     */
+    public boolean isAborted() {
+        int threshold = dataProvider.abortAfterFailures();
+        return threshold > 0 && failures.get() >= threshold;
+    }
+
+    /**
+     * @return {@code true} iif this is the first call to this method, i.e. the abort has not been reported yet
+     */
+    public boolean markAbortReported() {
+        return abortReported.compareAndSet(false, true);
+    }
+
+    /**
+     * @return the test instance shared by the rows of this group which run on the current thread or {@code null} if
+     *         none has been created yet
+     */
+    public Object getTestInstance() {
+        return testInstance.get().get();
+    }
+
+    /**
+     * @param testInstance the test instance to be shared by the rows of this group which run on the current thread
+     */
+    public void setTestInstance(Object testInstance) {
+        this.testInstance.get().set(testInstance);
+    }
+
+    /**
+     * Adds the given number of rows to be run to this group.
+     *
+     * @param count the number of added rows
+     */
+    public void addRows(int count) {
+        remainingRows.addAndGet(count);
+    }
+
+    /**
+     * Marks a row of this group as finished, either because it was run, skipped or removed by a filter. If this was the
+     * last remaining row, the test instances shared by the rows of this group are released on all threads.
+     *
+     * @return {@code true} iif this was the last remaining row of this group
+     */
+    public boolean finishRow() {
+        if (remainingRows.decrementAndGet() != 0) {
+            return false;
+        }
+        synchronized (testInstances) {
+            for (AtomicReference<Object> reference : testInstances) {
+                reference.set(null);
+            }
+        }
+        testInstance.remove();
+        return true;
+    }
+
+    /**
+     * Evaluates the given {@code setUp} statement if this is the first call to this method. Concurrent callers wait
+     * until the set up has been finished.
+     *
+     * @param setUp the statement to set up this group
+     * @return the {@link Throwable} thrown by the set up or {@code null} if it succeeded
+     */
+    public synchronized Throwable setUpOnce(Statement setUp) {
+        if (!this.setUp) {
+            this.setUp = true;
+            try {
+                setUp.evaluate();
+            } catch (Throwable t) {
+                setUpFailure = t;
+            }
+        }
+        return setUpFailure;
+    }
+
+    /**
+     * @return {@code true} iif {@link #setUpOnce(Statement)} has been called, regardless if successful or not
+     */
+    public synchronized boolean isSetUp() {
+        return setUp;
+    }
+}
@@ -0,0 +1,234 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Internal class to persist the outcome and duration of every (exploded) test method, identified by its
+ * {@link RowFingerprint}, across test runs. It is used to run previously failing and slow rows first.
+ * <p>
+ * The history is enabled by setting the system property {@value #SYSTEM_PROPERTY_FILE} to the path of the history
+ * file. The file is read once per JVM and written after each test class. Each line contains the fingerprint, the
+ * {@link Status} and the duration in microseconds of a single row, separated by tabs.
+ */
+public class RowHistory {
+
+    /**
+     * System property to specify the path of the history file which enables ordering of rows by their history.
+     */
+    public static final String SYSTEM_PROPERTY_FILE = "junit.dataprovider.history";
+
+    /**
+     * Outcome of the last run of a row.
+     */
+    public enum Status {
+        PASSED,
+        FAILED,
+        SKIPPED,
+    }
+
+    /**
+     * The recorded history of a single row.
+     */
+    public static class Entry {
+        private final Status status;
+        private final long durationMicros;
+
+        public Entry(Status status, long durationMicros) {
+            this.status = checkNotNull(status, "status must not be null");
+            this.durationMicros = durationMicros;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getDurationMicros() {
+            return durationMicros;
+        }
+    }
+
+    /**
+     * Disabled history which neither loads, records nor saves anything.
+     */
+    private static final RowHistory DISABLED = new RowHistory(null);
+
+    private static final RowFiles.Instances<RowHistory> instances = new RowFiles.Instances<RowHistory>();
+
+    private final File file;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private volatile boolean dirty;
+
+    /**
+     * <p>
+     * This constructor is package private (= visible) for testing.
+     * </p>
+     *
+     * @param file the file to load the history from and save it to or {@code null} to disable the history
+     */
+    RowHistory(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the shared {@link RowHistory} for the file given by the system property {@value #SYSTEM_PROPERTY_FILE}
+     * or a disabled one if it is not set.
+     *
+     * @return the shared {@link RowHistory} (never {@code null})
+     */
+    public static RowHistory getInstance() {
+        return getInstance(System.getProperty(SYSTEM_PROPERTY_FILE));
+    }
+
+    /**
+     * Returns the shared {@link RowHistory} for the given file, loading it initially if it exists.
+     *
+     * @param path of the history file or {@code null} to return a disabled history
+     * @return the shared {@link RowHistory} (never {@code null})
+     */
+    public static RowHistory getInstance(String path) {
+        final File file = RowFiles.toFile(path);
+        if (file == null) {
+            return DISABLED;
+        }
+        return instances.get(file, new RowFiles.Factory<RowHistory>() {
+            @Override
+            public RowHistory create() {
+                RowHistory result = new RowHistory(file);
+                result.load();
+                return result;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * @param fingerprint of the row
+     * @return the recorded history of the row with the given {@code fingerprint} or {@code null} if none exists
+     */
+    public Entry get(String fingerprint) {
+        return entries.get(fingerprint);
+    }
+
+    /**
+     * @return an unmodifiable view of all recorded entries by the fingerprint of their row (never {@code null})
+     */
+    public Map<String, Entry> getEntries() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Records the outcome of the row with the given {@code fingerprint}, replacing any previous entry. Does nothing if
+     * this history is disabled.
+     *
+     * @param fingerprint of the row
+     * @param status the outcome of the row
+     * @param durationNanos the duration of the row in nanoseconds
+     */
+    public void record(String fingerprint, Status status, long durationNanos) {
+        if (isEnabled()) {
+            entries.put(fingerprint, new Entry(status, durationNanos / 1000));
+            dirty = true;
+        }
+    }
+
+    /**
+     * Returns a {@link Comparator} of fingerprints sorting rows which failed in their last run first, followed by new
+     * rows without history and finally all other rows, each slowest first. Rows which compare equal keep their order
+     * if sorted by a stable sort algorithm.
+     *
+     * @return a {@link Comparator} of fingerprints according to their history
+     */
+    public Comparator<String> getComparator() {
+        return new Comparator<String>() {
+            @Override
+            public int compare(String fingerprint1, String fingerprint2) {
+                Entry entry1 = entries.get(fingerprint1);
+                Entry entry2 = entries.get(fingerprint2);
+
+                int rank1 = rank(entry1);
+                int rank2 = rank(entry2);
+                if (rank1 != rank2) {
+                    return (rank1 < rank2) ? -1 : 1;
+                }
+                long duration1 = (entry1 == null) ? 0 : entry1.getDurationMicros();
+                long duration2 = (entry2 == null) ? 0 : entry2.getDurationMicros();
+                return (duration1 > duration2) ? -1 : ((duration1 < duration2) ? 1 : 0);
+            }
+
+            private int rank(Entry entry) {
+                if (entry == null) {
+                    return 1;
+                }
+                return (Status.FAILED == entry.getStatus()) ? 0 : 2;
+            }
+        };
+    }
+
+    /**
+     * Writes the current history to its file if anything was recorded since the last save. Does nothing if this
+     * history is disabled.
+     *
+     * @throws IOException if the history file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (!isEnabled() || !dirty) {
+            return;
+        }
+        // reset before taking the snapshot such that concurrently recorded entries are saved next time
+        dirty = false;
+
+        List<String> lines = new ArrayList<String>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            lines.add(entry.getKey() + RowFiles.SEPARATOR + entry.getValue().getStatus() + RowFiles.SEPARATOR
+                    + entry.getValue().getDurationMicros());
+        }
+        try {
+            RowFiles.replace(file, lines);
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            RowFiles.read(file, 3, new EntryHandler());
+        } catch (IOException e) {
+            System.err.println(String.format("Ignoring unreadable dataprovider row history file '%s': %s", file,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    void load(Reader reader) throws IOException {
+        RowFiles.read(reader, 3, new EntryHandler());
+    }
+
+    private class EntryHandler implements RowFiles.LineHandler {
+        @Override
+        public void handle(String[] columns) {
+            entries.put(columns[0], new Entry(Status.valueOf(columns[1]), Long.parseLong(columns[2])));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.tngtech.java.junit.dataprovider.internal.RowHistory.Status;
+
+/**
+ * Internal class to append the outcome of every (exploded) test method, identified by its {@link RowFingerprint}, to a
+ * journal file immediately after it has been run. Depending on the {@link Mode}, the journal of previous runs is used
+ * to only run the test methods which failed before or to resume an interrupted run.
+ * <p>
+ * The journal is enabled by setting the system property {@value #SYSTEM_PROPERTY_FILE} to the path of the journal
+ * file. The {@link Mode} is given by the system property {@value #SYSTEM_PROPERTY_MODE} and defaults to
+ * {@link Mode#RECORD}. Each line contains the fingerprint and the {@link Status} of a single row, separated by a tab.
+ * If a fingerprint occurs multiple times, the last line wins.
+ * <p>
+ * The journal file is flushed after each test class and closed on shutdown of the JVM such that only the outcomes of
+ * the currently running test class may get lost if the JVM is killed.
+ */
+public class RowJournal {
+
+    /**
+     * System property to specify the path of the journal file which enables the journal.
+     */
+    public static final String SYSTEM_PROPERTY_FILE = "junit.dataprovider.journal";
+
+    /**
+     * System property to specify the {@link Mode} of the journal.
+     */
+    public static final String SYSTEM_PROPERTY_MODE = "junit.dataprovider.journal.mode";
+
+    public enum Mode {
+        /**
+         * Runs all test methods and appends their outcome to the journal.
+         */
+        RECORD,
+
+        /**
+         * Only runs test methods which failed in their last recorded run or which are not yet recorded (e.g. new or
+         * changed rows). All other test methods are reported as ignored.
+         */
+        RERUN_FAILED,
+
+        /**
+         * Only runs test methods which are not yet recorded, e.g. because a previous run was interrupted. All other
+         * test methods are reported as ignored.
+         */
+        RESUME,
+    }
+
+    /**
+     * Disabled journal which neither loads nor records anything and runs all test methods.
+     */
+    private static final RowJournal DISABLED = new RowJournal(null, Mode.RECORD);
+
+    private static final RowFiles.Instances<RowJournal> instances = new RowFiles.Instances<RowJournal>();
+
+    private final File file;
+    private final Mode mode;
+    private final Map<String, Status> previousRuns = new HashMap<String, Status>();
+    private Writer writer;
+    private boolean shutdownHookRegistered;
+
+    /**
+     * <p>
+     * This constructor is package private (= visible) for testing.
+     * </p>
+     *
+     * @param file the journal file or {@code null} to disable the journal
+     * @param mode the {@link Mode} of the journal
+     */
+    RowJournal(File file, Mode mode) {
+        this.file = file;
+        this.mode = checkNotNull(mode, "mode must not be null");
+    }
+
+    /**
+     * Returns the shared {@link RowJournal} for the file and mode given by the system properties
+     * {@value #SYSTEM_PROPERTY_FILE} and {@value #SYSTEM_PROPERTY_MODE} or a disabled one if no file is set.
+     *
+     * @return the shared {@link RowJournal} (never {@code null})
+     * @throws IllegalArgumentException iif the mode is not valid
+     */
+    public static RowJournal getInstance() {
+        String mode = System.getProperty(SYSTEM_PROPERTY_MODE);
+        return getInstance(System.getProperty(SYSTEM_PROPERTY_FILE),
+                (mode == null) ? Mode.RECORD : Mode.valueOf(mode.trim().toUpperCase(Locale.ENGLISH)));
+    }
+
+    /**
+     * Returns the shared {@link RowJournal} for the given file, loading the previous runs initially if it exists.
+     *
+     * @param path of the journal file or {@code null} to return a disabled journal
+     * @param mode the {@link Mode} of the journal
+     * @return the shared {@link RowJournal} (never {@code null})
+     * @throws IllegalArgumentException iif the shared {@link RowJournal} for the given file has a different mode
+     */
+    public static RowJournal getInstance(String path, final Mode mode) {
+        final File file = RowFiles.toFile(path);
+        if (file == null) {
+            return DISABLED;
+        }
+        RowJournal result = instances.get(file, new RowFiles.Factory<RowJournal>() {
+            @Override
+            public RowJournal create() {
+                RowJournal result = new RowJournal(file, mode);
+                result.load();
+                return result;
+            }
+        });
+        checkArgument(result.mode == mode, "dataprovider row journal '%s' is already used in mode %s but not %s", file,
+                result.mode, mode);
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * @param fingerprint of the row
+     * @return {@code true} iif the row with the given {@code fingerprint} should not be run according to the previous
+     *         runs and the {@link Mode} of this journal
+     */
+    public boolean shouldSkip(String fingerprint) {
+        Status previous = previousRuns.get(fingerprint);
+        if (previous == null) {
+            return false;
+        }
+        return Mode.RESUME == mode || (Mode.RERUN_FAILED == mode && Status.FAILED != previous);
+    }
+
+    /**
+     * Appends the outcome of the row with the given {@code fingerprint} to the journal file. The journal file is only
+     * written through on {@link #flush()} or {@link #close()}. Does nothing if this journal is disabled.
+     *
+     * @param fingerprint of the row
+     * @param status the outcome of the row
+     */
+    public synchronized void record(String fingerprint, Status status) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = RowFiles.openForAppending(file);
+                registerShutdownHook();
+            }
+            writer.write(fingerprint + RowFiles.SEPARATOR + status + "\n");
+
+        } catch (IOException e) {
+            System.err.println(String.format("Could not append to dataprovider row journal '%s': %s", file,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes all recorded outcomes through to the journal file, e.g. after each test class.
+     */
+    public synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println(String.format("Could not flush dataprovider row journal '%s': %s", file,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes all recorded outcomes through to and closes the journal file. A later {@link #record(String, Status)}
+     * reopens it.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println(String.format("Could not close dataprovider row journal '%s': %s", file,
+                    e.getMessage()));
+        } finally {
+            writer = null;
+        }
+    }
+
+    private void registerShutdownHook() {
+        if (shutdownHookRegistered) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread("dataprovider-row-journal-shutdown") {
+            @Override
+            public void run() {
+                close();
+            }
+        });
+        shutdownHookRegistered = true;
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            RowFiles.read(file, 2, new StatusHandler());
+        } catch (IOException e) {
+            System.err.println(String.format("Ignoring unreadable dataprovider row journal '%s': %s", file,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    void load(Reader reader) throws IOException {
+        RowFiles.read(reader, 2, new StatusHandler());
+    }
+
+    private class StatusHandler implements RowFiles.LineHandler {
+        @Override
+        public void handle(String[] columns) {
+            previousRuns.put(columns[0], Status.valueOf(columns[1]));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Internal class to account the CPU time and allocated bytes of every (exploded) test method using the thread-level
+ * counters of the JVM, if supported. CPU time is taken from {@link ThreadMXBean#getCurrentThreadCpuTime()} and
+ * allocated bytes from {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} which is looked up
+ * reflectively as it is not available on all JVMs.
+ * <p>
+ * The accounting is enabled by setting the system property {@value #SYSTEM_PROPERTY_ENABLED} to {@code true}. The rows
+ * are aggregated per test method and dataprovider. Rows using at least {@value #OUTLIER_FACTOR} times the median of
+ * their group (and significantly more in absolute terms) are reported as outliers together with their name, i.e. their
+ * formatted parameters.
+ */
+public class RowResourceUsage {
+
+    /**
+     * System property to enable accounting the CPU time and allocated bytes of every row.
+     */
+    public static final String SYSTEM_PROPERTY_ENABLED = "junit.dataprovider.resourceUsage";
+
+    /**
+     * Value of any counter which is not supported by the JVM.
+     */
+    public static final long UNSUPPORTED = -1;
+
+    /**
+     * The factor by which the usage of a row must exceed the median of its group to be reported as outlier.
+     */
+    static final int OUTLIER_FACTOR = 3;
+
+    /**
+     * The minimal number of rows of a group for which outliers are reported.
+     */
+    static final int MIN_ROWS_FOR_OUTLIERS = 3;
+
+    /**
+     * The minimal number of bytes a row must allocate more than the median of its group to be reported as outlier.
+     */
+    static final long MIN_OUTLIER_BYTES = 1024 * 1024;
+
+    /**
+     * The minimal CPU time in nanoseconds a row must use more than the median of its group to be reported as outlier.
+     */
+    static final long MIN_OUTLIER_CPU_TIME_NANOS = 10 * 1000 * 1000;
+
+    /**
+     * The values of the thread-level counters at a certain point in time or the difference of two of them,
+     * respectively.
+     */
+    public static class Sample {
+        private final long cpuTimeNanos;
+        private final long allocatedBytes;
+
+        public Sample(long cpuTimeNanos, long allocatedBytes) {
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * @return the CPU time in nanoseconds or {@link RowResourceUsage#UNSUPPORTED}
+         */
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        /**
+         * @return the allocated bytes or {@link RowResourceUsage#UNSUPPORTED}
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @param start the sample taken before this one on the same thread
+         * @return the difference between this and the given {@code start} sample
+         */
+        public Sample minus(Sample start) {
+            return new Sample(difference(cpuTimeNanos, start.cpuTimeNanos),
+                    difference(allocatedBytes, start.allocatedBytes));
+        }
+
+        private static long difference(long end, long start) {
+            return (end == UNSUPPORTED || start == UNSUPPORTED) ? UNSUPPORTED : Math.max(0, end - start);
+        }
+    }
+
+    private static class Row {
+        private final String name;
+        private final Sample usage;
+
+        Row(String name, Sample usage) {
+            this.name = name;
+            this.usage = usage;
+        }
+    }
+
+    private final ThreadMXBean threadMXBean;
+    private final Method getThreadAllocatedBytes;
+
+    private final Map<String, List<Row>> groups = new LinkedHashMap<String, List<Row>>();
+
+    public RowResourceUsage() {
+        this(ManagementFactory.getThreadMXBean());
+    }
+
+    /**
+     * <p>
+     * This constructor is package private (= visible) for testing.
+     * </p>
+     *
+     * @param threadMXBean to read the thread-level counters from
+     */
+    RowResourceUsage(ThreadMXBean threadMXBean) {
+        this.threadMXBean = checkNotNull(threadMXBean, "threadMXBean must not be null");
+        this.getThreadAllocatedBytes = findGetThreadAllocatedBytes(threadMXBean);
+    }
+
+    private static Method findGetThreadAllocatedBytes(ThreadMXBean threadMXBean) {
+        try {
+            Class<?> extendedThreadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (extendedThreadMXBean.isInstance(threadMXBean)) {
+                return extendedThreadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (Exception e) {
+            // not supported by this JVM
+        }
+        return null;
+    }
+
+    /**
+     * @return the current values of the counters of the current thread (never {@code null})
+     */
+    public Sample sample() {
+        long cpuTimeNanos = UNSUPPORTED;
+        if (threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()) {
+            cpuTimeNanos = threadMXBean.getCurrentThreadCpuTime();
+        }
+
+        long allocatedBytes = UNSUPPORTED;
+        if (getThreadAllocatedBytes != null) {
+            try {
+                allocatedBytes = (Long) getThreadAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+            } catch (Exception e) {
+                // not supported by this JVM
+            }
+        }
+        return new Sample(cpuTimeNanos, allocatedBytes);
+    }
+
+    /**
+     * Records the usage of a single row as difference of the given samples.
+     *
+     * @param group of the row, e.g. its test method and dataprovider
+     * @param name of the row containing its formatted parameters
+     * @param start sample taken on the current thread before the row was run
+     * @param end sample taken on the current thread after the row was run
+     */
+    public void record(String group, String name, Sample start, Sample end) {
+        Row row = new Row(name, end.minus(start));
+        synchronized (groups) {
+            List<Row> rows = groups.get(group);
+            if (rows == null) {
+                rows = new ArrayList<Row>();
+                groups.put(group, rows);
+            }
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Returns a human readable report of all recorded rows containing a line with the totals of each group, followed by
+     * a line for each outlier of the group.
+     *
+     * @return the lines of the report (never {@code null})
+     */
+    public List<String> report() {
+        List<String> result = new ArrayList<String>();
+        synchronized (groups) {
+            for (Map.Entry<String, List<Row>> group : groups.entrySet()) {
+                List<Row> rows = group.getValue();
+
+                long[] cpuTimes = new long[rows.size()];
+                long[] allocations = new long[rows.size()];
+                for (int idx = 0; idx < rows.size(); idx++) {
+                    cpuTimes[idx] = rows.get(idx).usage.getCpuTimeNanos();
+                    allocations[idx] = rows.get(idx).usage.getAllocatedBytes();
+                }
+                result.add(String.format(Locale.ENGLISH, "Resource usage of %s: %d rows, %s CPU time, %s allocated",
+                        group.getKey(), rows.size(), formatCpuTime(sum(cpuTimes)), formatBytes(sum(allocations))));
+
+                if (rows.size() >= MIN_ROWS_FOR_OUTLIERS) {
+                    long medianCpuTime = median(cpuTimes);
+                    long medianAllocation = median(allocations);
+                    for (Row row : rows) {
+                        boolean cpuOutlier = isOutlier(row.usage.getCpuTimeNanos(), medianCpuTime,
+                                MIN_OUTLIER_CPU_TIME_NANOS);
+                        boolean allocationOutlier = isOutlier(row.usage.getAllocatedBytes(), medianAllocation,
+                                MIN_OUTLIER_BYTES);
+                        if (cpuOutlier || allocationOutlier) {
+                            result.add(String.format(Locale.ENGLISH,
+                                    "    outlier %s: %s CPU time (median %s), %s allocated (median %s)", row.name,
+                                    formatCpuTime(row.usage.getCpuTimeNanos()), formatCpuTime(medianCpuTime),
+                                    formatBytes(row.usage.getAllocatedBytes()), formatBytes(medianAllocation)));
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isOutlier(long value, long median, long minDifference) {
+        return value != UNSUPPORTED && median != UNSUPPORTED && value - median >= minDifference
+                && value >= OUTLIER_FACTOR * median;
+    }
+
+    private long sum(long[] values) {
+        long result = 0;
+        for (long value : values) {
+            if (value == UNSUPPORTED) {
+                return UNSUPPORTED;
+            }
+            result += value;
+        }
+        return result;
+    }
+
+    private long median(long[] values) {
+        long[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        return (sorted[0] == UNSUPPORTED) ? UNSUPPORTED : sorted[sorted.length / 2];
+    }
+
+    private String formatCpuTime(long nanos) {
+        return (nanos == UNSUPPORTED) ? "n/a" : String.format(Locale.ENGLISH, "%.3f ms", nanos / 1e6);
+    }
+
+    private String formatBytes(long bytes) {
+        return (bytes == UNSUPPORTED) ? "n/a" : String.format(Locale.ENGLISH, "%d bytes", bytes);
+    }
+}
@@ -0,0 +1,169 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.runners.model.FrameworkMethod;
+
+import com.tngtech.java.junit.dataprovider.DataProviderSampling;
+
+/**
+ * Internal class to draw a deterministic random sample of dataprovider rows according to
+ * {@code @}{@link DataProviderSampling} or its system properties.
+ */
+public class RowSampler {
+
+    private static final long SEED_MIXER = 0x9E3779B97F4A7C15L;
+
+    private static Long randomSeed;
+
+    /**
+     * Returns the indices of the rows which should be run for the given {@code testMethod} in ascending order. If
+     * sampling is not configured or the sample would contain all rows, {@code null} is returned instead of all indices
+     * from {@code 0} to {@code rowCount - 1} such that no list has to be created if not sampling.
+     *
+     * @param testMethod the test method for which the rows are sampled
+     * @param rowCount the total number of rows of the dataprovider
+     * @return the sorted indices of the rows to be run or {@code null} if all rows should be run
+     * @throws NullPointerException iif given {@code testMethod} is {@code null}
+     * @throws IllegalArgumentException iif the configured sample is invalid
+     */
+    public List<Integer> sample(FrameworkMethod testMethod, int rowCount) {
+        checkNotNull(testMethod, "testMethod must not be null");
+
+        Method method = testMethod.getMethod();
+        String sample = getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SAMPLE);
+        DataProviderSampling sampling = getSampling(method);
+        if (sample == null && sampling == null) {
+            return null;
+        }
+
+        int sampleSize = (sample != null) ? parseSampleSize(sample, rowCount) : getSampleSize(sampling, rowCount);
+        if (sampleSize >= rowCount) {
+            return null;
+        }
+
+        List<Integer> result = new ArrayList<Integer>(rowCount);
+        for (int idx = 0; idx < rowCount; idx++) {
+            result.add(idx);
+        }
+
+        long seed = getSeed(sampling);
+        Random random = new Random(seed + SEED_MIXER * method.toString().hashCode());
+        for (int idx = 0; idx < sampleSize; idx++) {
+            Collections.swap(result, idx, idx + random.nextInt(rowCount - idx));
+        }
+        result = result.subList(0, sampleSize);
+        Collections.sort(result);
+
+        getOut().println(String.format("Sampled %d of %d rows for '%s.%s' using seed %d (use -D%s=%d to reproduce)",
+                sampleSize, rowCount, method.getDeclaringClass().getSimpleName(), method.getName(), seed,
+                DataProviderSampling.SYSTEM_PROPERTY_SEED, seed));
+        return result;
+    }
+
+    /**
+     * @param testMethod the test method for which the rows would be sampled
+     * @return {@code true} iif sampling is configured for the given {@code testMethod}, i.e. if
+     *         {@link #sample(FrameworkMethod, int)} may drop rows depending on their count
+     * @throws NullPointerException iif given {@code testMethod} is {@code null}
+     */
+    public boolean isSampling(FrameworkMethod testMethod) {
+        checkNotNull(testMethod, "testMethod must not be null");
+        return getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SAMPLE) != null
+                || getSampling(testMethod.getMethod()) != null;
+    }
+
+    private DataProviderSampling getSampling(Method method) {
+        DataProviderSampling result = method.getAnnotation(DataProviderSampling.class);
+        if (result == null) {
+            result = method.getDeclaringClass().getAnnotation(DataProviderSampling.class);
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    int parseSampleSize(String sample, int rowCount) {
+        String value = sample.trim();
+        try {
+            if (value.endsWith("%")) {
+                return toSampleSize(Double.parseDouble(value.substring(0, value.length() - 1)) / 100, rowCount);
+            } else if (value.contains(".")) {
+                return toSampleSize(Double.parseDouble(value), rowCount);
+            }
+            int limit = Integer.parseInt(value);
+            checkArgument(limit > 0, "Sample limit must be greater than zero but was %d", limit);
+            return limit;
+
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Cannot parse sample '%s' of system property '%s'", sample,
+                    DataProviderSampling.SYSTEM_PROPERTY_SAMPLE), e);
+        }
+    }
+
+    private int getSampleSize(DataProviderSampling sampling, int rowCount) {
+        checkArgument(sampling.limit() > 0, "Sample limit must be greater than zero but was %d", sampling.limit());
+        return Math.min(sampling.limit(), toSampleSize(sampling.fraction(), rowCount));
+    }
+
+    private int toSampleSize(double fraction, int rowCount) {
+        checkArgument(fraction > 0 && fraction <= 1, "Sample fraction must be in (0, 1] but was %s", fraction);
+        return Math.max(1, (int) Math.ceil(fraction * rowCount));
+    }
+
+    private long getSeed(DataProviderSampling sampling) {
+        String seed = getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SEED);
+        if (seed != null) {
+            try {
+                return Long.parseLong(seed.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Cannot parse seed '%s' of system property '%s'", seed,
+                        DataProviderSampling.SYSTEM_PROPERTY_SEED), e);
+            }
+        }
+        if (sampling != null && sampling.seed() != DataProviderSampling.RANDOM_SEED) {
+            return sampling.seed();
+        }
+        return getRandomSeed();
+    }
+
+    /**
+     * Returns the random seed shared by all test methods of the current JVM such that a single seed reproduces all
+     * samples of a test run.
+     */
+    private static synchronized long getRandomSeed() {
+        if (randomSeed == null) {
+            randomSeed = new Random().nextLong();
+        }
+        return randomSeed;
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    String getSystemProperty(String key) {
+        return System.getProperty(key);
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    PrintStream getOut() {
+        return System.out;
+    }
+}
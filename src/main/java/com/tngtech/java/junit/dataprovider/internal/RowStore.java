@@ -0,0 +1,188 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Internal class to spill the parameters of (converted) dataprovider rows to a temporary file such that they do not
+ * need to be kept in memory until their test method is run. The file is indexed by the offset of every row, such that
+ * single rows can be read back in arbitrary order.
+ * <p>
+ * Spilling is enabled by setting the system property {@value #SYSTEM_PROPERTY_THRESHOLD} to the number of rows per test
+ * method which are kept in memory; all further rows are spilled if all their parameters are {@link java.io.Serializable}.
+ * The temporary file is deleted by {@link #close()}, e.g. after all test methods of a test class have been run, or at
+ * the latest when the JVM exits.
+ */
+public class RowStore {
+
+    /**
+     * System property to specify the number of rows per test method which are kept in memory before further rows are
+     * spilled to disk.
+     */
+    public static final String SYSTEM_PROPERTY_THRESHOLD = "junit.dataprovider.rowStore.threshold";
+
+    private final ClassLoader classLoader;
+
+    /**
+     * The temporary file or {@code null} if no row has been added yet.
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    File tempFile;
+
+    private RandomAccessFile file;
+    private long[] offsets = new long[16];
+    private int size;
+    private boolean closed;
+
+    /**
+     * @param classLoader to resolve the classes of the parameters when reading them back
+     * @throws NullPointerException iif given {@code classLoader} is {@code null}
+     */
+    public RowStore(ClassLoader classLoader) {
+        this.classLoader = checkNotNull(classLoader, "classLoader must not be null");
+    }
+
+    /**
+     * @return the number of rows per test method which should be kept in memory according to the system property
+     *         {@value #SYSTEM_PROPERTY_THRESHOLD} or {@link Integer#MAX_VALUE} if not set
+     */
+    public static int getThreshold() {
+        return Integer.getInteger(SYSTEM_PROPERTY_THRESHOLD, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Appends the given {@code parameters} to the temporary file of this store.
+     *
+     * @param parameters of a row
+     * @return the index to read the given {@code parameters} back using {@link #get(int)} or {@code -1} if they are not
+     *         serializable
+     * @throws IllegalStateException iif the temporary file cannot be written or this store has already been closed
+     */
+    public synchronized int add(Object[] parameters) {
+        checkNotClosed();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(parameters);
+            out.close();
+        } catch (NotSerializableException e) {
+            return -1;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize dataprovider row: " + e.getMessage(), e);
+        }
+
+        try {
+            if (file == null) {
+                tempFile = File.createTempFile("junit-dataprovider-rows", ".bin");
+                tempFile.deleteOnExit();
+                file = new RandomAccessFile(tempFile, "rw");
+            }
+            if (size + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            file.seek(offsets[size]);
+            file.write(bytes.toByteArray());
+            offsets[size + 1] = offsets[size] + bytes.size();
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not spill dataprovider row to disk: " + e.getMessage(), e);
+        }
+        return size++;
+    }
+
+    /**
+     * @param index of the row as returned by {@link #add(Object[])}
+     * @return the parameters of the row with the given {@code index} (which are new instances equal to the added ones)
+     * @throws IllegalArgumentException iif there is no row with the given {@code index}
+     * @throws IllegalStateException iif the row cannot be read back or this store has already been closed
+     */
+    public synchronized Object[] get(int index) {
+        checkNotClosed();
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException(String.format("No row with index %d in row store of size %d", index,
+                    size));
+        }
+        try {
+            byte[] bytes = new byte[(int) (offsets[index + 1] - offsets[index])];
+            file.seek(offsets[index]);
+            file.readFully(bytes);
+
+            ObjectInputStream in = new ClassLoaderObjectInputStream(new ByteArrayInputStream(bytes), classLoader);
+            try {
+                return (Object[]) in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format("Could not read dataprovider row %d from disk: %s", index,
+                    e.getMessage()), e);
+        }
+    }
+
+    /**
+     * @return the number of rows in this store
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Closes and deletes the temporary file of this store. Rows can neither be added nor read back afterwards. Does
+     * nothing if this store has already been closed.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // ignore as the file is deleted anyway
+            }
+            file = null;
+        }
+        if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+            System.err.println(String.format("Could not delete dataprovider row store file '%s'", tempFile));
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Dataprovider row store has already been closed");
+        }
+    }
+
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        ClassLoaderObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
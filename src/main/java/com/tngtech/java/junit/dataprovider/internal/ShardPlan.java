@@ -0,0 +1,304 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Internal class to split the (exploded) test methods of all test classes into a fixed number of shards, e.g. to run
+ * them on multiple CI nodes, such that the expected duration of all shards is balanced.
+ * <p>
+ * A plan is created by {@link #main(String[])} from the durations recorded in a {@link RowHistory} file of a previous
+ * run. Every row is assigned to a shard using the longest-processing-time-first heuristic, i.e. rows are assigned in
+ * order of decreasing duration to the shard with the least total duration so far. Rows which are not contained in the
+ * plan, e.g. new ones, are assigned by the hash code of their {@link RowFingerprint}.
+ * <p>
+ * The plan is used by setting the system property {@value #SYSTEM_PROPERTY_FILE} to the path of the plan file and
+ * {@value #SYSTEM_PROPERTY_SHARD} to the index of the shard to be run. The first line of the file contains the number
+ * of shards, every further line the fingerprint and shard index of a single row, separated by a tab.
+ */
+public class ShardPlan {
+
+    /**
+     * System property to specify the path of the plan file which enables running only the rows of a single shard.
+     */
+    public static final String SYSTEM_PROPERTY_FILE = "junit.dataprovider.shardPlan";
+
+    /**
+     * System property to specify the index of the shard to be run, starting with {@code 0}.
+     */
+    public static final String SYSTEM_PROPERTY_SHARD = "junit.dataprovider.shard";
+
+    private static final String SEPARATOR = RowFiles.SEPARATOR;
+
+    /**
+     * Disabled plan which assigns every row to the single shard {@code 0}.
+     */
+    private static final ShardPlan DISABLED = new ShardPlan(1, new HashMap<String, Integer>(), false);
+
+    private static final RowFiles.Instances<ShardPlan> instances = new RowFiles.Instances<ShardPlan>();
+
+    private final int shardCount;
+    private final Map<String, Integer> shards;
+    private final boolean enabled;
+
+    /**
+     * <p>
+     * This constructor is package private (= visible) for testing.
+     * </p>
+     *
+     * @param shardCount the number of shards
+     * @param shards the index of the shard of each row by its fingerprint
+     * @param enabled whether this plan should be used to select rows
+     */
+    ShardPlan(int shardCount, Map<String, Integer> shards, boolean enabled) {
+        checkArgument(shardCount > 0, "shardCount must be positive but was %d", shardCount);
+        this.shardCount = shardCount;
+        this.shards = checkNotNull(shards, "shards must not be null");
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the shared {@link ShardPlan} for the file given by the system property {@value #SYSTEM_PROPERTY_FILE} or
+     * a disabled one if it is not set.
+     *
+     * @return the shared {@link ShardPlan} (never {@code null})
+     * @throws IllegalStateException iif the plan file cannot be read
+     */
+    public static ShardPlan getInstance() {
+        return getInstance(System.getProperty(SYSTEM_PROPERTY_FILE));
+    }
+
+    /**
+     * Returns the shared {@link ShardPlan} for the given file, loading it initially.
+     *
+     * @param path of the plan file or {@code null} to return a disabled plan
+     * @return the shared {@link ShardPlan} (never {@code null})
+     * @throws IllegalStateException iif the plan file cannot be read
+     */
+    public static ShardPlan getInstance(String path) {
+        final File file = RowFiles.toFile(path);
+        if (file == null) {
+            return DISABLED;
+        }
+        return instances.get(file, new RowFiles.Factory<ShardPlan>() {
+            @Override
+            public ShardPlan create() {
+                try {
+                    return load(file);
+                } catch (IOException e) {
+                    throw new IllegalStateException(String.format("Could not read dataprovider shard plan file '%s': %s",
+                            file, e.getMessage()), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a plan assigning the rows with the given durations to {@code shardCount} shards using the
+     * longest-processing-time-first heuristic. Rows with equal durations are assigned in order of their fingerprints,
+     * such that the plan is deterministic.
+     *
+     * @param durations the expected duration of each row by its fingerprint, e.g. in microseconds
+     * @param shardCount the number of shards
+     * @return the created plan (never {@code null})
+     * @throws NullPointerException iif given {@code durations} is {@code null}
+     * @throws IllegalArgumentException iif given {@code shardCount} is not positive
+     */
+    public static ShardPlan plan(final Map<String, Long> durations, int shardCount) {
+        checkNotNull(durations, "durations must not be null");
+        checkArgument(shardCount > 0, "shardCount must be positive but was %d", shardCount);
+
+        List<String> fingerprints = new ArrayList<String>(durations.keySet());
+        Collections.sort(fingerprints, new Comparator<String>() {
+            @Override
+            public int compare(String fingerprint1, String fingerprint2) {
+                long duration1 = durations.get(fingerprint1);
+                long duration2 = durations.get(fingerprint2);
+                if (duration1 != duration2) {
+                    return (duration1 > duration2) ? -1 : 1;
+                }
+                return fingerprint1.compareTo(fingerprint2);
+            }
+        });
+
+        // each element is the total duration and index of a shard
+        PriorityQueue<long[]> loads = new PriorityQueue<long[]>(shardCount, new Comparator<long[]>() {
+            @Override
+            public int compare(long[] load1, long[] load2) {
+                if (load1[0] != load2[0]) {
+                    return (load1[0] < load2[0]) ? -1 : 1;
+                }
+                return (load1[1] < load2[1]) ? -1 : ((load1[1] > load2[1]) ? 1 : 0);
+            }
+        });
+        for (int shard = 0; shard < shardCount; shard++) {
+            loads.add(new long[] { 0, shard });
+        }
+
+        Map<String, Integer> shards = new HashMap<String, Integer>();
+        for (String fingerprint : fingerprints) {
+            long[] load = loads.poll();
+            shards.put(fingerprint, (int) load[1]);
+            load[0] += durations.get(fingerprint);
+            loads.add(load);
+        }
+        return new ShardPlan(shardCount, shards, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return the index of the shard to be run given by the system property {@value #SYSTEM_PROPERTY_SHARD} or
+     *         {@code 0} if this plan is disabled
+     * @throws IllegalStateException iif this plan is enabled but the system property is not set to a valid shard index
+     */
+    public int getSelectedShard() {
+        if (!enabled) {
+            return 0;
+        }
+        Integer result = Integer.getInteger(SYSTEM_PROPERTY_SHARD);
+        if (result == null || result < 0 || result >= shardCount) {
+            throw new IllegalStateException(String.format(
+                    "System property '%s' must be set to a shard index between 0 and %d if '%s' is set but was %s",
+                    SYSTEM_PROPERTY_SHARD, shardCount - 1, SYSTEM_PROPERTY_FILE, System.getProperty(SYSTEM_PROPERTY_SHARD)));
+        }
+        return result;
+    }
+
+    /**
+     * @param fingerprint of the row
+     * @return the index of the shard the row with the given {@code fingerprint} is assigned to, either by this plan or
+     *         by its hash code if it is not contained in the plan
+     */
+    public int getShard(String fingerprint) {
+        Integer result = shards.get(fingerprint);
+        if (result == null) {
+            result = (fingerprint.hashCode() & Integer.MAX_VALUE) % shardCount;
+        }
+        return result;
+    }
+
+    /**
+     * Writes this plan to the given {@code writer}.
+     *
+     * @param writer to write this plan to
+     * @throws IOException if the plan cannot be written
+     */
+    public void save(Writer writer) throws IOException {
+        for (String line : toLines()) {
+            writer.write(line + "\n");
+        }
+        writer.flush();
+    }
+
+    private List<String> toLines() {
+        List<String> result = new ArrayList<String>(shards.size() + 1);
+        result.add(String.valueOf(shardCount));
+        for (Map.Entry<String, Integer> entry : shards.entrySet()) {
+            result.add(entry.getKey() + SEPARATOR + entry.getValue());
+        }
+        return result;
+    }
+
+    private static ShardPlan load(File file) throws IOException {
+        Reader reader = RowFiles.openForReading(file);
+        try {
+            return load(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    static ShardPlan load(Reader reader) throws IOException {
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line = bufferedReader.readLine();
+        int shardCount;
+        try {
+            shardCount = (line == null) ? 0 : Integer.parseInt(line.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("First line must contain the number of shards but was: " + line);
+        }
+        if (shardCount <= 0) {
+            throw new IOException("Number of shards must be positive but was: " + line);
+        }
+
+        final int count = shardCount;
+        final Map<String, Integer> shards = new HashMap<String, Integer>();
+        RowFiles.read(bufferedReader, 2, new RowFiles.LineHandler() {
+            @Override
+            public void handle(String[] columns) {
+                int shard = Integer.parseInt(columns[1]);
+                if (shard >= 0 && shard < count) {
+                    shards.put(columns[0], shard);
+                }
+            }
+        });
+        return new ShardPlan(shardCount, shards, true);
+    }
+
+    /**
+     * Creates a plan from the durations of a {@link RowHistory} file and writes it to a plan file.
+     * <p>
+     * Usage: {@code ShardPlan <history file> <number of shards> <plan file>}
+     *
+     * @param args the history file, the number of shards and the plan file
+     * @throws IOException if the plan file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        main(args, System.out, System.err);
+    }
+
+    /**
+     * Creates the plan like {@link #main(String[])} but prints the load of every shard and the usage to the given
+     * streams.
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    static void main(String[] args, PrintStream out, PrintStream err) throws IOException {
+        if (args.length != 3) {
+            err.println("Usage: " + ShardPlan.class.getName() + " <history file> <number of shards> <plan file>");
+            return;
+        }
+        Map<String, Long> durations = new HashMap<String, Long>();
+        for (Map.Entry<String, RowHistory.Entry> entry : RowHistory.getInstance(args[0]).getEntries().entrySet()) {
+            durations.put(entry.getKey(), entry.getValue().getDurationMicros());
+        }
+        ShardPlan plan = plan(durations, Integer.parseInt(args[1]));
+
+        RowFiles.replace(new File(args[2]), plan.toLines());
+
+        long[] loads = new long[plan.getShardCount()];
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            loads[plan.getShard(entry.getKey())] += entry.getValue();
+        }
+        for (int shard = 0; shard < loads.length; shard++) {
+            out.println(String.format("Shard %d: %d ms", shard, loads[shard] / 1000));
+        }
+    }
+}
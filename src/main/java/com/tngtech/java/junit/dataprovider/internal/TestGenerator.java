@@ -1,24 +1,58 @@
 package com.tngtech.java.junit.dataprovider.internal;
 
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
 import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkNotNull;
 
+import java.io.PrintStream;
 import java.lang.reflect.Method;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.junit.runners.model.FrameworkMethod;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderBatch;
+import com.tngtech.java.junit.dataprovider.DataProviderBatchFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.DataProviderContext;
 import com.tngtech.java.junit.dataprovider.DataProviderFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.LazyDataProviderFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.SharedResource;
+import com.tngtech.java.junit.dataprovider.SpilledDataProviderFrameworkMethod;
 
 public class TestGenerator {
 
     private final DataConverter dataConverter;
+    private RowSampler rowSampler;
+    private ShardPlan shardPlan;
+    private Class<?> testClass;
+
+    /**
+     * Results of dataprovider methods which have been started early, see
+     * {@link #startAsyncDataProviderMethod(FrameworkMethod, FrameworkMethod)}.
+     */
+    private final Map<List<FrameworkMethod>, StartedDataProviderMethod> startedDataProviderMethods = Collections
+            .synchronizedMap(new HashMap<List<FrameworkMethod>, StartedDataProviderMethod>());
+
+    /**
+     * All {@link RowStore}s created by this generator which are closed by {@link #closeRowStores()}.
+     */
+    private final List<RowStore> rowStores = Collections.synchronizedList(new ArrayList<RowStore>());
 
     public TestGenerator(DataConverter dataConverter) {
         this.dataConverter = checkNotNull(dataConverter, "dataConverter must not be null");
+        this.rowSampler = new RowSampler();
+        this.shardPlan = ShardPlan.getInstance(null);
     }
 
     /**
@@ -61,6 +95,34 @@ public class TestGenerator {
         return Arrays.asList(testMethod);
     }
 
+    /**
+     * Invokes the given dataprovider method for the given test method right away if it returns a {@link Future}, such
+     * that its (asynchronous) computation overlaps with other work until
+     * {@link #generateExplodedTestMethodsFor(FrameworkMethod, FrameworkMethod)} is called for the same methods. Does
+     * nothing for any other dataprovider method. Exceptions thrown by the dataprovider method are deferred until then.
+     *
+     * @param testMethod the original test method
+     * @param dataProviderMethod the corresponding dataprovider method
+     * @throws NullPointerException iif given {@code testMethod} or {@code dataProviderMethod} is {@code null}
+     */
+    public void startAsyncDataProviderMethod(FrameworkMethod testMethod, FrameworkMethod dataProviderMethod) {
+        checkNotNull(testMethod, "testMethod must not be null");
+        checkNotNull(dataProviderMethod, "dataProviderMethod must not be null");
+
+        if (!Future.class.isAssignableFrom(dataProviderMethod.getMethod().getReturnType())) {
+            return;
+        }
+        DataProviderContext context = createContext(testMethod);
+        StartedDataProviderMethod started;
+        try {
+            started = new StartedDataProviderMethod((Future<?>) invokeDataProviderMethod(testMethod, dataProviderMethod,
+                    context), null, context);
+        } catch (Throwable t) {
+            started = new StartedDataProviderMethod(null, t, context);
+        }
+        startedDataProviderMethods.put(Arrays.asList(testMethod, dataProviderMethod), started);
+    }
+
     /**
      * Creates a list of test methods out of an existing test method and its dataprovider method.
      * <p>
@@ -73,19 +135,63 @@ public class TestGenerator {
      */
     List<FrameworkMethod> explodeTestMethod(FrameworkMethod testMethod, FrameworkMethod dataProviderMethod) {
         Object data;
+        DataProviderContext context;
         try {
-            Class<?>[] parameterTypes = dataProviderMethod.getMethod().getParameterTypes();
-            if (parameterTypes.length > 0) {
-                data = dataProviderMethod.invokeExplosively(null, testMethod);
+            StartedDataProviderMethod started = startedDataProviderMethods.remove(Arrays.asList(testMethod,
+                    dataProviderMethod));
+            if (started != null) {
+                if (started.failure != null) {
+                    throw started.failure;
+                }
+                data = started.result;
+                context = started.context;
             } else {
-                data = dataProviderMethod.invokeExplosively(null);
+                context = createContext(testMethod);
+                data = invokeDataProviderMethod(testMethod, dataProviderMethod, context);
+            }
+            if (data instanceof Future) {
+                data = getResult((Future<?>) data);
             }
         } catch (Throwable t) {
             throw new IllegalArgumentException(String.format("Exception while invoking dataprovider method '%s': %s",
                     dataProviderMethod.getName(), t.getMessage()), t);
         }
 
-        return explodeTestMethod(testMethod, data, dataProviderMethod.getAnnotation(DataProvider.class));
+        return explodeTestMethod(testMethod, data, dataProviderMethod.getName(),
+                dataProviderMethod.getAnnotation(DataProvider.class), context.getSelectedRows(),
+                ResourceKeys.getSharedResources(testMethod, dataProviderMethod));
+    }
+
+    private DataProviderContext createContext(final FrameworkMethod testMethod) {
+        return new DataProviderContext(testMethod) {
+            @Override
+            protected List<Integer> sample(int rowCount) {
+                return rowSampler.sample(testMethod, rowCount);
+            }
+        };
+    }
+
+    private Object invokeDataProviderMethod(FrameworkMethod testMethod, FrameworkMethod dataProviderMethod,
+            DataProviderContext context) throws Throwable {
+        Class<?>[] parameterTypes = dataProviderMethod.getMethod().getParameterTypes();
+        if (parameterTypes.length > 0 && DataProviderContext.class.equals(parameterTypes[0])) {
+            return dataProviderMethod.invokeExplosively(null, context);
+        }
+        if (parameterTypes.length > 0) {
+            return dataProviderMethod.invokeExplosively(null, testMethod);
+        }
+        return dataProviderMethod.invokeExplosively(null);
+    }
+
+    private Object getResult(Future<?> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            throw (e.getCause() == null) ? e : e.getCause();
+        }
     }
 
     /**
@@ -99,22 +205,416 @@ public class TestGenerator {
      * @return a list of methods, each method bound to a parameter combination returned by the {@link DataProvider}
      */
     List<FrameworkMethod> explodeTestMethod(FrameworkMethod testMethod, DataProvider dataProvider) {
-        return explodeTestMethod(testMethod, dataProvider.value(), dataProvider);
+        return explodeTestMethod(testMethod, dataProvider.value(), null, dataProvider, null,
+                ResourceKeys.getSharedResources(testMethod, null));
     }
 
-    private List<FrameworkMethod> explodeTestMethod(FrameworkMethod testMethod, Object data, DataProvider dataProvider) {
+    private List<FrameworkMethod> explodeTestMethod(FrameworkMethod testMethod, Object data, String dataProviderName,
+            DataProvider dataProvider, List<Integer> selectedRows, List<SharedResource> sharedResources) {
         Method method = testMethod.getMethod();
-        List<Object[]> converted = dataConverter.convert(data, method.isVarArgs(), method.getParameterTypes(),
-                dataProvider);
+        // parameter keys of shared resources are determined while exploding which requires the converted rows
+        boolean convertLazily = dataProvider.convertLazily() && data instanceof String[]
+                && !ResourceKeys.hasParameterKeys(sharedResources);
+
+        int threshold = RowStore.getThreshold();
+        SpillingRows spillingRows = null;
+
+        // rows selected by the dataprovider itself have already been sampled and retain their selected indices
+        boolean sampled = (selectedRows != null);
+        List<Integer> sample = null;
+
+        List<Object[]> converted;
+        if (convertLazily) {
+            dataConverter.checkParameterCount((String[]) data, method.isVarArgs(), method.getParameterTypes(),
+                    dataProvider);
+            converted = new ArrayList<Object[]>();
+            for (String row : (String[]) data) {
+                converted.add(new Object[] { row });
+            }
+        } else if (threshold < Integer.MAX_VALUE && !dataProvider.removeDuplicates()) {
+            // draw the sample before converting if the row count is known such that only rows to be run are spilled
+            int knownRowCount = getRowCount(data);
+            if (!sampled && knownRowCount >= 0) {
+                sample = rowSampler.sample(testMethod, knownRowCount);
+                sampled = true;
+            }
+            // spill while converting such that the converted rows beyond the threshold are never kept in memory
+            spillingRows = new SpillingRows(method, dataProvider.format(), selectedRows, threshold, sharedResources,
+                    sample, !sampled && rowSampler.isSampling(testMethod), getShardTestClass(testMethod));
+            converted = spillingRows;
+            dataConverter.convert(data, method.isVarArgs(), method.getParameterTypes(), dataProvider, converted);
+        } else {
+            converted = dataConverter.convert(data, method.isVarArgs(), method.getParameterTypes(), dataProvider);
+        }
         if (converted.isEmpty()) {
             throw new IllegalArgumentException("Could not create test methods using probably 'null' or 'empty' dataprovider");
         }
+        if (selectedRows != null && selectedRows.size() != converted.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Dataprovider returned %d rows but %d rows have been selected using its %s", converted.size(),
+                    selectedRows.size(), DataProviderContext.class.getSimpleName()));
+        }
+
+        // row indices are only materialized if removing duplicates or sampling, i.e. "null" means all rows
+        List<Integer> rowIndices = null;
+        if (dataProvider.removeDuplicates()) {
+            rowIndices = removeDuplicates(converted);
+            if (rowIndices.size() < converted.size()) {
+                getOut().println(String.format("Removed %d duplicate rows of '%s.%s'", converted.size() - rowIndices.size(),
+                        method.getDeclaringClass().getSimpleName(), method.getName()));
+            }
+        }
+        int rowCount = (rowIndices == null) ? converted.size() : rowIndices.size();
+
+        RowStore rowStore = null;
+
+        if (!sampled) {
+            sample = rowSampler.sample(testMethod, rowCount);
+        }
+        int sampleSize = (sample == null) ? rowCount : sample.size();
+
+        List<DataProviderFrameworkMethod> rows = new ArrayList<DataProviderFrameworkMethod>(sampleSize);
+        for (int count = 0; count < sampleSize; count++) {
+            int sampleIdx = (sample == null) ? count : sample.get(count);
+            int idx = (rowIndices == null) ? sampleIdx : rowIndices.get(sampleIdx);
+            int rowIdx = (selectedRows == null) ? idx : selectedRows.get(idx);
+            if (convertLazily) {
+                rows.add(withResourceKeys(new LazyDataProviderFrameworkMethod(method, rowIdx,
+                        (String) converted.get(idx)[0], dataProvider.format(), dataConverter, dataProvider),
+                        sharedResources, null));
+                continue;
+            }
+
+            if (spillingRows != null) {
+                if (spillingRows.isDropped(idx)) {
+                    continue;
+                }
+                DataProviderFrameworkMethod spilledRow = spillingRows.getSpilledRow(idx, rowIdx);
+                rows.add((spilledRow != null) ? spilledRow : withResourceKeys(new DataProviderFrameworkMethod(method,
+                        rowIdx, converted.get(idx), dataProvider.format()), sharedResources, converted.get(idx)));
+                continue;
+            }
+
+            // duplicates can only be removed after converting all rows, so spill remaining rows afterwards
+            int rowStoreIdx = -1;
+            if (rows.size() >= threshold) {
+                if (rowStore == null) {
+                    rowStore = createRowStore(method);
+                }
+                rowStoreIdx = rowStore.add(converted.get(idx));
+            }
+            if (rowStoreIdx >= 0) {
+                rows.add(withResourceKeys(new SpilledDataProviderFrameworkMethod(method, rowIdx, converted.get(idx),
+                        dataProvider.format(), rowStore, rowStoreIdx), sharedResources, converted.get(idx)));
+                converted.set(idx, null); // allow garbage collection of spilled row while exploding further rows
+            } else {
+                rows.add(withResourceKeys(new DataProviderFrameworkMethod(method, rowIdx, converted.get(idx),
+                        dataProvider.format()), sharedResources, converted.get(idx)));
+            }
+        }
+
+        DataProviderBatch batch = testMethod.getAnnotation(DataProviderBatch.class);
+        if (batch != null) {
+            return createBatches(method, dataProviderName, rows, batch.size());
+        }
+        return new ArrayList<FrameworkMethod>(rows);
+    }
+
+    /**
+     * @return the number of rows of the given (not yet converted) {@code data} or {@code -1} if it cannot be determined
+     *         without iterating it
+     */
+    private int getRowCount(Object data) {
+        if (data instanceof Object[]) {
+            return ((Object[]) data).length;
+        }
+        if (data instanceof Collection) {
+            return ((Collection<?>) data).size();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the test class for which the rows of the given {@code testMethod} can be assigned to the selected shard
+     *         while converting or {@code null} if they are only selected by the runner after exploding, e.g. because
+     *         the rows are batched
+     */
+    private Class<?> getShardTestClass(FrameworkMethod testMethod) {
+        if (testClass == null || !shardPlan.isEnabled() || testMethod.getAnnotation(DataProviderBatch.class) != null) {
+            return null;
+        }
+        return testClass;
+    }
+
+    /**
+     * Determines the keys of the resources shared by the given {@code row} while its {@code parameters} are still
+     * available, i.e. before it is spilled or its parameters are released.
+     *
+     * @param parameters of the row or {@code null} if it has not been converted yet
+     */
+    private <T extends DataProviderFrameworkMethod> T withResourceKeys(T row, List<SharedResource> sharedResources,
+            Object[] parameters) {
+        row.setResourceKeys(ResourceKeys.of(sharedResources, row.getMethod(), parameters));
+        return row;
+    }
+
+    /**
+     * Closes all {@link RowStore}s created by this generator, deleting their temporary files. Spilled rows cannot be
+     * invoked anymore afterwards.
+     */
+    public void closeRowStores() {
+        synchronized (rowStores) {
+            for (RowStore rowStore : rowStores) {
+                rowStore.close();
+            }
+            rowStores.clear();
+        }
+    }
+
+    private RowStore createRowStore(Method method) {
+        RowStore result = new RowStore(method.getDeclaringClass().getClassLoader());
+        rowStores.add(result);
+        return result;
+    }
+
+    /**
+     * Splits the given {@code rows} into consecutive batches of at most {@code batchSize} rows.
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     *
+     * @param method the test method
+     * @param dataProviderName the name of the dataprovider method of the rows or {@code null} if the
+     *            {@code @}{@link DataProvider} is used on the test method itself
+     * @param rows the rows to be split
+     * @param batchSize the maximum number of rows per batch
+     * @return a list of methods, each method bound to a batch of rows
+     * @throws IllegalArgumentException iif {@code batchSize} is not greater than zero
+     */
+    List<FrameworkMethod> createBatches(Method method, String dataProviderName, List<DataProviderFrameworkMethod> rows,
+            int batchSize) {
+        checkArgument(batchSize > 0, "Batch size must be greater than zero but was %d", batchSize);
 
-        int idx = 0;
         List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
-        for (Object[] parameters : converted) {
-            result.add(new DataProviderFrameworkMethod(method, idx++, parameters, dataProvider.format()));
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<DataProviderFrameworkMethod> batchRows = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            result.add(new DataProviderBatchFrameworkMethod(method, dataProviderName, result.size(), batchRows));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indices of all rows of {@code converted} whose parameters are not (deeply) equal to the parameters
+     * of a previous row.
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     *
+     * @param converted the converted rows
+     * @return the indices of the first occurrence of each distinct row in ascending order
+     */
+    List<Integer> removeDuplicates(List<Object[]> converted) {
+        Set<Row> distinctRows = new HashSet<Row>();
+        List<Integer> result = new ArrayList<Integer>();
+        for (int idx = 0; idx < converted.size(); idx++) {
+            if (distinctRows.add(new Row(converted.get(idx)))) {
+                result.add(idx);
+            }
         }
         return result;
     }
+
+    /**
+     * <p>
+     * This method is package private (= visible) for testing.
+     * </p>
+     */
+    PrintStream getOut() {
+        return System.out;
+    }
+
+    public void setRowSampler(RowSampler rowSampler) {
+        this.rowSampler = checkNotNull(rowSampler, "rowSampler must not be null");
+    }
+
+    public void setShardPlan(ShardPlan shardPlan) {
+        this.shardPlan = checkNotNull(shardPlan, "shardPlan must not be null");
+    }
+
+    /**
+     * @param testClass the class of the tests to be run (which may be a subclass of the declaring classes of the test
+     *            methods), required to assign spilled rows to shards while converting (see {@link RowFingerprint})
+     */
+    public void setTestClass(Class<?> testClass) {
+        this.testClass = testClass;
+    }
+
+    /**
+     * Result or failure and {@link DataProviderContext} of a dataprovider method started by
+     * {@link TestGenerator#startAsyncDataProviderMethod(FrameworkMethod, FrameworkMethod)}.
+     */
+    private static class StartedDataProviderMethod {
+        private final Future<?> result;
+        private final Throwable failure;
+        private final DataProviderContext context;
+
+        StartedDataProviderMethod(Future<?> result, Throwable failure, DataProviderContext context) {
+            this.result = result;
+            this.failure = failure;
+            this.context = context;
+        }
+    }
+
+    /**
+     * Converted rows which spills every row to be run beyond the threshold to a {@link RowStore} as soon as it is added,
+     * i.e. while the remaining rows are still being converted. Rows which are not part of the sample drawn before
+     * converting or not assigned to the selected shard are dropped right away, i.e. neither kept nor spilled;
+     * {@link #get(int)} returns {@code null} for them as well as for spilled rows.
+     * <p>
+     * Spilled rows are kept as {@link SpilledDataProviderFrameworkMethod} whose name has been formatted while spilling.
+     * Only if the sample cannot be drawn before converting, just the position within the {@link RowStore} is kept and
+     * the {@link SpilledDataProviderFrameworkMethod} is created when needed, such that none is created for rows dropped
+     * by the sample afterwards.
+     */
+    private class SpillingRows extends AbstractList<Object[]> {
+        private final Method method;
+        private final String nameFormat;
+        private final List<Integer> selectedRows;
+        private final int threshold;
+        private final List<SharedResource> sharedResources;
+        private final List<Integer> sample;
+        private final boolean createSpilledRowsLazily;
+        private final Class<?> shardTestClass;
+
+        private final List<Object[]> rows = new ArrayList<Object[]>();
+        private final BitSet droppedRows = new BitSet();
+        private final Map<Integer, SpilledDataProviderFrameworkMethod> spilledRows =
+                new HashMap<Integer, SpilledDataProviderFrameworkMethod>();
+        private final Map<Integer, Integer> spilledRowStoreIndices = new HashMap<Integer, Integer>();
+        private RowStore rowStore;
+        private int sampleIdx;
+        private int keptRows;
+
+        /**
+         * @param sample the sorted indices of the rows to be kept or {@code null} if all rows should be kept
+         * @param createSpilledRowsLazily {@code true} iif spilled rows may still be dropped after converting
+         * @param shardTestClass the test class to assign the rows to shards or {@code null} if all rows should be kept
+         */
+        SpillingRows(Method method, String nameFormat, List<Integer> selectedRows, int threshold,
+                List<SharedResource> sharedResources, List<Integer> sample, boolean createSpilledRowsLazily,
+                Class<?> shardTestClass) {
+            this.method = method;
+            this.nameFormat = nameFormat;
+            this.selectedRows = selectedRows;
+            this.threshold = threshold;
+            this.sharedResources = sharedResources;
+            this.sample = sample;
+            this.createSpilledRowsLazily = createSpilledRowsLazily;
+            this.shardTestClass = shardTestClass;
+        }
+
+        @Override
+        public boolean add(Object[] row) {
+            int idx = rows.size();
+            if (!isSampled(idx) || !isInSelectedShard(row)) {
+                droppedRows.set(idx);
+                return rows.add(null);
+            }
+            if (keptRows++ >= threshold) {
+                if (rowStore == null) {
+                    rowStore = createRowStore(method);
+                }
+                int rowStoreIdx = rowStore.add(row);
+                if (rowStoreIdx >= 0) {
+                    if (createSpilledRowsLazily) {
+                        spilledRowStoreIndices.put(idx, rowStoreIdx);
+                    } else {
+                        // too many selected rows are reported after converting all rows
+                        int rowIdx = (selectedRows == null || idx >= selectedRows.size()) ? idx : selectedRows.get(idx);
+                        spilledRows.put(idx, createSpilledRow(rowIdx, row, rowStoreIdx));
+                    }
+                    return rows.add(null);
+                }
+            }
+            return rows.add(row);
+        }
+
+        private boolean isSampled(int idx) {
+            if (sample == null) {
+                return true;
+            }
+            while (sampleIdx < sample.size() && sample.get(sampleIdx) < idx) {
+                sampleIdx++;
+            }
+            return sampleIdx < sample.size() && sample.get(sampleIdx) == idx;
+        }
+
+        private boolean isInSelectedShard(Object[] row) {
+            if (shardTestClass == null) {
+                return true;
+            }
+            String fingerprint = RowFingerprint.of(shardTestClass, method, RowFingerprint.hashParameters(row));
+            return shardPlan.getShard(fingerprint) == shardPlan.getSelectedShard();
+        }
+
+        private SpilledDataProviderFrameworkMethod createSpilledRow(int rowIdx, Object[] row, int rowStoreIdx) {
+            return withResourceKeys(new SpilledDataProviderFrameworkMethod(method, rowIdx, row, nameFormat, rowStore,
+                    rowStoreIdx), sharedResources, row);
+        }
+
+        @Override
+        public Object[] get(int index) {
+            return rows.get(index);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+
+        boolean isDropped(int idx) {
+            return droppedRows.get(idx);
+        }
+
+        /**
+         * @return the spilled row with the given index or {@code null} if it has not been spilled
+         */
+        SpilledDataProviderFrameworkMethod getSpilledRow(int idx, int rowIdx) {
+            Integer rowStoreIdx = spilledRowStoreIndices.get(idx);
+            if (rowStoreIdx != null) {
+                return createSpilledRow(rowIdx, rowStore.get(rowStoreIdx), rowStoreIdx);
+            }
+            return spilledRows.get(idx);
+        }
+    }
+
+    /**
+     * Wrapper of the parameters of a single row comparing and hashing them deeply.
+     */
+    private static class Row {
+        private final Object[] parameters;
+        private final int hashCode;
+
+        Row(Object[] parameters) {
+            this.parameters = parameters;
+            this.hashCode = Arrays.deepHashCode(parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Row)) {
+                return false;
+            }
+            Row other = (Row) obj;
+            return hashCode == other.hashCode && Arrays.deepEquals(parameters, other.parameters);
+        }
+    }
 }
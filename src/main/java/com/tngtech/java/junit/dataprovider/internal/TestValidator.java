@@ -10,6 +10,7 @@ import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderContext;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
 
 public class TestValidator {
@@ -88,13 +89,14 @@ public class TestValidator {
             errors.add(new Exception(messageBasePart + " be static"));
         }
         if (method.getParameterTypes().length != 0
-                && (method.getParameterTypes().length != 1 || !method.getParameterTypes()[0]
-                        .equals(FrameworkMethod.class))) {
-            errors.add(new Exception(messageBasePart + " either have a single FrameworkMethod parameter or none"));
+                && (method.getParameterTypes().length != 1 || (!method.getParameterTypes()[0].equals(
+                        FrameworkMethod.class) && !method.getParameterTypes()[0].equals(DataProviderContext.class)))) {
+            errors.add(new Exception(messageBasePart
+                    + " either have a single FrameworkMethod or DataProviderContext parameter or none"));
         }
         if (!dataConverter.canConvert(method.getGenericReturnType())) {
             errors.add(new Exception(messageBasePart
-                    + " either return Object[][], Object[], String[], Iterable<Iterable<?>>, or Iterable<?>, whereby any subtype of Iterable as well as an arbitrary inner type are also accepted"));
+                    + " either return Object[][], Object[], String[], Iterable<Iterable<?>>, or Iterable<?>, or a Future of any of these, whereby any subtype of Iterable or Future as well as an arbitrary inner type are also accepted"));
         }
         if (dataProvider.value().length > 0) {
             errors.add(new Exception(messageBasePart + " not define @DataProvider.value()"));
@@ -4,6 +4,11 @@ import static com.tngtech.java.junit.dataprovider.DataProvider.NULL;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
 
@@ -11,6 +16,14 @@ public class StringConverter {
 
     protected static final Object OBJECT_NO_CONVERSION = new Object();
 
+    /**
+     * Maximum number of shared instances per target type if {@link DataProvider#internValues()} is enabled, the least
+     * recently used ones are evicted first.
+     */
+    protected static final int MAX_INTERNED_VALUES_PER_TYPE = 1024;
+
+    private final Map<Class<?>, Map<String, Object>> internedValues = new HashMap<Class<?>, Map<String, Object>>();
+
     /**
      * Converts the given {@code data} to its corresponding arguments using the given {@code parameterTypes} and other
      * provided information.
@@ -47,6 +60,28 @@ public class StringConverter {
         return convert(splitData, isVarArgs, parameterTypes, dataProvider);
     }
 
+    /**
+     * Checks if the given {@code data} can be split into as many arguments as required by the given
+     * {@code parameterTypes} without converting any of them, see {@link DataProvider#convertLazily()}.
+     *
+     * @param data regex-separated {@link String} of parameters for test method
+     * @param isVarArgs determines whether test method has a varargs parameter
+     * @param parameterTypes target types of parameters to which corresponding values in regex-separated {@code data}
+     *            should be converted later on
+     * @param dataProvider containing settings which should be used to split given {@code data}
+     * @param rowIdx index of current {@code data} (row) for better error messages
+     * @throws IllegalArgumentException iif count of split data and parameter types does not match
+     */
+    public void checkParameterCount(String data, boolean isVarArgs, Class<?>[] parameterTypes,
+            DataProvider dataProvider, int rowIdx) {
+        if (data == null || (parameterTypes.length == 1 && (!isVarArgs || data.isEmpty()))) {
+            return;
+        }
+        String[] splitData = splitBy(data, dataProvider.splitBy());
+
+        checkArgumentsAndParameterCount(splitData.length, parameterTypes.length, isVarArgs, rowIdx);
+    }
+
     protected String[] splitBy(String data, String regex) {
         // add trailing null terminator that split for "regex" ending data works properly
         String[] splitData = (data + "\0").split(regex);
@@ -96,6 +131,32 @@ public class StringConverter {
             return tmp;
         }
 
+        if (!dataProvider.internValues() || !isImmutable(targetType)) {
+            return convertValueWithoutCustomConversion(str, targetType, dataProvider);
+        }
+        synchronized (internedValues) {
+            Map<String, Object> values = internedValues.get(targetType);
+            if (values == null) {
+                values = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                        return size() > MAX_INTERNED_VALUES_PER_TYPE;
+                    }
+                };
+                internedValues.put(targetType, values);
+            }
+            Object result = values.get(str);
+            if (result == null) {
+                result = convertValueWithoutCustomConversion(str, targetType, dataProvider);
+                values.put(str, result);
+            }
+            return result;
+        }
+    }
+
+    private Object convertValueWithoutCustomConversion(String str, Class<?> targetType, DataProvider dataProvider) {
         if (String.class.equals(targetType)) {
             return str;
         }
@@ -144,6 +205,23 @@ public class StringConverter {
         return OBJECT_NO_CONVERSION;
     }
 
+    /**
+     * Determines if equal values of the given {@code targetType} can be shared, see
+     * {@link DataProvider#internValues()}. This method purely exists as potential extension point by overriding it,
+     * e.g. to add further immutable types having a single {@link String} parameter constructor.
+     *
+     * @param targetType target type into which values should be converted
+     * @return {@code true} iif instances of given {@code targetType} are immutable
+     */
+    protected boolean isImmutable(Class<?> targetType) {
+        return targetType.isPrimitive() || String.class.equals(targetType) || Boolean.class.equals(targetType)
+                || Byte.class.equals(targetType) || Character.class.equals(targetType)
+                || Short.class.equals(targetType) || Integer.class.equals(targetType) || Long.class.equals(targetType)
+                || Float.class.equals(targetType) || Double.class.equals(targetType)
+                || BigInteger.class.equals(targetType) || BigDecimal.class.equals(targetType)
+                || Class.class.equals(targetType);
+    }
+
     protected Object convertPrimaryOrWrapper(String str, Class<?> targetType) {
         try {
             if (boolean.class.equals(targetType) || Boolean.class.equals(targetType)) {
@@ -1,8 +1,17 @@
 package com.tngtech.java.junit.dataprovider.internal.placeholder;
 
+import static com.tngtech.java.junit.dataprovider.common.Preconditions.checkArgument;
+
+import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.ParameterFormatter;
+import com.tngtech.java.junit.dataprovider.ParameterFormatters;
 
 /**
  * This placeholder format the parameters of a dataprovider test as comma-separated {@link String} according to the
@@ -18,6 +27,10 @@ import com.tngtech.java.junit.dataprovider.DataProvider;
  * <td>&lt;null&gt;</td>
  * </tr>
  * <tr>
+ * <td>value with registered {@link ParameterFormatter} for its type (see {@link ParameterFormatters})</td>
+ * <td>{@link ParameterFormatter#format(Object)}</td>
+ * </tr>
+ * <tr>
  * <td>&quot;&quot; (= empty string)</td>
  * <td>&lt;empty string&gt;</td>
  * </tr>
@@ -30,6 +43,11 @@ import com.tngtech.java.junit.dataprovider.DataProvider;
  * <td>{@link Object#toString()}</td>
  * </tr>
  * </table>
+ * Each parameter can be limited to a maximum length using the system property
+ * {@value #SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH}, such that huge parameters (e.g. arrays with millions of elements) do
+ * not lead to huge test names. If the whole test name is limited (see
+ * {@link DataProviderFrameworkMethod#SYSTEM_PROPERTY_MAX_NAME_LENGTH}), only the leading and trailing parameters
+ * fitting into this limit are formatted at all.
  */
 public class ParameterPlaceholder extends BasePlaceholder {
 
@@ -57,6 +75,24 @@ public class ParameterPlaceholder extends BasePlaceholder {
      */
     static final String STRING_NON_PRINTABLE = "<np>";
 
+    /**
+     * Replacement of the omitted middle part of a too long parameter
+     * <p>
+     * This field is package private (= visible) for testing.
+     * </p>
+     */
+    static final String STRING_ELLIPSIS = "...";
+
+    /**
+     * System property to limit the length of every single formatted parameter, see {@link #appendTo(StringBuilder,
+     * Object, int)}. Not limited by default.
+     */
+    public static final String SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH = "junit.dataprovider.format.maxParameterLength";
+
+    /**
+     * Caches for each subclass whether it overrides {@link #format(Object)}, see {@link #isFormatOverridden()}.
+     */
+    private static final ConcurrentMap<Class<?>, Boolean> formatOverridden = new ConcurrentHashMap<Class<?>, Boolean>();
 
     public ParameterPlaceholder() {
         super("%p\\[(-?[0-9]+|-?[0-9]+\\.\\.-?[0-9]+)\\]");
@@ -85,86 +121,223 @@ public class ParameterPlaceholder extends BasePlaceholder {
 
     /**
      * Formats the given parameters by retrieving it's {@link String} representation and separate it by comma (=
-     * {@code ,}).
+     * {@code ,}). If a subclass overrides {@link #format(Object)}, it is used to format each parameter and array element.
      *
      * @param parameters to be formatted
      * @return the {@link String} representation of the given {@link Object}{@code []}
      */
     protected String formatAll(Object[] parameters) {
+        // keep twice the maximum name length such that only the middle cut off from the name anyway is skipped
+        int maxNameLength = getLengthLimit(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH);
+        int maxLength = (maxNameLength > Integer.MAX_VALUE / 2) ? Integer.MAX_VALUE : 2 * maxNameLength;
+
         StringBuilder stringBuilder = new StringBuilder();
-        for (int i = 0; i < parameters.length; i++) {
-            stringBuilder.append(format(parameters[i]));
-            if (i < parameters.length - 1) {
-                stringBuilder.append(", ");
-            }
-        }
+        appendElements(stringBuilder, parameters, maxLength, Math.min(getMaxParameterLength(), maxLength));
         return stringBuilder.toString();
     }
 
+    /**
+     * This method purely exists as potential extension point by overriding it. If it is not overridden,
+     * {@link #formatAll(Object[])} appends the parameters directly instead of calling it for each parameter.
+     *
+     * @param param to be formatted
+     * @return the {@link String} representation of the given {@code param}
+     */
     protected String format(Object param) {
+        StringBuilder stringBuilder = new StringBuilder();
+        appendTo(stringBuilder, param, getMaxParameterLength());
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the {@link String} representation of the given {@code param} to the given {@code stringBuilder} in a
+     * single pass. If it is longer than {@code maxLength} characters, its middle is replaced by {@value #STRING_ELLIPSIS}
+     * (for arrays, only the leading and trailing elements are formatted at all).
+     *
+     * @param stringBuilder to append the {@link String} representation to
+     * @param param to be formatted
+     * @param maxLength the maximum length of the {@link String} representation (without escaping)
+     */
+    protected void appendTo(StringBuilder stringBuilder, Object param, int maxLength) {
+        ParameterFormatter<Object> formatter = (param == null) ? null : ParameterFormatters.get(param.getClass());
         if (param == null) {
-            return STRING_NULL;
+            stringBuilder.append(STRING_NULL);
+
+        } else if (formatter == null && param.getClass().isArray()) {
+            appendArray(stringBuilder, param, maxLength);
 
-        } else if (param.getClass().isArray()) {
-            if (param.getClass().getComponentType().isPrimitive()) {
-                return formatPrimitiveArray(param);
+        } else if (formatter == null && param instanceof String && ((String) param).isEmpty()) {
+            stringBuilder.append(STRING_EMPTY);
+
+        } else {
+            String str;
+            if (formatter != null) {
+                str = formatter.format(param);
+            } else if (param instanceof String) {
+                str = (String) param;
+            } else {
+                str = param.toString();
             }
-            return "[" + formatAll((Object[]) param) + "]";
+            if (str == null) {
+                stringBuilder.append(STRING_NULL);
 
-        } else if (param instanceof String && ((String) param).isEmpty()) {
-            return STRING_EMPTY;
+            } else if (str.length() <= maxLength) {
+                appendEscaped(stringBuilder, str, 0, str.length());
 
+            } else {
+                appendEscaped(stringBuilder, str, 0, getHeadEnd(str, maxLength));
+                stringBuilder.append(STRING_ELLIPSIS);
+                appendEscaped(stringBuilder, str, getTailBegin(str, maxLength), str.length());
+            }
         }
+    }
 
-        String result;
-        if (param instanceof String) {
-            result = (String) param;
-        } else {
-            result = param.toString();
-        }
-        if (result == null) {
-            return STRING_NULL;
-        }
-        result = result.replaceAll("\0", "\\\\0").replaceAll("\r", "\\\\r").replaceAll("\n", "\\\\n");
-        return replaceNonPrintableChars(result, STRING_NON_PRINTABLE);
+    /**
+     * @return the maximum length of a single formatted parameter given by the system property
+     *         {@value #SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH} or {@link Integer#MAX_VALUE} if not set
+     * @throws IllegalArgumentException iif the system property is not greater than zero
+     */
+    protected int getMaxParameterLength() {
+        return getLengthLimit(SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH);
     }
 
-    private String formatPrimitiveArray(Object primitiveArray) {
-        Class<?> componentType = primitiveArray.getClass().getComponentType();
+    /**
+     * @param systemProperty the name of the system property containing the length limit
+     * @return the length limit given by the given {@code systemProperty} or {@link Integer#MAX_VALUE} if not set
+     * @throws IllegalArgumentException iif the length limit is not greater than zero
+     */
+    public static int getLengthLimit(String systemProperty) {
+        int result = Integer.getInteger(systemProperty, Integer.MAX_VALUE);
+        checkArgument(result > 0, "System property '%s' must be greater than zero but was %d", systemProperty, result);
+        return result;
+    }
 
-        if (boolean.class.equals(componentType)) {
-            return Arrays.toString((boolean[]) primitiveArray);
+    /**
+     * @return the end index (exclusive) of the head of the given {@code str} to be kept if its middle is replaced such
+     *         that at most {@code maxLength} characters are kept, never splitting a surrogate pair
+     */
+    public static int getHeadEnd(String str, int maxLength) {
+        int result = maxLength / 2;
+        if (result > 0 && Character.isHighSurrogate(str.charAt(result - 1))) {
+            result--;
+        }
+        return result;
+    }
 
-        } else if (byte.class.equals(componentType)) {
-            return Arrays.toString((byte[]) primitiveArray);
+    /**
+     * @return the begin index of the tail of the given {@code str} to be kept if its middle is replaced such that at
+     *         most {@code maxLength} characters are kept, never splitting a surrogate pair
+     */
+    public static int getTailBegin(String str, int maxLength) {
+        int result = str.length() - (maxLength - maxLength / 2);
+        if (result < str.length() && Character.isLowSurrogate(str.charAt(result))) {
+            result++;
+        }
+        return result;
+    }
 
-        } else if (char.class.equals(componentType)) {
-            return Arrays.toString((char[]) primitiveArray);
+    private void appendArray(StringBuilder stringBuilder, Object array, int maxLength) {
+        stringBuilder.append('[');
+        appendElements(stringBuilder, array, maxLength, maxLength);
+        stringBuilder.append(']');
+    }
 
-        } else if (short.class.equals(componentType)) {
-            return Arrays.toString((short[]) primitiveArray);
+    /**
+     * Appends the comma separated elements of the given {@code array}. If they are longer than {@code maxLength}
+     * characters, only the leading and trailing elements are formatted and the middle ones are replaced by
+     * {@value #STRING_ELLIPSIS}.
+     */
+    private void appendElements(StringBuilder stringBuilder, Object array, int maxLength, int maxElementLength) {
+        int start = stringBuilder.length();
+        int length = Array.getLength(array);
 
-        } else if (int.class.equals(componentType)) {
-            return Arrays.toString((int[]) primitiveArray);
+        int head = 0;
+        for (; head < length; head++) {
+            if (head > 0) {
+                if (stringBuilder.length() - start >= maxLength / 2) {
+                    break;
+                }
+                stringBuilder.append(", ");
+            }
+            appendElement(stringBuilder, array, head, maxElementLength);
+        }
 
-        } else if (long.class.equals(componentType)) {
-            return Arrays.toString((long[]) primitiveArray);
+        if (head < length) {
+            LinkedList<String> tail = new LinkedList<String>();
+            int tailLength = 0;
+            int idx = length;
+            while (idx > head && tailLength < maxLength - maxLength / 2) {
+                StringBuilder element = new StringBuilder();
+                appendElement(element, array, --idx, maxElementLength);
+                tail.addFirst(element.toString());
+                tailLength += element.length() + 2;
+            }
+            if (idx > head) {
+                stringBuilder.append(", ").append(STRING_ELLIPSIS);
+            }
+            for (String element : tail) {
+                stringBuilder.append(", ").append(element);
+            }
+        }
+    }
 
-        } else if (float.class.equals(componentType)) {
-            return Arrays.toString((float[]) primitiveArray);
+    private void appendElement(StringBuilder stringBuilder, Object array, int idx, int maxLength) {
+        if (array.getClass().getComponentType().isPrimitive()) {
+            stringBuilder.append(Array.get(array, idx));
+        } else if (isFormatOverridden()) {
+            stringBuilder.append(format(((Object[]) array)[idx]));
+        } else {
+            appendTo(stringBuilder, ((Object[]) array)[idx], maxLength);
+        }
+    }
 
-        } else if (double.class.equals(componentType)) {
-            return Arrays.toString((double[]) primitiveArray);
+    /**
+     * @return {@code true} iif the class of this placeholder overrides {@link #format(Object)}, which is determined only
+     *         once per class
+     */
+    private boolean isFormatOverridden() {
+        Class<?> clazz = getClass();
+        Boolean result = formatOverridden.get(clazz);
+        if (result == null) {
+            result = Boolean.FALSE;
+            for (Class<?> current = clazz; current != ParameterPlaceholder.class; current = current.getSuperclass()) {
+                try {
+                    current.getDeclaredMethod("format", Object.class);
+                    result = Boolean.TRUE;
+                    break;
+                } catch (NoSuchMethodException e) {
+                    // continue with super class
+                }
+            }
+            formatOverridden.put(clazz, result);
         }
-        return "";
+        return result;
     }
 
-    private String replaceNonPrintableChars(String input, String replacement) {
-        StringBuilder result = new StringBuilder();
-        for (int offset = 0; offset < input.length(); ) {
-            int codePoint = input.codePointAt(offset);
+    /**
+     * Appends the characters of the given {@code str} from {@code beginIndex} to {@code endIndex} (exclusive) replacing
+     * {@code \0}, {@code \r} and {@code \n} by their escaped counterparts and any other non-printable character by
+     * {@link #STRING_NON_PRINTABLE}.
+     */
+    private void appendEscaped(StringBuilder stringBuilder, String str, int beginIndex, int endIndex) {
+        for (int offset = beginIndex; offset < endIndex; ) {
+            int codePoint = str.codePointAt(offset);
             offset += Character.charCount(codePoint);
 
+            switch (codePoint) {
+                case '\0':
+                    stringBuilder.append("\\0");
+                    continue;
+                case '\r':
+                    stringBuilder.append("\\r");
+                    continue;
+                case '\n':
+                    stringBuilder.append("\\n");
+                    continue;
+                default:
+                    break;
+            }
+
             // Replace invisible control characters and unused code points
             switch (Character.getType(codePoint)) {
                 case Character.CONTROL:     // \p{Cc}
@@ -172,14 +345,13 @@ public class ParameterPlaceholder extends BasePlaceholder {
                 case Character.PRIVATE_USE: // \p{Co}
                 case Character.SURROGATE:   // \p{Cs}
                 case Character.UNASSIGNED:  // \p{Cn}
-                    result.append(replacement);
+                    stringBuilder.append(STRING_NON_PRINTABLE);
                     break;
 
                 default:
-                    result.append(Character.toChars(codePoint));
+                    stringBuilder.appendCodePoint(codePoint);
                     break;
             }
         }
-        return result.toString();
     }
 }
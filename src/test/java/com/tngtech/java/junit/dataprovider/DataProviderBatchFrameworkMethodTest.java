@@ -0,0 +1,200 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runners.model.MultipleFailureException;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+public class DataProviderBatchFrameworkMethodTest extends BaseTest {
+
+    private final List<Integer> invokedRows = new ArrayList<Integer>();
+
+    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
+    @Test(expected = NullPointerException.class)
+    public void testDataProviderBatchFrameworkMethodShouldThrowNullPointerExceptionIfRowsAreNull() {
+        // Given:
+
+        // When:
+        @SuppressWarnings("unused")
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(anyMethod(), null, 0, null);
+
+        // Then: expect exception
+    }
+
+    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
+    @Test(expected = IllegalArgumentException.class)
+    public void testDataProviderBatchFrameworkMethodShouldThrowIllegalArgumentExceptionIfRowsAreEmpty() {
+        // Given:
+
+        // When:
+        @SuppressWarnings("unused")
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(anyMethod(), null, 0,
+                Collections.<DataProviderFrameworkMethod> emptyList());
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGetNameShouldContainBatchIndexAndFormattedNamesOfFirstAndLastRow() {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(method, null, 3, Arrays.asList(
+                row(method, 5), row(method, 7), row(method, 9)));
+
+        // When:
+        String result = underTest.getName();
+
+        // Then:
+        assertThat(result).isEqualTo("rowMethod[batch 3: 3 rows from rowMethod[5] to rowMethod[9]]");
+    }
+
+    @Test
+    public void testGetNameShouldContainDataProviderNameIfGiven() {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(method, "dataProviderRows", 0,
+                Arrays.asList(row(method, 1)));
+
+        // When:
+        String result = underTest.getName();
+
+        // Then:
+        assertThat(result).isEqualTo("rowMethod[batch 0 of dataProviderRows: 1 rows from rowMethod[1] to rowMethod[1]]");
+    }
+
+    @Test
+    public void testInvokeExplosivelyShouldInvokeAllRowsOnSameTarget() throws Throwable {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(method, null, 0, Arrays.asList(
+                row(method, 1), row(method, 2), row(method, 3)));
+
+        // When:
+        Object result = underTest.invokeExplosively(this);
+
+        // Then:
+        assertThat(result).isNull();
+        assertThat(invokedRows).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testInvokeExplosivelyShouldRunAllRowsAndThrowAssertionErrorNamingSingleFailedRow() throws Throwable {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(method, null, 0, Arrays.asList(
+                row(method, 1), row(method, -2), row(method, 3)));
+
+        // When:
+        try {
+            underTest.invokeExplosively(this);
+            fail("expected exception");
+
+        } catch (AssertionError e) {
+            // Then:
+            assertThat(e.getMessage()).startsWith("Row 'rowMethod[2]' failed");
+            assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(invokedRows).containsExactly(1, -2, 3);
+    }
+
+    @Test
+    public void testInvokeExplosivelyShouldThrowMultipleFailureExceptionIfMultipleRowsFailed() throws Throwable {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(method, null, 0, Arrays.asList(
+                row(method, -1), row(method, 2), row(method, -3)));
+
+        // When:
+        try {
+            underTest.invokeExplosively(this);
+            fail("expected exception");
+
+        } catch (MultipleFailureException e) {
+            // Then:
+            assertThat(e.getFailures()).hasSize(2);
+            assertThat(e.getFailures().get(0).getMessage()).startsWith("Row 'rowMethod[1]' failed");
+            assertThat(e.getFailures().get(1).getMessage()).startsWith("Row 'rowMethod[3]' failed");
+        }
+    }
+
+    @Test
+    public void testInvokeExplosivelyShouldSkipRowsViolatingAnAssumption() throws Throwable {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod underTest = new DataProviderBatchFrameworkMethod(method, null, 0, Arrays.asList(
+                row(method, 0), row(method, 1)));
+
+        // When:
+        underTest.invokeExplosively(this);
+
+        // Then:
+        assertThat(invokedRows).containsExactly(0, 1);
+    }
+
+    @Test
+    public void testEqualsShouldReturnFalseForDifferentBatchIndex() {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod m1 = new DataProviderBatchFrameworkMethod(method, null, 0, Arrays.asList(row(method, 1)));
+        DataProviderBatchFrameworkMethod m2 = new DataProviderBatchFrameworkMethod(method, null, 1, Arrays.asList(row(method, 1)));
+
+        // When:
+        boolean result = m1.equals(m2);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testEqualsShouldReturnFalseForDifferentDataProviderName() {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod m1 = new DataProviderBatchFrameworkMethod(method, "a", 0, Arrays.asList(row(method, 1)));
+        DataProviderBatchFrameworkMethod m2 = new DataProviderBatchFrameworkMethod(method, "b", 0, Arrays.asList(row(method, 1)));
+
+        // When:
+        boolean result = m1.equals(m2);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testEqualsShouldReturnTrueForEqualObjects() {
+        // Given:
+        Method method = getMethod("rowMethod");
+        DataProviderBatchFrameworkMethod m1 = new DataProviderBatchFrameworkMethod(method, null, 2, Arrays.asList(row(method, 1)));
+        DataProviderBatchFrameworkMethod m2 = new DataProviderBatchFrameworkMethod(method, null, 2, Arrays.asList(row(method, 1)));
+
+        // When:
+        boolean result = m1.equals(m2);
+
+        // Then:
+        assertThat(result).isTrue();
+        assertThat(m1.hashCode()).isEqualTo(m2.hashCode());
+    }
+
+    // -- helper methods -----------------------------------------------------------------------------------------------
+
+    public void rowMethod(int value) {
+        invokedRows.add(value);
+        Assume.assumeTrue(value != 0);
+        if (value < 0) {
+            throw new IllegalArgumentException("negative value " + value);
+        }
+    }
+
+    private DataProviderFrameworkMethod row(Method method, int value) {
+        return new DataProviderFrameworkMethod(method, Math.abs(value), new Object[] { value }, "%m[%i]");
+    }
+}
@@ -0,0 +1,59 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataProviderContextTest extends BaseTest {
+
+    @Mock
+    private FrameworkMethod testMethod;
+
+    @Test(expected = NullPointerException.class)
+    public void testDataProviderContextShouldThrowNullPointerExceptionIfTestMethodIsNull() {
+        // Given:
+
+        // When:
+        new DataProviderContext(null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testDataProviderContextShouldNotHaveSelectedRowsInitially() {
+        // Given:
+
+        // When:
+        DataProviderContext result = new DataProviderContext(testMethod);
+
+        // Then:
+        assertThat(result.getTestMethod()).isSameAs(testMethod);
+        assertThat(result.getSelectedRows()).isNull();
+    }
+
+    @Test
+    public void testSelectRowsShouldReturnSampleOfOverridingContext() {
+        // Given:
+        DataProviderContext underTest = new DataProviderContext(testMethod) {
+            @Override
+            protected List<Integer> sample(int rowCount) {
+                return Arrays.asList(1, rowCount - 1);
+            }
+        };
+
+        // When:
+        List<Integer> result = underTest.selectRows(5);
+
+        // Then:
+        assertThat(result).containsExactly(1, 4);
+        assertThat(underTest.getSelectedRows()).containsExactly(1, 4);
+    }
+}
@@ -6,11 +6,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.regex.Matcher;
 
 import org.junit.Test;
+import org.junit.experimental.categories.Categories.CategoryFilter;
 import org.junit.runner.Description;
 import org.junit.runner.RunWith;
 import org.junit.runner.manipulation.Filter;
@@ -317,6 +319,73 @@ public class DataProviderFilterTest extends BaseTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void testShouldRunAnyRowOfShouldReturnTrueIfOriginalFilterDescriptionCannotBeParsedAndFilterMayDependOnRow() {
+        // Given:
+        doReturn("invalid").when(filter).describe();
+        Description description = setupDescription(true, "testMain(com.tngtech.Clazz)");
+
+        // When:
+        boolean result = underTest.shouldRunAnyRowOf(description);
+
+        // Then:
+        assertThat(result).isTrue();
+        verify(filter).describe();
+        verifyNoMoreInteractions(filter);
+    }
+
+    @Test
+    public void testShouldRunAnyRowOfShouldCallCategoryFilterForTestMethod() {
+        // Given:
+        DataProviderFilter underTest = new DataProviderFilter(CategoryFilter.include(Serializable.class));
+        Description description = Description.createTestDescription(DataProviderFilterTest.class, "testMain");
+
+        // When:
+        boolean result = underTest.shouldRunAnyRowOf(description);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testShouldRunAnyRowOfShouldReturnTrueForTestMethodOfFilteredRow() {
+        // Given:
+        doReturn("Method testMain[1: ](com.tngtech.Clazz)").when(filter).describe();
+        Description description = setupDescription(true, "testMain(com.tngtech.Clazz)");
+
+        // When:
+        boolean result = underTest.shouldRunAnyRowOf(description);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testShouldRunAnyRowOfShouldReturnFalseForOtherTestMethod() {
+        // Given:
+        doReturn("Method testMain[1: ](com.tngtech.Clazz)").when(filter).describe();
+        Description description = setupDescription(true, "testOther(com.tngtech.Clazz)");
+
+        // When:
+        boolean result = underTest.shouldRunAnyRowOf(description);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testShouldRunAnyRowOfShouldReturnFalseForTestMethodOfOtherClass() {
+        // Given:
+        doReturn("Method testMain(com.tngtech.Clazz)").when(filter).describe();
+        Description description = setupDescription(true, "testMain(com.tngtech.ClazzOther)");
+
+        // When:
+        boolean result = underTest.shouldRunAnyRowOf(description);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
     @Test
     public void testDescribeShouldReturnFilterDescripe() {
         // Given:
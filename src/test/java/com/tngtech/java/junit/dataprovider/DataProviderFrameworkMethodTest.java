@@ -107,6 +107,63 @@ public class DataProviderFrameworkMethodTest extends BaseTest {
         verifyNoMoreInteractions(placeholder);
     }
 
+    @Test
+    public void testGetNameShouldNotSplitSurrogatePairsWhenElidingMiddleOfName() {
+        // Given:
+        final Object[] parameters = new Object[] { "ab\uD83D\uDE00cdef\uD83D\uDE00gh" };
+
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(method, 0, parameters, "%p[0]");
+
+        System.setProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH, "6");
+        try {
+            // When:
+            String result = underTest.getName();
+
+            // Then:
+            assertThat(result).isEqualTo("ab...gh");
+
+        } finally {
+            System.clearProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetNameShouldThrowIllegalArgumentExceptionIfMaxNameLengthIsNotPositive() {
+        // Given:
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(method, 0, new Object[] { "a" }, "%p[0]");
+
+        System.setProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH, "-1");
+        try {
+            // When:
+            underTest.getName();
+
+            // Then: expect exception
+
+        } finally {
+            System.clearProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH);
+        }
+    }
+
+    @Test
+    public void testGetNameShouldElideMiddleOfNameLongerThanMaxNameLength() {
+        // Given:
+        final Object[] parameters = new Object[] { "abcdefghijklmnopqrstuvwxyz" };
+
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(method, 22, parameters, "%i: %p[0]");
+
+        System.setProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH, "11");
+        try {
+            // When:
+            String result = underTest.getName();
+
+            // Then:
+            assertThat(result).isEqualTo("22: a...uvwxyz");
+
+        } finally {
+            System.clearProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH);
+        }
+    }
+
     @Test
     public void testGetNameShouldCallAllPlaceholdersProcessInOrder() {
         // Given:
@@ -269,6 +326,39 @@ public class DataProviderFrameworkMethodTest extends BaseTest {
         assertThat(result).isEqualTo(m2.hashCode());
     }
 
+    @Test
+    public void testReleaseParametersShouldKeepNameHashCodeAndEquality() {
+        // Given:
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(method, 91, new Object[] { 1, "a" },
+                "%i: %p[0..-1]");
+        DataProviderFrameworkMethod other = new DataProviderFrameworkMethod(method, 91, new Object[] { 1, "a" },
+                "%i: %p[0..-1]");
+        int hashCode = underTest.hashCode();
+
+        // When:
+        underTest.releaseParameters();
+
+        // Then:
+        assertThat(underTest.parameters).isNull();
+        assertThat(underTest.getName()).isEqualTo("91: 1, a");
+        assertThat(underTest.hashCode()).isEqualTo(hashCode);
+        assertThat(underTest).isEqualTo(other);
+        assertThat(other).isEqualTo(underTest);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInvokeExplosivelyShouldThrowIllegalStateExceptionIfParametersAreReleased() throws Throwable {
+        // Given:
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(
+                getMethod("returnObjectArrayArrayMethod"), 92, new Object[] { 1 }, "%m");
+        underTest.releaseParameters();
+
+        // When:
+        underTest.invokeExplosively(this);
+
+        // Then: expect exception
+    }
+
     // -- help methods -------------------------------------------------------------------------------------------------
 
     public Object returnObjectArrayArrayMethod(Object param) {
@@ -2,31 +2,53 @@ package com.tngtech.java.junit.dataprovider;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyListOf;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySetOf;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -37,6 +59,19 @@ import org.mockito.stubbing.Answer;
 import com.tngtech.java.junit.dataprovider.UseDataProvider.ResolveStrategy;
 import com.tngtech.java.junit.dataprovider.internal.DataConverter;
 import com.tngtech.java.junit.dataprovider.internal.DefaultDataProviderMethodResolver;
+import com.tngtech.java.junit.dataprovider.internal.ParallelRowScheduler;
+import com.tngtech.java.junit.dataprovider.internal.ResourceKeys;
+import com.tngtech.java.junit.dataprovider.internal.ResourceLocks;
+import com.tngtech.java.junit.dataprovider.internal.RowBenchmarks;
+import com.tngtech.java.junit.dataprovider.internal.RowBenchmarks.Result;
+import com.tngtech.java.junit.dataprovider.internal.RowGroup;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory.Status;
+import com.tngtech.java.junit.dataprovider.internal.RowJournal;
+import com.tngtech.java.junit.dataprovider.internal.RowResourceUsage;
+import com.tngtech.java.junit.dataprovider.internal.RowResourceUsage.Sample;
+import com.tngtech.java.junit.dataprovider.internal.RowStore;
+import com.tngtech.java.junit.dataprovider.internal.ShardPlan;
 import com.tngtech.java.junit.dataprovider.internal.TestGenerator;
 import com.tngtech.java.junit.dataprovider.internal.TestValidator;
 
@@ -47,6 +82,12 @@ public class DataProviderRunnerTest extends BaseTest {
     // for testing exceptions in @BeforeClass
     private static volatile Throwable classSetupException = null;
 
+    // for testing @BeforeDataProviderRows and @AfterDataProviderRows
+    private static int hookCalls = 0;
+
+    // for testing @DataProviderBenchmark
+    private static int benchmarkCalls = 0;
+
     @Spy
     private DataProviderRunner underTest;
 
@@ -151,11 +192,27 @@ public class DataProviderRunnerTest extends BaseTest {
     }
 
     @Test
-    public void testValidateInstanceMethodsShouldAddExceptionIfComputeTestMethodsReturnsNoTestMethods() {
+    public void testValidateInstanceMethodsShouldAddExceptionIfTestClassHasNoTestMethods() {
+        // Given:
+        List<Throwable> errors = new ArrayList<Throwable>();
+
+        doReturn(asList()).when(testClass).getAnnotatedMethods(Test.class);
+
+        // When:
+        underTest.validateInstanceMethods(errors);
+
+        // Then:
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).hasMessage("No runnable methods");
+    }
+
+    @Test
+    public void testValidateInstanceMethodsShouldAddExceptionIfTestClassHasNoTestMethodsEvenIfShardPlanIsEnabled() {
         // Given:
         List<Throwable> errors = new ArrayList<Throwable>();
 
-        doReturn(asList()).when(underTest).computeTestMethods();
+        doReturn(asList()).when(testClass).getAnnotatedMethods(Test.class);
+        underTest.shardPlan = ShardPlan.plan(new HashMap<String, Long>(), 2);
 
         // When:
         underTest.validateInstanceMethods(errors);
@@ -193,13 +250,14 @@ public class DataProviderRunnerTest extends BaseTest {
         // Given:
         List<Throwable> errors = new ArrayList<Throwable>();
 
-        doReturn(asList(testMethod)).when(underTest).computeTestMethods();
+        doReturn(asList(testMethod)).when(testClass).getAnnotatedMethods(Test.class);
 
         // When:
         underTest.validateInstanceMethods(errors);
 
         // Then:
         assertThat(errors).isEmpty();
+        verify(underTest, never()).computeTestMethods();
     }
 
     @Test(expected = NullPointerException.class)
@@ -396,6 +454,56 @@ public class DataProviderRunnerTest extends BaseTest {
         verifyNoMoreInteractions(underTest);
     }
 
+    @Test
+    public void testComputeTestMethodsShouldReturnInitializationErrorFrameworkMethodIfExplodingThrows() {
+        // Given:
+        Error error = new Error("Cannot explode testMethod");
+
+        underTest.computedTestMethods = null;
+        doThrow(error).when(underTest).generateExplodedTestMethodsFor(anyListOf(FrameworkMethod.class));
+
+        // When:
+        List<FrameworkMethod> result = underTest.computeTestMethods();
+
+        // Then:
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isInstanceOf(InitializationErrorFrameworkMethod.class);
+        assertThat(((InitializationErrorFrameworkMethod) result.get(0)).getError()).isSameAs(error);
+    }
+
+    @Test(expected = OutOfMemoryError.class)
+    public void testComputeTestMethodsShouldRethrowVirtualMachineErrorWhileExploding() {
+        // Given:
+        underTest.computedTestMethods = null;
+        doThrow(new OutOfMemoryError("no memory")).when(underTest).generateExplodedTestMethodsFor(
+                anyListOf(FrameworkMethod.class));
+
+        // When:
+        underTest.computeTestMethods();
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testComputeTestMethodsShouldThrowIllegalStateExceptionIfExplodingThrowsWithoutTestMethods() {
+        // Given:
+        Error error = new Error("Cannot explode");
+
+        underTest.computedTestMethods = null;
+        underTest.testMethodsToExplode = new ArrayList<FrameworkMethod>();
+        doThrow(error).when(underTest).generateExplodedTestMethodsFor(anyListOf(FrameworkMethod.class));
+
+        // When:
+        try {
+            underTest.computeTestMethods();
+            fail("expected exception");
+
+        } catch (IllegalStateException e) {
+            // Then:
+            assertThat(e.getCause()).isSameAs(error);
+        }
+    }
+
     @Test(expected = NullPointerException.class)
     public void testFilterShouldThrowNullPointerExceptionForNull() throws Exception {
         // Given:
@@ -411,6 +519,8 @@ public class DataProviderRunnerTest extends BaseTest {
         // Given:
         Filter filter = Filter.ALL;
 
+        doAnswer(returnsFirstArg()).when(underTest).generateExplodedTestMethodsFor(anyListOf(FrameworkMethod.class));
+
         // When:
         underTest.filter(filter);
 
@@ -418,6 +528,49 @@ public class DataProviderRunnerTest extends BaseTest {
         assertThat(underTest.getDescription().getChildren().size()).isGreaterThan(0);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFilterShouldNotExplodeTestMethodsWhichAreFilteredOutBeforeExploding() throws Exception {
+        // Given:
+        Filter filter = Filter.matchMethodDescription(Description.createTestDescription(DataProviderRunnerTest.class,
+                "testFilterShould"));
+
+        underTest.computedTestMethods = null;
+        doAnswer(returnsFirstArg()).when(underTest).generateExplodedTestMethodsFor(anyListOf(FrameworkMethod.class));
+
+        // When:
+        underTest.filter(filter);
+
+        // Then:
+        ArgumentCaptor<List<FrameworkMethod>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(underTest).generateExplodedTestMethodsFor(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(captor.getValue().get(0).getName()).isEqualTo("testFilterShould");
+        assertThat(underTest.getDescription().getChildren()).hasSize(1);
+    }
+
+    @Test
+    public void testRunChildShouldReportErrorOfInitializationErrorFrameworkMethod() {
+        // Given:
+        Error error = new Error("Cannot explode testMethod");
+        FrameworkMethod method = new InitializationErrorFrameworkMethod(anyMethod(), error);
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(method, notifier);
+
+        // Then:
+        ArgumentCaptor<Failure> captor = ArgumentCaptor.forClass(Failure.class);
+        verify(notifier).fireTestStarted(any(Description.class));
+        verify(notifier).fireTestFailure(captor.capture());
+        verify(notifier).fireTestFinished(any(Description.class));
+        verifyNoMoreInteractions(notifier);
+        assertThat(captor.getValue().getException()).isSameAs(error);
+        assertThat(captor.getValue().getDescription().getMethodName()).isEqualTo("anyMethod");
+    }
+
     @Test
     public void testGenerateExplodedTestMethodsForShouldReturnEmptyListIfArgumentIsNull() {
         // Given:
@@ -515,6 +668,930 @@ public class DataProviderRunnerTest extends BaseTest {
         verifyNoMoreInteractions(testGenerator);
     }
 
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldStartAsyncDataProviderMethodsBeforeExplodingAnyTestMethod() {
+        // Given:
+        FrameworkMethod testMethod2 = mock(FrameworkMethod.class);
+        FrameworkMethod asyncDataProviderMethod = mock(FrameworkMethod.class);
+        doReturn(getMethod("asyncDataProvider")).when(asyncDataProviderMethod).getMethod();
+
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(asList(asyncDataProviderMethod)).when(underTest).getDataProviderMethods(testMethod2);
+
+        // When:
+        underTest.generateExplodedTestMethodsFor(asList(testMethod, testMethod2));
+
+        // Then:
+        InOrder inOrder = inOrder(testGenerator);
+        inOrder.verify(testGenerator).startAsyncDataProviderMethod(testMethod2, asyncDataProviderMethod);
+        inOrder.verify(testGenerator).generateExplodedTestMethodsFor(testMethod, dataProviderMethod);
+        inOrder.verify(testGenerator).generateExplodedTestMethodsFor(testMethod2, asyncDataProviderMethod);
+        verifyNoMoreInteractions(testGenerator);
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldKeepOrderIfPrefetching() {
+        // Given:
+        FrameworkMethod testMethod2 = mock(FrameworkMethod.class);
+        FrameworkMethod testMethod3 = mock(FrameworkMethod.class);
+        FrameworkMethod row1 = mock(FrameworkMethod.class);
+        FrameworkMethod row2 = mock(FrameworkMethod.class);
+        FrameworkMethod row3 = mock(FrameworkMethod.class);
+
+        doReturn(singletonList(null)).when(underTest).getDataProviderMethods(any(FrameworkMethod.class));
+        doReturn(asList(row1)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, null);
+        doReturn(asList(row2)).when(testGenerator).generateExplodedTestMethodsFor(testMethod2, null);
+        doReturn(asList(row3)).when(testGenerator).generateExplodedTestMethodsFor(testMethod3, null);
+
+        System.setProperty(DataProviderRunner.SYSTEM_PROPERTY_PREFETCH, "2");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.generateExplodedTestMethodsFor(asList(testMethod, testMethod2,
+                    testMethod3));
+
+            // Then:
+            assertThat(result).containsExactly(row1, row2, row3);
+
+        } finally {
+            System.clearProperty(DataProviderRunner.SYSTEM_PROPERTY_PREFETCH);
+        }
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldReportErrorOnlyForFailingTestMethod() {
+        // Given:
+        FrameworkMethod testMethod2 = mock(FrameworkMethod.class);
+        FrameworkMethod testMethod3 = mock(FrameworkMethod.class);
+        FrameworkMethod row1 = mock(FrameworkMethod.class);
+        FrameworkMethod row3 = mock(FrameworkMethod.class);
+        Error error2 = new Error("error 2");
+
+        doReturn(singletonList(null)).when(underTest).getDataProviderMethods(any(FrameworkMethod.class));
+        doReturn(anyMethod()).when(testMethod2).getMethod();
+        doReturn(asList(row1)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, null);
+        doThrow(error2).when(testGenerator).generateExplodedTestMethodsFor(testMethod2, null);
+        doReturn(asList(row3)).when(testGenerator).generateExplodedTestMethodsFor(testMethod3, null);
+
+        // When:
+        List<FrameworkMethod> result = underTest.generateExplodedTestMethodsFor(asList(testMethod, testMethod2,
+                testMethod3));
+
+        // Then:
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).isSameAs(row1);
+        assertThat(result.get(1)).isInstanceOf(InitializationErrorFrameworkMethod.class);
+        assertThat(((InitializationErrorFrameworkMethod) result.get(1)).getError()).isSameAs(error2);
+        assertThat(result.get(1).getMethod()).isEqualTo(anyMethod());
+        assertThat(result.get(2)).isSameAs(row3);
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldReportErrorOnlyForFailingTestMethodIfPrefetching() {
+        // Given:
+        FrameworkMethod testMethod2 = mock(FrameworkMethod.class);
+        FrameworkMethod testMethod3 = mock(FrameworkMethod.class);
+        FrameworkMethod row1 = mock(FrameworkMethod.class);
+        FrameworkMethod row3 = mock(FrameworkMethod.class);
+        Error error2 = new Error("error 2");
+
+        doReturn(singletonList(null)).when(underTest).getDataProviderMethods(any(FrameworkMethod.class));
+        doReturn(anyMethod()).when(testMethod2).getMethod();
+        doReturn(asList(row1)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, null);
+        doThrow(error2).when(testGenerator).generateExplodedTestMethodsFor(testMethod2, null);
+        doReturn(asList(row3)).when(testGenerator).generateExplodedTestMethodsFor(testMethod3, null);
+
+        System.setProperty(DataProviderRunner.SYSTEM_PROPERTY_PREFETCH, "5");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.generateExplodedTestMethodsFor(asList(testMethod, testMethod2,
+                    testMethod3));
+
+            // Then:
+            assertThat(result).hasSize(3);
+            assertThat(result.get(0)).isSameAs(row1);
+            assertThat(((InitializationErrorFrameworkMethod) result.get(1)).getError()).isSameAs(error2);
+            assertThat(result.get(2)).isSameAs(row3);
+
+        } finally {
+            System.clearProperty(DataProviderRunner.SYSTEM_PROPERTY_PREFETCH);
+        }
+    }
+
+    @Test(expected = OutOfMemoryError.class)
+    public void testGenerateExplodedTestMethodsForShouldRethrowVirtualMachineErrorOfTestMethod() {
+        // Given:
+        doReturn(singletonList(null)).when(underTest).getDataProviderMethods(testMethod);
+        doThrow(new OutOfMemoryError("no memory")).when(testGenerator).generateExplodedTestMethodsFor(testMethod, null);
+
+        // When:
+        underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldNotRegisterRowGroupForFailingTestMethod() {
+        // Given:
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(anyMethod()).when(testMethod).getMethod();
+        doThrow(new IllegalStateException("dataprovider failed")).when(testGenerator).generateExplodedTestMethodsFor(
+                testMethod, dataProviderMethod);
+
+        // When:
+        List<FrameworkMethod> result = underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        // Then:
+        assertThat(result).hasSize(1);
+        assertThat(underTest.getRowGroup(result.get(0))).isNull();
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldRegisterRowGroupForExplodedMethodsUsingDataProviderMethod() {
+        // Given:
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(dataProvider).when(dataProviderMethod).getAnnotation(DataProvider.class);
+
+        FrameworkMethod explodedMethod1 = mock(FrameworkMethod.class);
+        FrameworkMethod explodedMethod2 = mock(FrameworkMethod.class);
+        doReturn(asList(explodedMethod1, explodedMethod2)).when(testGenerator).generateExplodedTestMethodsFor(testMethod,
+                dataProviderMethod);
+
+        // When:
+        underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        // Then:
+        RowGroup rowGroup = underTest.getRowGroup(explodedMethod1);
+        assertThat(rowGroup).isNotNull().isSameAs(underTest.getRowGroup(explodedMethod2));
+        assertThat(rowGroup.getTestMethod()).isSameAs(testMethod);
+        assertThat(rowGroup.getDataProviderMethod()).isSameAs(dataProviderMethod);
+        assertThat(rowGroup.getDataProvider()).isSameAs(dataProvider);
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldNotRegisterRowGroupForTestMethodWithoutDataProvider() {
+        // Given:
+        doReturn(singletonList(null)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(asList(testMethod)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, null);
+
+        // When:
+        underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        // Then:
+        assertThat(underTest.getRowGroup(testMethod)).isNull();
+    }
+
+    @Test
+    public void testRunChildShouldReportFirstSkippedRowAsFailureAndFurtherAsIgnoredIfRowGroupIsAborted() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 1 }, "%m[%i]");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 2, new Object[] { 2 }, "%m[%i]");
+
+        doReturn(1).when(dataProvider).abortAfterFailures();
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        rowGroup.recordFailure();
+
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, rowGroup);
+        underTest.rowGroups.put(row2, rowGroup);
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(row1, notifier);
+        underTest.runChild(row2, notifier);
+
+        // Then:
+        ArgumentCaptor<Failure> failure = ArgumentCaptor.forClass(Failure.class);
+
+        InOrder inOrder = inOrder(notifier);
+        inOrder.verify(notifier).fireTestStarted(any(Description.class));
+        inOrder.verify(notifier).fireTestFailure(failure.capture());
+        inOrder.verify(notifier).fireTestFinished(any(Description.class));
+        inOrder.verify(notifier).fireTestIgnored(any(Description.class));
+        verifyNoMoreInteractions(notifier);
+
+        assertThat(failure.getValue().getDescription().getMethodName()).isEqualTo("anyMethod[1]");
+        assertThat(failure.getValue().getMessage()).contains("because 1 rows failed already");
+    }
+
+    @Test
+    public void testMethodBlockShouldRecordFailureOfRowInRowGroup() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 1 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row, rowGroup);
+
+        // When:
+        try {
+            underTest.methodBlock(row).evaluate();
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // Then:
+        assertThat(rowGroup.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldSortResultByRowHistoryIfEnabled() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m");
+        FrameworkMethod row3 = new DataProviderFrameworkMethod(anyMethod(), 2, new Object[] { 3 }, "%m");
+
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(asList(row1, row2, row3)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, dataProviderMethod);
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.rowHistory = RowHistory.getInstance(new File(System.getProperty("java.io.tmpdir"), "unused-row-history")
+                .getPath());
+        underTest.rowHistory.record(underTest.getFingerprint(row1), Status.PASSED, 1000);
+        underTest.rowHistory.record(underTest.getFingerprint(row3), Status.FAILED, 1000);
+
+        // When:
+        List<FrameworkMethod> result = underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        // Then:
+        assertThat(result).containsExactly(row3, row2, row1);
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldKeepRowsOfSameRowGroupTogetherWhenSortingByRowHistory() {
+        // Given:
+        FrameworkMethod testMethod2 = mock(FrameworkMethod.class);
+
+        FrameworkMethod row1a = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m");
+        FrameworkMethod row1b = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m");
+        FrameworkMethod row2a = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 1 }, "%m");
+        FrameworkMethod row2b = new DataProviderFrameworkMethod(getMethod("failingMethod"), 1, new Object[] { 2 }, "%m");
+
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod2);
+        doReturn(asList(row1a, row1b)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, dataProviderMethod);
+        doReturn(asList(row2a, row2b)).when(testGenerator).generateExplodedTestMethodsFor(testMethod2, dataProviderMethod);
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.rowHistory = RowHistory.getInstance(new File(System.getProperty("java.io.tmpdir"),
+                "unused-grouped-row-history").getPath());
+        underTest.rowHistory.record(underTest.getFingerprint(row1a), Status.PASSED, 1000);
+        underTest.rowHistory.record(underTest.getFingerprint(row1b), Status.PASSED, 3000);
+        underTest.rowHistory.record(underTest.getFingerprint(row2a), Status.PASSED, 2000);
+        underTest.rowHistory.record(underTest.getFingerprint(row2b), Status.FAILED, 1000);
+
+        // When:
+        List<FrameworkMethod> result = underTest.generateExplodedTestMethodsFor(asList(testMethod, testMethod2));
+
+        // Then:
+        assertThat(result).containsExactly(row2b, row2a, row1b, row1a);
+    }
+
+    @Test
+    public void testGenerateExplodedTestMethodsForShouldOnlyReturnAndRegisterRowsOfSelectedShardIfShardPlanIsEnabled() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m");
+        FrameworkMethod row3 = new DataProviderFrameworkMethod(anyMethod(), 2, new Object[] { 3 }, "%m");
+
+        doReturn(asList(dataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(asList(row1, row2, row3)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, dataProviderMethod);
+        doReturn(dataProvider).when(dataProviderMethod).getAnnotation(DataProvider.class);
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put(underTest.getFingerprint(row1), 1000L);
+        durations.put(underTest.getFingerprint(row2), 10L);
+        durations.put(underTest.getFingerprint(row3), 10L);
+        underTest.shardPlan = ShardPlan.plan(durations, 2);
+
+        System.setProperty(ShardPlan.SYSTEM_PROPERTY_SHARD, "1");
+        List<FrameworkMethod> result;
+        try {
+            // When:
+            result = underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        } finally {
+            System.clearProperty(ShardPlan.SYSTEM_PROPERTY_SHARD);
+        }
+
+        // Then:
+        assertThat(result).containsExactly(row2, row3);
+        assertThat(underTest.getRowGroup(row1)).isNull();
+        assertThat(underTest.getRowGroup(row2)).isSameAs(underTest.getRowGroup(row3)).isNotNull();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGenerateExplodedTestMethodsForShouldThrowIllegalStateExceptionIfShardPlanIsEnabledWithoutShard() {
+        // Given:
+        doReturn(asList((FrameworkMethod) null)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(asList(testMethod)).when(testGenerator).generateExplodedTestMethodsFor(testMethod, null);
+
+        underTest.shardPlan = ShardPlan.plan(new HashMap<String, Long>(), 2);
+
+        // When:
+        underTest.generateExplodedTestMethodsFor(asList(testMethod));
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testMethodBlockShouldRecordOutcomeInRowHistoryIfEnabled() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.rowHistory = mock(RowHistory.class);
+        doReturn(true).when(underTest.rowHistory).isEnabled();
+
+        // When:
+        try {
+            underTest.methodBlock(row).evaluate();
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // Then:
+        verify(underTest.rowHistory).record(eq(underTest.getFingerprint(row)), eq(Status.FAILED), anyLong());
+    }
+
+    @SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+    @Test
+    public void testMethodInvokerShouldInvokeMethodOnceIfBenchmarksAreDisabled() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("benchmarkedMethod"), 0, new Object[] { 5 }, "%m");
+        underTest.rowBenchmarks = mock(RowBenchmarks.class);
+        benchmarkCalls = 0;
+
+        PrintStream out = mock(PrintStream.class);
+        doReturn(out).when(underTest).getOut();
+
+        // When:
+        underTest.methodInvoker(row, this).evaluate();
+
+        // Then:
+        assertThat(benchmarkCalls).isEqualTo(1);
+        verifyZeroInteractions(underTest.rowBenchmarks, out);
+    }
+
+    @SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+    @Test
+    public void testMethodInvokerShouldMeasureAndRecordMethodAnnotatedWithDataProviderBenchmarkIfEnabled()
+            throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("benchmarkedMethod"), 0, new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+        underTest.rowBenchmarks = mock(RowBenchmarks.class);
+        benchmarkCalls = 0;
+
+        PrintStream out = mock(PrintStream.class);
+        doReturn(out).when(underTest).getOut();
+
+        System.setProperty(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED, "true");
+        try {
+            // When:
+            underTest.methodInvoker(row, this).evaluate();
+
+        } finally {
+            System.clearProperty(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED);
+        }
+
+        // Then:
+        assertThat(benchmarkCalls).isEqualTo(3);
+        verify(underTest.rowBenchmarks).record(eq(underTest.getFingerprint(row)), 
+                eq("benchmarkedMethod(" + DataProviderRunnerTest.class.getName() + ")"), any(Result.class));
+        verify(out).println(startsWith("Benchmark benchmarkedMethod(" + DataProviderRunnerTest.class.getName() + "): "));
+    }
+
+    @Test
+    public void testMethodInvokerShouldFailIfMethodIsSlowerThanItsBaseline() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("benchmarkedMethod"), 0, new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+        String fingerprint = underTest.getFingerprint(row);
+        underTest.rowBenchmarks = mock(RowBenchmarks.class);
+        doReturn(new Result(-1000000, 0, 10)).when(underTest.rowBenchmarks).getBaseline(fingerprint);
+        doReturn(mock(PrintStream.class)).when(underTest).getOut();
+
+        System.setProperty(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED, "true");
+        try {
+            // When:
+            underTest.methodInvoker(row, this).evaluate();
+            fail("expected exception");
+
+        } catch (AssertionError e) {
+            // Then:
+            assertThat(e.getMessage()).contains("slower than its baseline");
+
+        } finally {
+            System.clearProperty(DataProviderBenchmark.SYSTEM_PROPERTY_ENABLED);
+        }
+    }
+
+    @Test
+    public void testMethodInvokerShouldRecordResourceUsageOfFailingRowIfEnabled() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 5 }, "%m[%i]");
+        underTest.rowResourceUsage = mock(RowResourceUsage.class);
+        doReturn(new Sample(0, 0)).when(underTest.rowResourceUsage).sample();
+
+        System.setProperty(RowResourceUsage.SYSTEM_PROPERTY_ENABLED, "true");
+        try {
+            // When:
+            underTest.methodInvoker(row, this).evaluate();
+            fail("expected exception");
+
+        } catch (IllegalStateException e) {
+            // expected
+
+        } finally {
+            System.clearProperty(RowResourceUsage.SYSTEM_PROPERTY_ENABLED);
+        }
+
+        // Then:
+        verify(underTest.rowResourceUsage, times(2)).sample();
+        verify(underTest.rowResourceUsage).record(eq("DataProviderRunnerTest.failingMethod[0]"), eq("failingMethod[0]"),
+                any(Sample.class), any(Sample.class));
+    }
+
+    @Test
+    public void testRunShouldPrintReportOfResourceUsageAfterAllTestsOfClass() {
+        // Given:
+        RunNotifier notifier = mock(RunNotifier.class);
+        doReturn(new ArrayList<FrameworkMethod>()).when(underTest).computeTestMethods();
+
+        underTest.rowResourceUsage = mock(RowResourceUsage.class);
+        doReturn(asList("line 1", "line 2")).when(underTest.rowResourceUsage).report();
+
+        PrintStream out = mock(PrintStream.class);
+        doReturn(out).when(underTest).getOut();
+
+        // When:
+        underTest.run(notifier);
+
+        // Then:
+        InOrder inOrder = inOrder(out);
+        inOrder.verify(out).println("line 1");
+        inOrder.verify(out).println("line 2");
+    }
+
+    @Test
+    public void testMethodBlockShouldLockStaticAndParameterKeysOfSharedResource() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("sharedResourceMethod"), 0, new Object[] { 5 },
+                "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.resourceLocks = mock(ResourceLocks.class);
+        doAnswer(returnsFirstArg()).when(underTest.resourceLocks).guard(any(Statement.class), anySetOf(String.class),
+                anySetOf(String.class));
+
+        // When:
+        underTest.methodBlock(row).evaluate();
+
+        // Then:
+        verify(underTest.resourceLocks).guard(any(Statement.class), eq(new HashSet<String>(asList("static", "5"))),
+                eq(Collections.<String> emptySet()));
+    }
+
+    @Test
+    public void testMethodBlockShouldLockResourceKeysDeterminedWhileExplodingInsteadOfParameters() throws Throwable {
+        // Given:
+        DataProviderFrameworkMethod row = new DataProviderFrameworkMethod(getMethod("sharedResourceMethod"), 0,
+                new Object[] { 5 }, "%m");
+        row.setResourceKeys(new ResourceKeys(singleton("exploded"), Collections.<String> emptySet()));
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.resourceLocks = mock(ResourceLocks.class);
+        doAnswer(returnsFirstArg()).when(underTest.resourceLocks).guard(any(Statement.class), anySetOf(String.class),
+                anySetOf(String.class));
+
+        // When:
+        underTest.methodBlock(row).evaluate();
+
+        // Then:
+        verify(underTest.resourceLocks).guard(any(Statement.class), eq(singleton("exploded")),
+                eq(Collections.<String> emptySet()));
+    }
+
+    @Test
+    public void testRunChildShouldDeferRowIfItsSharedResourcesAreUsedAndRunByParallelRowScheduler() {
+        // Given:
+        DataProviderFrameworkMethod row = new DataProviderFrameworkMethod(getMethod("sharedResourceMethod"), 0,
+                new Object[] { 5 }, "%m");
+        ResourceKeys keys = new ResourceKeys(Collections.<String> emptySet(), singleton("used"));
+        row.setResourceKeys(keys);
+
+        ParallelRowScheduler scheduler = mock(ParallelRowScheduler.class);
+        doReturn(true).when(scheduler).deferCurrent();
+        underTest.setScheduler(scheduler);
+
+        underTest.resourceLocks = mock(ResourceLocks.class);
+        doReturn(null).when(underTest.resourceLocks).tryLock(keys);
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(row, notifier);
+
+        // Then:
+        verify(scheduler).deferCurrent();
+        verifyZeroInteractions(notifier);
+        verify(underTest, never()).methodBlock(row);
+    }
+
+    @Test
+    public void testRunChildShouldRunRowHoldingLocksOfSharedResourcesIfRunByParallelRowScheduler() {
+        // Given:
+        DataProviderFrameworkMethod row = new DataProviderFrameworkMethod(getMethod("sharedResourceMethod"), 0,
+                new Object[] { 5 }, "%m");
+        ResourceKeys keys = new ResourceKeys(Collections.<String> emptySet(), singleton("free"));
+        row.setResourceKeys(keys);
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        ParallelRowScheduler scheduler = mock(ParallelRowScheduler.class);
+        underTest.setScheduler(scheduler);
+
+        List<Lock> locks = new ArrayList<Lock>();
+        underTest.resourceLocks = mock(ResourceLocks.class);
+        doReturn(locks).when(underTest.resourceLocks).tryLock(keys);
+        doAnswer(returnsFirstArg()).when(underTest.resourceLocks).guard(any(Statement.class), anySetOf(String.class),
+                anySetOf(String.class));
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(row, notifier);
+
+        // Then:
+        InOrder inOrder = inOrder(underTest.resourceLocks, notifier);
+        inOrder.verify(underTest.resourceLocks).tryLock(keys);
+        inOrder.verify(notifier).fireTestStarted(any(Description.class));
+        inOrder.verify(notifier).fireTestFinished(any(Description.class));
+        inOrder.verify(underTest.resourceLocks).unlock(locks);
+        verify(scheduler, never()).deferCurrent();
+    }
+
+    @Test
+    public void testMethodBlockShouldNotLockAnythingWithoutSharedResource() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.resourceLocks = mock(ResourceLocks.class);
+
+        // When:
+        try {
+            underTest.methodBlock(row).evaluate();
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // Then:
+        verifyZeroInteractions(underTest.resourceLocks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMethodBlockShouldThrowIllegalArgumentExceptionIfSharedResourceParameterIndexIsOutOfRange()
+            throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("invalidSharedResourceMethod"), 0,
+                new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        // When:
+        underTest.methodBlock(row).evaluate();
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testRunChildShouldReleaseParametersOfRowAfterRunningItIfEnabled() {
+        // Given:
+        DataProviderFrameworkMethod row = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 5 },
+                "%m[%p[0]]");
+        DataProviderFrameworkMethod batchRow = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 6 }, "%m");
+        FrameworkMethod batch = new DataProviderBatchFrameworkMethod(anyMethod(), null, 0, asList(batchRow));
+
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        System.setProperty(DataProviderRunner.SYSTEM_PROPERTY_RELEASE_PARAMETERS, "true");
+        try {
+            // When:
+            underTest.runChild(row, notifier);
+            underTest.runChild(batch, notifier);
+
+            // Then:
+            assertThat(row.parameters).isNull();
+            assertThat(batchRow.parameters).isNull();
+            assertThat(row.getName()).isEqualTo("anyMethod[5]");
+
+        } finally {
+            System.clearProperty(DataProviderRunner.SYSTEM_PROPERTY_RELEASE_PARAMETERS);
+        }
+    }
+
+    @Test
+    public void testGetFingerprintShouldNotChangeIfParametersAreReleased() {
+        // Given:
+        DataProviderFrameworkMethod row = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1, "a" },
+                "%m[%i: %p[0..-1]]");
+
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+        String fingerprint = underTest.getFingerprint(row);
+
+        // When:
+        row.releaseParameters();
+
+        // Then:
+        assertThat(underTest.getFingerprint(row)).isEqualTo(fingerprint);
+    }
+
+    @Test
+    public void testGetFingerprintShouldBeEqualForSpilledRow() {
+        // Given:
+        Object[] parameters = new Object[] { 1, "a" };
+        RowStore rowStore = new RowStore(getClass().getClassLoader());
+        FrameworkMethod row = new DataProviderFrameworkMethod(anyMethod(), 0, parameters, "%m");
+        FrameworkMethod spilledRow = new SpilledDataProviderFrameworkMethod(anyMethod(), 0, parameters, "%m",
+                rowStore, rowStore.add(parameters));
+
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        // When:
+        String result = underTest.getFingerprint(spilledRow);
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.getFingerprint(row));
+    }
+
+    @Test
+    public void testGetFingerprintShouldNotDependOnIndexAndNameFormatOfRow() {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1, "a" }, "%m");
+        FrameworkMethod movedRow = new DataProviderFrameworkMethod(anyMethod(), 5, new Object[] { 1, "a" },
+                "%m[%i: %p[0..-1]]");
+
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        // When:
+        String result = underTest.getFingerprint(movedRow);
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.getFingerprint(row));
+    }
+
+    @Test
+    public void testGetFingerprintShouldDifferForRowsWithDifferentParameters() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1, "a" }, "%m");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1, "b" }, "%m");
+
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        // When:
+        String result = underTest.getFingerprint(row1);
+
+        // Then:
+        assertThat(result).isNotEqualTo(underTest.getFingerprint(row2));
+    }
+
+    @Test
+    public void testRunChildShouldReportRowAsIgnoredIfRowJournalSkipsIt() {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        String fingerprint = underTest.getFingerprint(row);
+        underTest.rowJournal = mock(RowJournal.class);
+        doReturn(true).when(underTest.rowJournal).isEnabled();
+        doReturn(true).when(underTest.rowJournal).shouldSkip(fingerprint);
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(row, notifier);
+
+        // Then:
+        verify(notifier).fireTestIgnored(any(Description.class));
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    public void testMethodBlockShouldRecordOutcomeInRowJournalIfEnabled() throws Throwable {
+        // Given:
+        FrameworkMethod row = new DataProviderFrameworkMethod(getMethod("failingMethod"), 0, new Object[] { 5 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        underTest.rowJournal = mock(RowJournal.class);
+        doReturn(true).when(underTest.rowJournal).isEnabled();
+
+        // When:
+        try {
+            underTest.methodBlock(row).evaluate();
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // Then:
+        verify(underTest.rowJournal).record(underTest.getFingerprint(row), Status.FAILED);
+    }
+
+    @Test
+    public void testCreateTestShouldReturnNewInstanceForEveryRowIfNotReused() throws Exception {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m");
+        doReturn(DataProviderRunnerTest.class).when(testClass).getJavaClass();
+
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, rowGroup);
+        underTest.rowGroups.put(row2, rowGroup);
+
+        // When:
+        underTest.currentMethod.set(row1);
+        Object result1 = underTest.createTest();
+        underTest.currentMethod.set(row2);
+        Object result2 = underTest.createTest();
+        underTest.currentMethod.remove();
+
+        // Then:
+        assertThat(result1).isInstanceOf(DataProviderRunnerTest.class).isNotSameAs(result2);
+    }
+
+    @Test
+    public void testCreateTestShouldReuseInstanceForRowsOfSameRowGroupAndThreadIfAnnotated() throws Exception {
+        // Given:
+        final FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m");
+        doReturn(mock(ReuseTestInstance.class)).when(testMethod).getAnnotation(ReuseTestInstance.class);
+
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, rowGroup);
+        underTest.rowGroups.put(row2, rowGroup);
+
+        final Object[] resultOfOtherThread = new Object[1];
+        Thread otherThread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    underTest.currentMethod.set(row1);
+                    resultOfOtherThread[0] = underTest.createTest();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        // When:
+        underTest.currentMethod.set(row1);
+        Object result1 = underTest.createTest();
+        underTest.currentMethod.set(row2);
+        Object result2 = underTest.createTest();
+        underTest.currentMethod.remove();
+
+        otherThread.start();
+        otherThread.join();
+
+        // Then:
+        assertThat(result1).isInstanceOf(DataProviderRunnerTest.class).isSameAs(result2);
+        assertThat(resultOfOtherThread[0]).isInstanceOf(DataProviderRunnerTest.class).isNotSameAs(result1);
+    }
+
+    @Test
+    public void testRunChildShouldReportRowsAsFailedWithoutRunningThemIfBeforeDataProviderRowsFails() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m[%i]");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m[%i]");
+
+        doReturn(asList(new FrameworkMethod(getMethod("failingHook")))).when(testClass).getAnnotatedMethods(
+                BeforeDataProviderRows.class);
+
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        rowGroup.addRows(2);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, rowGroup);
+        underTest.rowGroups.put(row2, rowGroup);
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(row1, notifier);
+        underTest.runChild(row2, notifier);
+
+        // Then:
+        ArgumentCaptor<Failure> failure = ArgumentCaptor.forClass(Failure.class);
+        verify(notifier, times(2)).fireTestFailure(failure.capture());
+        verify(underTest, never()).methodBlock(any(FrameworkMethod.class));
+
+        assertThat(failure.getAllValues().get(0).getDescription().getMethodName()).isEqualTo("anyMethod[0]");
+        assertThat(failure.getAllValues().get(1).getDescription().getMethodName()).isEqualTo("anyMethod[1]");
+        assertThat(failure.getValue().getMessage()).isEqualTo("failing hook");
+    }
+
+    @SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+    @Test
+    public void testRunChildShouldRunAfterDataProviderRowsOnlyAfterLastRow() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m[%i]");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m[%i]");
+
+        hookCalls = 0;
+        doReturn(asList(new FrameworkMethod(getMethod("countingHook")))).when(testClass).getAnnotatedMethods(
+                AfterDataProviderRows.class);
+        doReturn(mock(Statement.class)).when(underTest).methodBlock(any(FrameworkMethod.class));
+
+        RowGroup rowGroup = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        rowGroup.addRows(2);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, rowGroup);
+        underTest.rowGroups.put(row2, rowGroup);
+
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        // When:
+        underTest.runChild(row1, notifier);
+        int hookCallsAfterFirstRow = hookCalls;
+        underTest.runChild(row2, notifier);
+
+        // Then:
+        assertThat(hookCallsAfterFirstRow).isEqualTo(0);
+        assertThat(hookCalls).isEqualTo(1);
+        verify(notifier, never()).fireTestFailure(any(Failure.class));
+    }
+
+    @Test
+    public void testGetDescriptionShouldGroupRowsByTestMethodAndDataProviderIfHierarchical() {
+        // Given:
+        FrameworkMethod otherDataProviderMethod = mock(FrameworkMethod.class);
+        doReturn("otherDataProvider").when(otherDataProviderMethod).getName();
+        doReturn("dataProvider").when(dataProviderMethod).getName();
+        doReturn(asList(dataProviderMethod, otherDataProviderMethod)).when(underTest).getDataProviderMethods(testMethod);
+        doReturn(DataProviderRunnerTest.class.getName()).when(testClass).getName();
+        doReturn(new Annotation[0]).when(testMethod).getAnnotations();
+
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m[%i]");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m[%i]");
+        FrameworkMethod row3 = new DataProviderFrameworkMethod(anyMethod(), 2, new Object[] { 3 }, "%m[%i]");
+        FrameworkMethod plainMethod = new FrameworkMethod(getMethod("failingMethod"));
+
+        underTest.computedTestMethods = asList(row1, plainMethod, row2, row3);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, new RowGroup(testMethod, dataProviderMethod, dataProvider));
+        underTest.rowGroups.put(row2, underTest.rowGroups.get(row1));
+        underTest.rowGroups.put(row3, new RowGroup(testMethod, otherDataProviderMethod, dataProvider));
+
+        System.setProperty(DataProviderRunner.SYSTEM_PROPERTY_HIERARCHICAL_DESCRIPTION, "true");
+        try {
+            // When:
+            Description result = underTest.getDescription();
+
+            // Then:
+            assertThat(result.getChildren()).hasSize(2);
+            Description testMethodSuite = result.getChildren().get(0);
+            assertThat(testMethodSuite.isSuite()).isTrue();
+            assertThat(testMethodSuite.getMethodName()).isEqualTo("testMethod");
+            assertThat(testMethodSuite.testCount()).isEqualTo(3);
+            assertThat(testMethodSuite.getChildren()).hasSize(2);
+            assertThat(testMethodSuite.getChildren().get(0).getChildren()).hasSize(2);
+            assertThat(testMethodSuite.getChildren().get(1).getDisplayName()).startsWith("testMethod[otherDataProvider]");
+            assertThat(result.getChildren().get(1).getMethodName()).isEqualTo("failingMethod");
+
+            assertThat(underTest.getDescription()).isSameAs(result);
+
+        } finally {
+            System.clearProperty(DataProviderRunner.SYSTEM_PROPERTY_HIERARCHICAL_DESCRIPTION);
+        }
+    }
+
+    @Test
+    public void testGetDescriptionShouldReturnFlatDescriptionByDefault() {
+        // Given:
+        FrameworkMethod row1 = new DataProviderFrameworkMethod(anyMethod(), 0, new Object[] { 1 }, "%m[%i]");
+        FrameworkMethod row2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 2 }, "%m[%i]");
+
+        underTest.computedTestMethods = asList(row1, row2);
+        underTest.rowGroups = new IdentityHashMap<FrameworkMethod, RowGroup>();
+        underTest.rowGroups.put(row1, new RowGroup(testMethod, dataProviderMethod, dataProvider));
+        underTest.rowGroups.put(row2, underTest.rowGroups.get(row1));
+
+        // When:
+        Description result = underTest.getDescription();
+
+        // Then:
+        assertThat(result.getChildren()).hasSize(2);
+        assertThat(result.getChildren().get(0).isTest()).isTrue();
+    }
+
     @Test
     public void testGetDataProviderMethodShouldInitializeMapUsedForCaching() {
         // Given:
@@ -682,6 +1759,39 @@ public class DataProviderRunnerTest extends BaseTest {
         assertThat(result).isNotNull().isInstanceOf(PrivateDefaultConstructor.class);
     }
 
+    // -- helper methods to find non-mockable Method objects (due to final :-( ) ---------------------------------------
+
+    public void failingMethod(int row) {
+        throw new IllegalStateException("failing row " + row);
+    }
+
+    @DataProviderBenchmark(warmupIterations = 1, iterations = 2)
+    public void benchmarkedMethod(int row) {
+        benchmarkCalls++;
+    }
+
+    @SharedResource(value = "static", parameters = 0, mode = SharedResource.Mode.READ)
+    public void sharedResourceMethod(int row) {
+        // nothing to do
+    }
+
+    @SharedResource(parameters = 1)
+    public void invalidSharedResourceMethod(int row) {
+        // nothing to do
+    }
+
+    public static Future<Object[][]> asyncDataProvider() {
+        return null;
+    }
+
+    public static void failingHook() {
+        throw new IllegalStateException("failing hook");
+    }
+
+    public static void countingHook() {
+        hookCalls++;
+    }
+
     // -- helper classes to test with ------------------------------------------------------------------------------------------------------
 
     private static class NoDefaultConstructor implements DataProviderMethodResolver {
@@ -2,8 +2,10 @@ package com.tngtech.java.junit.dataprovider;
 
 import static com.tngtech.java.junit.dataprovider.DataProviders.$;
 import static com.tngtech.java.junit.dataprovider.DataProviders.$$;
+import static com.tngtech.java.junit.dataprovider.DataProviders.allPairs;
 import static com.tngtech.java.junit.dataprovider.DataProviders.testForEach;
 import static com.tngtech.java.junit.dataprovider.DataProviders.crossProduct;
+import static com.tngtech.java.junit.dataprovider.DataProviders.tWise;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
@@ -226,4 +228,70 @@ public class DataProvidersTest extends BaseTest {
         // Then:
         assertThat(result).isEqualTo(new Object[][] { {1, 4}, { 1, 5 }, { 2, 4 }, { 2, 5 }, { 3, 4 }, { 3, 5 } });
     }
+
+    @Test(expected = NullPointerException.class)
+    public void testTWiseShouldThrowNullPointerExceptionForNullArg() {
+        // Given:
+
+        // When:
+        tWise(2, 0, (Object[][][]) null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testAllPairsShouldReturnEmptyWhenAnySideIsEmpty() {
+        // Given:
+
+        // When:
+        Object[][] result = allPairs(testForEach(1, 2, 3), testForEach(), testForEach(4, 5));
+
+        // Then:
+        assertThat(result).isEqualTo(new Object[][] {});
+    }
+
+    @Test
+    public void testAllPairsShouldReturnTheCrossProductForTwoDataProviders() {
+        // Given:
+
+        // When:
+        Object[][] result = allPairs(testForEach(1, 2, 3), testForEach(4, 5));
+
+        // Then:
+        assertThat(result).hasSize(6).contains($(1, 4), $(1, 5), $(2, 4), $(2, 5), $(3, 4), $(3, 5));
+    }
+
+    @Test
+    public void testAllPairsShouldConcatenateRowsAndCoverAllPairs() {
+        // Given:
+        Object[][] rows1 = $$($("a", 1), $("b", 2), $("c", 3));
+        Object[][] rows2 = testForEach(true, false);
+        Object[][] rows3 = testForEach(TestEnum.class);
+
+        // When:
+        Object[][] result = allPairs(rows1, rows2, rows3);
+
+        // Then:
+        assertThat(result.length).isLessThan(3 * 2 * 3);
+        Set<String> pairs = new HashSet<String>();
+        for (Object[] row : result) {
+            assertThat(row).hasSize(4);
+            pairs.add(row[0] + "-" + row[2]);
+            pairs.add(row[0] + "-" + row[3]);
+            pairs.add(row[2] + "-" + row[3]);
+        }
+        assertThat(pairs).hasSize(3 * 2 + 3 * 3 + 2 * 3);
+    }
+
+    @Test
+    public void testTWiseShouldReturnSameResultForSameSeed() {
+        // Given:
+
+        // When:
+        Object[][] result1 = tWise(2, 7L, testForEach(1, 2, 3), testForEach(4, 5, 6), testForEach(7, 8, 9), testForEach(0, 1));
+        Object[][] result2 = tWise(2, 7L, testForEach(1, 2, 3), testForEach(4, 5, 6), testForEach(7, 8, 9), testForEach(0, 1));
+
+        // Then:
+        assertThat(result1).isEqualTo(result2);
+    }
 }
@@ -0,0 +1,66 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import org.junit.Test;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+public class InitializationErrorFrameworkMethodTest extends BaseTest {
+
+    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
+    @Test(expected = NullPointerException.class)
+    public void testInitializationErrorFrameworkMethodShouldThrowNullPointerExceptionIfErrorIsNull() {
+        // Given:
+
+        // When:
+        @SuppressWarnings("unused")
+        InitializationErrorFrameworkMethod underTest = new InitializationErrorFrameworkMethod(anyMethod(), null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGetNameShouldReturnNameOfTestMethod() {
+        // Given:
+        InitializationErrorFrameworkMethod underTest = new InitializationErrorFrameworkMethod(anyMethod(),
+                new Error("Cannot explode"));
+
+        // When:
+        String result = underTest.getName();
+
+        // Then:
+        assertThat(result).isEqualTo("anyMethod");
+    }
+
+    @Test
+    public void testInvokeExplosivelyShouldThrowError() throws Throwable {
+        // Given:
+        Error error = new Error("Cannot explode");
+        InitializationErrorFrameworkMethod underTest = new InitializationErrorFrameworkMethod(anyMethod(), error);
+
+        // When:
+        try {
+            underTest.invokeExplosively(this);
+            fail("expected error to be thrown");
+
+            // Then:
+        } catch (Error e) {
+            assertThat(e).isSameAs(error);
+        }
+    }
+
+    @Test
+    public void testEqualsShouldReturnFalseForOtherInstanceWithSameMethod() {
+        // Given:
+        InitializationErrorFrameworkMethod underTest = new InitializationErrorFrameworkMethod(anyMethod(),
+                new Error());
+
+        // When:
+        boolean result = underTest.equals(new InitializationErrorFrameworkMethod(anyMethod(), new Error()));
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+}
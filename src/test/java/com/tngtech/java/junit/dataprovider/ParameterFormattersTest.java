@@ -0,0 +1,121 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ParameterFormattersTest extends BaseTest {
+
+    private final ParameterFormatter<Object> objectFormatter = new NamedFormatter<Object>("object");
+    private final ParameterFormatter<Object> collectionFormatter = new NamedFormatter<Object>("collection");
+    private final ParameterFormatter<Object> listFormatter = new NamedFormatter<Object>("list");
+
+    @After
+    public void tearDown() {
+        ParameterFormatters.reset();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRegisterShouldThrowNullPointerExceptionIfTypeIsNull() {
+        // Given:
+
+        // When:
+        ParameterFormatters.register(null, objectFormatter);
+
+        // Then: expect exception
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRegisterShouldThrowNullPointerExceptionIfFormatterIsNull() {
+        // Given:
+
+        // When:
+        ParameterFormatters.register(Object.class, null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGetShouldReturnNullIfNoFormatterIsRegistered() {
+        // Given:
+
+        // When:
+        ParameterFormatter<Object> result = ParameterFormatters.get(String.class);
+
+        // Then:
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void testGetShouldPreferSuperclassesOverInterfaces() {
+        // Given:
+        ParameterFormatters.register(Object.class, objectFormatter);
+        ParameterFormatters.register(Serializable.class, new NamedFormatter<Serializable>("serializable"));
+
+        // When:
+        ParameterFormatter<Object> result = ParameterFormatters.get(ArrayList.class);
+
+        // Then:
+        assertThat(result).isSameAs(objectFormatter);
+    }
+
+    @Test
+    public void testGetShouldReturnMostSpecificInterfaceFormatter() {
+        // Given:
+        ParameterFormatters.register(Collection.class, collectionFormatter);
+        ParameterFormatters.register(List.class, listFormatter);
+
+        // When:
+        ParameterFormatter<Object> result = ParameterFormatters.get(ArrayList.class);
+
+        // Then:
+        assertThat(result).isSameAs(listFormatter);
+    }
+
+    @Test
+    public void testGetShouldNotReturnCachedResultAfterFurtherRegistration() {
+        // Given:
+        ParameterFormatters.register(Collection.class, collectionFormatter);
+        assertThat(ParameterFormatters.get(ArrayList.class)).isSameAs(collectionFormatter);
+
+        ParameterFormatters.register(ArrayList.class, listFormatter);
+
+        // When:
+        ParameterFormatter<Object> result = ParameterFormatters.get(ArrayList.class);
+
+        // Then:
+        assertThat(result).isSameAs(listFormatter);
+    }
+
+    @Test
+    public void testResetShouldRemoveAllFormatters() {
+        // Given:
+        ParameterFormatters.register(Object.class, objectFormatter);
+        assertThat(ParameterFormatters.get(String.class)).isSameAs(objectFormatter);
+
+        // When:
+        ParameterFormatters.reset();
+
+        // Then:
+        assertThat(ParameterFormatters.get(String.class)).isNull();
+    }
+
+    private static class NamedFormatter<T> implements ParameterFormatter<T> {
+        private final String name;
+
+        NamedFormatter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String format(T parameter) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.tngtech.java.junit.dataprovider.internal.placeholder.BasePlaceholder;
+import com.tngtech.java.junit.dataprovider.internal.placeholder.CanonicalClassNamePlaceholder;
+
+public class PlaceholdersTest extends BaseTest {
+
+    @After
+    public void tearDown() {
+        Placeholders.reset();
+    }
+
+    @Test
+    public void testResetShouldRemoveAddedPlaceholdersAndRestoreDefaults() {
+        // Given:
+        BasePlaceholder placeholder = mock(BasePlaceholder.class);
+        Placeholders.all().add(0, placeholder);
+        Placeholders.all().remove(1);
+
+        // When:
+        Placeholders.reset();
+
+        // Then:
+        assertThat(Placeholders.all()).hasSize(6).doesNotContain(placeholder);
+        assertThat(Placeholders.all().get(0)).isInstanceOf(CanonicalClassNamePlaceholder.class);
+    }
+
+    @Test
+    public void testAllShouldSupportRemovingPlaceholderByIdentity() {
+        // Given:
+        BasePlaceholder placeholder = mock(BasePlaceholder.class);
+        Placeholders.all().add(0, placeholder);
+
+        // When:
+        boolean result = Placeholders.all().remove(placeholder);
+
+        // Then:
+        assertThat(result).isTrue();
+        assertThat(Placeholders.all()).hasSize(6).doesNotContain(placeholder);
+    }
+
+    @Test
+    public void testResetShouldNeverExposeMixtureOfPreviousAndDefaultPlaceholdersToConcurrentReaders()
+            throws Exception {
+        // Given:
+        final BasePlaceholder placeholder = mock(BasePlaceholder.class);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<List<BasePlaceholder>> mixture = new AtomicReference<List<BasePlaceholder>>();
+
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!done.get()) {
+                    List<BasePlaceholder> snapshot = new ArrayList<BasePlaceholder>();
+                    for (BasePlaceholder each : Placeholders.all()) {
+                        snapshot.add(each);
+                    }
+                    boolean previous = snapshot.size() == 7 && snapshot.get(0) == placeholder;
+                    boolean defaults = snapshot.size() == 6 && !snapshot.contains(placeholder);
+                    if (!previous && !defaults) {
+                        mixture.set(snapshot);
+                    }
+                }
+            }
+        });
+        reader.start();
+
+        // When:
+        try {
+            for (int idx = 0; idx < 2000; idx++) {
+                Placeholders.all().add(0, placeholder);
+                Placeholders.reset();
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+
+        // Then:
+        assertThat(mixture.get()).isNull();
+    }
+}
@@ -0,0 +1,161 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+public class CoveringArrayGeneratorTest extends BaseTest {
+
+    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
+    @Test(expected = IllegalArgumentException.class)
+    public void testCoveringArrayGeneratorShouldThrowIllegalArgumentExceptionIfStrengthIsZero() {
+        // Given:
+
+        // When:
+        @SuppressWarnings("unused")
+        CoveringArrayGenerator result = new CoveringArrayGenerator(0, 0);
+
+        // Then: expect exception
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGenerateShouldThrowNullPointerExceptionIfDimensionSizesAreNull() {
+        // Given:
+        CoveringArrayGenerator underTest = new CoveringArrayGenerator(2, 0);
+
+        // When:
+        underTest.generate(null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGenerateShouldReturnEmptyListIfNoDimensionIsGiven() {
+        // Given:
+        CoveringArrayGenerator underTest = new CoveringArrayGenerator(2, 0);
+
+        // When:
+        List<int[]> result = underTest.generate(new int[0]);
+
+        // Then:
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testGenerateShouldReturnEmptyListIfAnyDimensionIsEmpty() {
+        // Given:
+        CoveringArrayGenerator underTest = new CoveringArrayGenerator(2, 0);
+
+        // When:
+        List<int[]> result = underTest.generate(new int[] { 3, 0, 2 });
+
+        // Then:
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void testGenerateShouldReturnCrossProductIfStrengthIsGreaterOrEqualToNumberOfDimensions() {
+        // Given:
+        CoveringArrayGenerator underTest = new CoveringArrayGenerator(3, 0);
+
+        // When:
+        List<int[]> result = underTest.generate(new int[] { 3, 2 });
+
+        // Then:
+        assertThat(result).hasSize(6);
+        assertAllTuplesCovered(result, new int[] { 3, 2 }, 2);
+    }
+
+    @Test
+    public void testGenerateShouldCoverAllPairsWithFewerRowsThanCrossProduct() {
+        // Given:
+        int[] dimensionSizes = new int[] { 3, 3, 3, 3 };
+        CoveringArrayGenerator underTest = new CoveringArrayGenerator(2, 0);
+
+        // When:
+        List<int[]> result = underTest.generate(dimensionSizes);
+
+        // Then:
+        assertThat(result.size()).isBetween(9, 15);
+        assertAllTuplesCovered(result, dimensionSizes, 2);
+    }
+
+    @Test
+    public void testGenerateShouldCoverAllTriplesForStrengthThree() {
+        // Given:
+        int[] dimensionSizes = new int[] { 2, 3, 2, 4, 2 };
+        CoveringArrayGenerator underTest = new CoveringArrayGenerator(3, 17);
+
+        // When:
+        List<int[]> result = underTest.generate(dimensionSizes);
+
+        // Then:
+        assertThat(result.size()).isLessThan(2 * 3 * 2 * 4 * 2);
+        assertAllTuplesCovered(result, dimensionSizes, 3);
+    }
+
+    @Test
+    public void testGenerateShouldReturnSameResultForSameSeed() {
+        // Given:
+        int[] dimensionSizes = new int[] { 4, 3, 5, 2, 3 };
+
+        // When:
+        List<int[]> result1 = new CoveringArrayGenerator(2, 42).generate(dimensionSizes);
+        List<int[]> result2 = new CoveringArrayGenerator(2, 42).generate(dimensionSizes);
+
+        // Then:
+        assertThat(result1).hasSameSizeAs(result2);
+        for (int idx = 0; idx < result1.size(); idx++) {
+            assertThat(result1.get(idx)).describedAs("at idx " + idx).isEqualTo(result2.get(idx));
+        }
+    }
+
+    // -- Assertion helper ---------------------------------------------------------------------------------------------
+
+    private void assertAllTuplesCovered(List<int[]> rows, int[] dimensionSizes, int t) {
+        int expected = 0;
+        Set<String> tuples = new HashSet<String>();
+        for (int[] dims : combinations(dimensionSizes.length, t)) {
+            int count = 1;
+            for (int dim : dims) {
+                count *= dimensionSizes[dim];
+            }
+            expected += count;
+
+            for (int[] row : rows) {
+                StringBuilder tuple = new StringBuilder();
+                for (int dim : dims) {
+                    tuple.append(dim).append('=').append(row[dim]).append(';');
+                }
+                tuples.add(tuple.toString());
+            }
+        }
+        assertThat(tuples).hasSize(expected);
+    }
+
+    private List<int[]> combinations(int n, int t) {
+        List<int[]> result = new ArrayList<int[]>();
+        for (int mask = 0; mask < (1 << n); mask++) {
+            if (Integer.bitCount(mask) == t) {
+                int[] dims = new int[t];
+                int pos = 0;
+                for (int dim = 0; dim < n; dim++) {
+                    if ((mask & (1 << dim)) != 0) {
+                        dims[pos++] = dim;
+                    }
+                }
+                result.add(dims);
+            }
+        }
+        return result;
+    }
+}
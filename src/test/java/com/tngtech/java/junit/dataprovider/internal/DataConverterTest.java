@@ -1,6 +1,9 @@
 package com.tngtech.java.junit.dataprovider.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -9,13 +12,17 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import com.tngtech.java.junit.dataprovider.BaseTest;
 import com.tngtech.java.junit.dataprovider.DataProvider;
@@ -242,6 +249,54 @@ public class DataConverterTest extends BaseTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    public void testCanConvertShouldReturnTrueIfTypeIsFutureOfObjectArrayArray() {
+        // Given:
+        Type type = getMethod("methodReturningFutureOfObjectArrayArray").getGenericReturnType();
+
+        // When:
+        boolean result = underTest.canConvert(type);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testCanConvertShouldReturnTrueIfTypeIsFutureTaskOfWildcardExtendingListOfListOfObject() {
+        // Given:
+        Type type = getMethod("methodReturningFutureTaskOfWildcardExtendingListOfListOfObject").getGenericReturnType();
+
+        // When:
+        boolean result = underTest.canConvert(type);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testCanConvertShouldReturnFalseIfTypeIsFutureOfString() {
+        // Given:
+        Type type = getMethod("methodReturningFutureOfString").getGenericReturnType();
+
+        // When:
+        boolean result = underTest.canConvert(type);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testCanConvertShouldReturnFalseIfTypeIsRawFuture() {
+        // Given:
+        Type type = Future.class;
+
+        // When:
+        boolean result = underTest.canConvert(type);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
     @Test(expected = NullPointerException.class)
     public void testConvertShouldThrowNullPointerExceptionIfParameterTypesIsNull() {
         // Given:
@@ -335,6 +390,29 @@ public class DataConverterTest extends BaseTest {
         verifyNoMoreInteractions(objectArrayConverter, singleArgConverter, stringConverter);
     }
 
+    @Test
+    public void testConvertShouldAddEachConvertedRowToGivenResultBeforeConvertingNextRow() {
+        // Given:
+        Object[][] data = new Object[][] { { "11" }, { "22" } };
+        Class<?>[] parameterTypes = new Class<?>[] { String.class };
+
+        final List<Object[]> result = new ArrayList<Object[]>();
+        doAnswer(new Answer<Object[]>() {
+            @Override
+            public Object[] answer(InvocationOnMock invocation) {
+                return new Object[] { result.size() };
+            }
+        }).when(objectArrayConverter).convert(any(Object[].class), anyBoolean(), any(Class[].class));
+
+        // When:
+        underTest.convert(data, false, parameterTypes, dataProvider, result);
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsExactly(0);
+        assertThat(result.get(1)).containsExactly(1);
+    }
+
     @Test
     public void testConvertShouldCallObjectArrayConverterOnlyOnceForListOfListOfObjectWithOneElement() {
         // Given:
@@ -533,4 +611,16 @@ public class DataConverterTest extends BaseTest {
     public static SubList<SubList<Object>> methodReturningSubListOfSubListOfObject() {
         return null;
     }
+
+    public static Future<Object[][]> methodReturningFutureOfObjectArrayArray() {
+        return null;
+    }
+
+    public static FutureTask<? extends List<List<Object>>> methodReturningFutureTaskOfWildcardExtendingListOfListOfObject() {
+        return null;
+    }
+
+    public static Future<String> methodReturningFutureOfString() {
+        return null;
+    }
 }
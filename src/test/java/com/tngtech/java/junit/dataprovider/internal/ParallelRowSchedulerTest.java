@@ -0,0 +1,138 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+
+public class ParallelRowSchedulerTest extends BaseTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelRowSchedulerShouldThrowIllegalArgumentExceptionIfThreadsIsNotPositive() {
+        // Given:
+
+        // When:
+        new ParallelRowScheduler(0);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testFinishedShouldWaitUntilAllScheduledChildrenRanConcurrently() {
+        // Given:
+        final CountDownLatch allStarted = new CountDownLatch(2);
+        final AtomicInteger finished = new AtomicInteger();
+        final Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        ParallelRowScheduler underTest = new ParallelRowScheduler(2);
+        for (int idx = 0; idx < 2; idx++) {
+            underTest.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    threadNames.add(Thread.currentThread().getName());
+                    allStarted.countDown();
+                    try {
+                        // both children must run at the same time to finish
+                        if (allStarted.await(10, TimeUnit.SECONDS)) {
+                            finished.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        // When:
+        underTest.finished();
+
+        // Then:
+        assertThat(finished.get()).isEqualTo(2);
+        assertThat(threadNames).hasSize(2);
+        for (String threadName : threadNames) {
+            assertThat(threadName).startsWith("junit-dataprovider-rows-");
+        }
+    }
+
+    @Test
+    public void testDeferCurrentShouldReturnFalseIfNotCalledByScheduledChild() {
+        // Given:
+        ParallelRowScheduler underTest = new ParallelRowScheduler(1);
+
+        // When:
+        boolean result = underTest.deferCurrent();
+
+        // Then:
+        assertThat(result).isFalse();
+        underTest.finished();
+    }
+
+    @Test
+    public void testDeferCurrentShouldReturnFalseIfNoOtherChildIsPending() {
+        // Given:
+        final ParallelRowScheduler underTest = new ParallelRowScheduler(2);
+        final List<Boolean> results = new CopyOnWriteArrayList<Boolean>();
+
+        underTest.schedule(new Runnable() {
+            @Override
+            public void run() {
+                results.add(underTest.deferCurrent());
+            }
+        });
+
+        // When:
+        underTest.finished();
+
+        // Then:
+        assertThat(results).containsExactly(false);
+    }
+
+    @Test
+    public void testDeferCurrentShouldRunChildAgainAfterAnotherChildHasFinished() {
+        // Given:
+        final ParallelRowScheduler underTest = new ParallelRowScheduler(2);
+        final CountDownLatch deferred = new CountDownLatch(1);
+        final List<String> events = new CopyOnWriteArrayList<String>();
+
+        underTest.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    // finish only after the other child has been deferred
+                    if (deferred.await(10, TimeUnit.SECONDS)) {
+                        events.add("other finished");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        underTest.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (deferred.getCount() > 0 && underTest.deferCurrent()) {
+                    events.add("deferred");
+                    deferred.countDown();
+                    return;
+                }
+                events.add("run");
+            }
+        });
+
+        // When:
+        underTest.finished();
+
+        // Then:
+        assertThat(events).containsExactly("deferred", "other finished", "run");
+    }
+}
@@ -0,0 +1,117 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.SharedResource;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResourceKeysTest extends BaseTest {
+
+    @Mock
+    private FrameworkMethod testMethod;
+    @Mock
+    private FrameworkMethod dataProviderMethod;
+    @Mock
+    private SharedResource readResource;
+    @Mock
+    private SharedResource writeResource;
+
+    @Before
+    public void setup() {
+        doReturn(new String[] { "static" }).when(readResource).value();
+        doReturn(new int[] { 0 }).when(readResource).parameters();
+        doReturn(SharedResource.Mode.READ).when(readResource).mode();
+
+        doReturn(new String[0]).when(writeResource).value();
+        doReturn(new int[] { 1 }).when(writeResource).parameters();
+        doReturn(SharedResource.Mode.READ_WRITE).when(writeResource).mode();
+    }
+
+    @Test
+    public void testGetSharedResourcesShouldCombineAnnotationsOfTestAndDataProviderMethod() {
+        // Given:
+        doReturn(readResource).when(testMethod).getAnnotation(SharedResource.class);
+        doReturn(writeResource).when(dataProviderMethod).getAnnotation(SharedResource.class);
+
+        // When:
+        List<SharedResource> result = ResourceKeys.getSharedResources(testMethod, dataProviderMethod);
+
+        // Then:
+        assertThat(result).containsExactly(readResource, writeResource);
+        assertThat(ResourceKeys.hasParameterKeys(result)).isTrue();
+    }
+
+    @Test
+    public void testOfShouldReturnNoneWithoutSharedResources() {
+        // Given:
+
+        // When:
+        ResourceKeys result = ResourceKeys.of(Collections.<SharedResource> emptyList(), anyMethod(), new Object[] { 1 });
+
+        // Then:
+        assertThat(result).isSameAs(ResourceKeys.NONE);
+        assertThat(result.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testOfShouldReturnStaticAndParameterKeysPerMode() {
+        // Given:
+
+        // When:
+        ResourceKeys result = ResourceKeys.of(asList(readResource, writeResource), anyMethod(), new Object[] { 1, "a" });
+
+        // Then:
+        assertThat(result.getReadKeys()).containsOnly("static", "1");
+        assertThat(result.getWriteKeys()).containsOnly("a");
+    }
+
+    @Test
+    public void testOfShouldOnlyReturnStaticKeysIfParametersAreNull() {
+        // Given:
+
+        // When:
+        ResourceKeys result = ResourceKeys.of(asList(readResource, writeResource), anyMethod(), null);
+
+        // Then:
+        assertThat(result.getReadKeys()).containsOnly("static");
+        assertThat(result.getWriteKeys()).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfShouldThrowIllegalArgumentExceptionIfParameterIndexIsOutOfRange() {
+        // Given:
+
+        // When:
+        ResourceKeys.of(asList(writeResource), anyMethod(), new Object[] { 1 });
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testUnionShouldCombineReadAndWriteKeys() {
+        // Given:
+        ResourceKeys underTest = new ResourceKeys(singleton("a"), singleton("b"));
+
+        // When:
+        ResourceKeys result = underTest.union(new ResourceKeys(singleton("c"), singleton("a")));
+
+        // Then:
+        assertThat(result.getReadKeys()).containsOnly("a", "c");
+        assertThat(result.getWriteKeys()).containsOnly("a", "b");
+        assertThat(underTest.union(ResourceKeys.NONE)).isSameAs(underTest);
+    }
+}
@@ -0,0 +1,219 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Test;
+import org.junit.runners.model.Statement;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+
+public class ResourceLocksTest extends BaseTest {
+
+    private final ResourceLocks underTest = new ResourceLocks();
+
+    private final Set<String> noKeys = Collections.<String> emptySet();
+
+    @Test(expected = NullPointerException.class)
+    public void testGuardShouldThrowNullPointerExceptionIfStatementIsNull() {
+        // Given:
+
+        // When:
+        underTest.guard(null, noKeys, noKeys);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGuardShouldReturnGivenStatementIfThereAreNoKeys() {
+        // Given:
+        Statement statement = new NoopStatement();
+
+        // When:
+        Statement result = underTest.guard(statement, noKeys, noKeys);
+
+        // Then:
+        assertThat(result).isSameAs(statement);
+    }
+
+    @Test
+    public void testGetLockShouldReturnSameLockForSameKey() {
+        // Given:
+
+        // When:
+        Object result1 = underTest.getLock("key");
+        Object result2 = underTest.getLock("key");
+
+        // Then:
+        assertThat(result1).isSameAs(result2).isNotSameAs(underTest.getLock("other"));
+    }
+
+    @Test
+    public void testGuardShouldHoldWriteLockWhileEvaluatingAndReleaseItAfterwards() throws Throwable {
+        // Given:
+        final AtomicBoolean lockedWhileEvaluating = new AtomicBoolean();
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                lockedWhileEvaluating.set(!tryLockFromOtherThread("a", true));
+            }
+        };
+
+        // When:
+        underTest.guard(statement, noKeys, singleton("a")).evaluate();
+
+        // Then:
+        assertThat(lockedWhileEvaluating.get()).isTrue();
+        assertThat(tryLockFromOtherThread("a", true)).isTrue();
+    }
+
+    @Test
+    public void testGuardShouldAllowConcurrentReadersButNoWriterForReadKeys() throws Throwable {
+        // Given:
+        final AtomicBoolean readable = new AtomicBoolean();
+        final AtomicBoolean writable = new AtomicBoolean();
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                readable.set(tryLockFromOtherThread("a", false));
+                writable.set(tryLockFromOtherThread("a", true));
+            }
+        };
+
+        // When:
+        underTest.guard(statement, singleton("a"), noKeys).evaluate();
+
+        // Then:
+        assertThat(readable.get()).isTrue();
+        assertThat(writable.get()).isFalse();
+    }
+
+    @Test
+    public void testGuardShouldLockKeyContainedInReadAndWriteKeysForWriting() throws Throwable {
+        // Given:
+        final AtomicBoolean readable = new AtomicBoolean();
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                readable.set(tryLockFromOtherThread("a", false));
+            }
+        };
+
+        // When:
+        underTest.guard(statement, singleton("a"), singleton("a")).evaluate();
+
+        // Then:
+        assertThat(readable.get()).isFalse();
+    }
+
+    @Test
+    public void testGuardShouldReleaseLocksIfStatementThrows() throws Throwable {
+        // Given:
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() {
+                throw new IllegalStateException("failing row");
+            }
+        };
+
+        // When:
+        try {
+            underTest.guard(statement, singleton("a"), singleton("b")).evaluate();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // Then:
+        assertThat(tryLockFromOtherThread("a", true)).isTrue();
+        assertThat(tryLockFromOtherThread("b", true)).isTrue();
+    }
+
+    @Test
+    public void testTryLockShouldReturnNullAndReleaseAcquiredLocksIfAnyKeyIsLockedByOtherThread() throws Exception {
+        // Given:
+        List<Lock> locks = underTest.tryLock(new ResourceKeys(noKeys, singleton("b")));
+
+        // When:
+        List<Lock> result;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            result = executor.submit(new Callable<List<Lock>>() {
+                @Override
+                public List<Lock> call() {
+                    return underTest.tryLock(new ResourceKeys(noKeys, new HashSet<String>(asList("a", "b"))));
+                }
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+            underTest.unlock(locks);
+        }
+
+        // Then:
+        assertThat(result).isNull();
+        assertThat(tryLockFromOtherThread("a", true)).isTrue();
+    }
+
+    @Test
+    public void testTryLockShouldHoldLocksUntilUnlockedAndAllowGuardOfSameKeysMeanwhile() throws Throwable {
+        // Given:
+        final AtomicBoolean evaluated = new AtomicBoolean();
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() {
+                evaluated.set(true);
+            }
+        };
+
+        // When:
+        List<Lock> result = underTest.tryLock(new ResourceKeys(singleton("a"), singleton("b")));
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(tryLockFromOtherThread("b", false)).isFalse();
+
+        underTest.guard(statement, singleton("a"), singleton("b")).evaluate();
+        assertThat(evaluated.get()).isTrue();
+
+        underTest.unlock(result);
+        assertThat(tryLockFromOtherThread("a", true)).isTrue();
+        assertThat(tryLockFromOtherThread("b", true)).isTrue();
+    }
+
+    private boolean tryLockFromOtherThread(final String key, final boolean write) throws InterruptedException {
+        final AtomicBoolean result = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1);
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Lock lock = write ? underTest.getLock(key).writeLock() : underTest.getLock(key).readLock();
+                if (lock.tryLock()) {
+                    lock.unlock();
+                    result.set(true);
+                }
+                done.countDown();
+            }
+        }).start();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        return result.get();
+    }
+
+    private static class NoopStatement extends Statement {
+        @Override
+        public void evaluate() {
+            // nothing to do
+        }
+    }
+}
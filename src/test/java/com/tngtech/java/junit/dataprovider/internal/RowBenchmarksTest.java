@@ -0,0 +1,161 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.model.Statement;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.internal.RowBenchmarks.Result;
+
+public class RowBenchmarksTest extends BaseTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetInstanceShouldReturnSameInstanceForSamePaths() {
+        // Given:
+        String path = new File(temporaryFolder.getRoot(), "results").getPath();
+
+        // When:
+        RowBenchmarks result1 = RowBenchmarks.getInstance(path, null);
+        RowBenchmarks result2 = RowBenchmarks.getInstance(path, null);
+
+        // Then:
+        assertThat(result1).isSameAs(result2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMeasureShouldThrowIllegalArgumentExceptionIfIterationsIsZero() throws Throwable {
+        // Given:
+
+        // When:
+        RowBenchmarks.measure(new CountingStatement(), 1, 0, 1);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testMeasureShouldEvaluateInvocationForWarmupAndMeasuredIterations() throws Throwable {
+        // Given:
+        CountingStatement invocation = new CountingStatement();
+
+        // When:
+        Result result = RowBenchmarks.measure(invocation, 2, 3, 4);
+
+        // Then:
+        assertThat(invocation.count.get()).isEqualTo((2 + 3) * 4);
+        assertThat(result.getIterations()).isEqualTo(3);
+        assertThat(result.getNanosPerOperation()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void testToResultShouldCalculateMeanAndErrorOfConfidenceInterval() {
+        // Given:
+        double[] nanosPerOperation = { 90, 100, 110, 100 };
+
+        // When:
+        Result result = RowBenchmarks.toResult(nanosPerOperation);
+
+        // Then:
+        assertThat(result.getNanosPerOperation()).isEqualTo(100.0, offset(0.001));
+        // standard deviation = sqrt(200 / 3), error = 1.96 * sd / sqrt(4)
+        assertThat(result.getError()).isEqualTo(8.002, offset(0.001));
+        assertThat(result.getIterations()).isEqualTo(4);
+    }
+
+    @Test
+    public void testToResultShouldReturnZeroErrorForSingleIteration() {
+        // Given:
+
+        // When:
+        Result result = RowBenchmarks.toResult(new double[] { 42 });
+
+        // Then:
+        assertThat(result.getNanosPerOperation()).isEqualTo(42.0, offset(0.001));
+        assertThat(result.getError()).isEqualTo(0.0, offset(0.001));
+    }
+
+    @Test
+    public void testIsSlowerThanShouldOnlyReturnTrueIfLowerBoundExceedsAllowedRegression() {
+        // Given:
+        Result baseline = new Result(100, 5, 10);
+
+        // When / Then:
+        assertThat(new Result(115, 10, 10).isSlowerThan(baseline, 0.1)).isFalse();
+        assertThat(new Result(125, 10, 10).isSlowerThan(baseline, 0.1)).isTrue();
+        assertThat(new Result(125, 10, 10).isSlowerThan(baseline, 0.2)).isFalse();
+    }
+
+    @Test
+    public void testLoadBaselineShouldIgnoreCorruptLines() throws Exception {
+        // Given:
+        RowBenchmarks underTest = new RowBenchmarks(null);
+
+        // When:
+        underTest.loadBaseline(new StringReader("a\t12.5\t1.5\t10\tname a\nb\tx\t1\t10\tname b\nc\t1\n"));
+
+        // Then:
+        assertThat(underTest.getBaseline("a").getNanosPerOperation()).isEqualTo(12.5, offset(0.001));
+        assertThat(underTest.getBaseline("a").getError()).isEqualTo(1.5, offset(0.001));
+        assertThat(underTest.getBaseline("a").getIterations()).isEqualTo(10);
+        assertThat(underTest.getBaseline("b")).isNull();
+        assertThat(underTest.getBaseline("c")).isNull();
+    }
+
+    @Test
+    public void testSaveShouldWriteResultsWhichCanBeLoadedAsBaseline() throws Exception {
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "results");
+
+        RowBenchmarks underTest = new RowBenchmarks(file);
+        underTest.record("a", "test[0: a\tb]", new Result(1234.5, 12.25, 10));
+
+        // When:
+        underTest.save();
+
+        // Then:
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            assertThat(reader.readLine()).isEqualTo("a\t1234.500\t12.250\t10\ttest[0: a b]");
+            assertThat(reader.readLine()).isNull();
+        } finally {
+            reader.close();
+        }
+
+        RowBenchmarks baseline = RowBenchmarks.getInstance(null, file.getPath());
+        assertThat(baseline.getBaseline("a").getNanosPerOperation()).isEqualTo(1234.5, offset(0.001));
+    }
+
+    @Test
+    public void testSaveShouldNotWriteAnythingWithoutResultFile() throws Exception {
+        // Given:
+        RowBenchmarks underTest = new RowBenchmarks(null);
+        underTest.record("a", "test", new Result(1, 0, 1));
+
+        // When:
+        underTest.save();
+
+        // Then:
+        assertThat(temporaryFolder.getRoot().list()).isEmpty();
+    }
+
+    private static class CountingStatement extends Statement {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void evaluate() {
+            count.incrementAndGet();
+        }
+    }
+}
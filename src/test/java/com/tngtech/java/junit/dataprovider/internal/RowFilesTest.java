@@ -0,0 +1,97 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+
+public class RowFilesTest extends BaseTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<String> handledLines = new ArrayList<String>();
+
+    private final RowFiles.LineHandler handler = new RowFiles.LineHandler() {
+        @Override
+        public void handle(String[] columns) {
+            handledLines.add(columns[0] + "=" + Integer.parseInt(columns[1]));
+        }
+    };
+
+    @Test
+    public void testToFileShouldReturnNullIfPathIsBlank() {
+        // Given:
+
+        // When:
+        File result = RowFiles.toFile(" ");
+
+        // Then:
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void testToFileShouldReturnAbsoluteFileOfTrimmedPath() {
+        // Given:
+
+        // When:
+        File result = RowFiles.toFile(" file ");
+
+        // Then:
+        assertThat(result).isEqualTo(new File("file").getAbsoluteFile());
+    }
+
+    @Test
+    public void testReadShouldIgnoreLinesWithTooFewColumnsOrRejectedByHandler() throws Exception {
+        // Given:
+
+        // When:
+        RowFiles.read(new StringReader("a\t1\nb\nc\tx\nd\t4\n"), 2, handler);
+
+        // Then:
+        assertThat(handledLines).containsExactly("a=1", "d=4");
+    }
+
+    @Test
+    public void testReplaceShouldCreateParentDirectoryAndReplaceExistingFile() throws Exception {
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "dir/file");
+        RowFiles.replace(file, Arrays.asList("old\t0"));
+
+        // When:
+        RowFiles.replace(file, Arrays.asList("a\t1", "b\t2"));
+
+        // Then:
+        RowFiles.read(file, 2, handler);
+        assertThat(handledLines).containsExactly("a=1", "b=2");
+        assertThat(new File(file.getPath() + ".tmp")).doesNotExist();
+    }
+
+    @Test
+    public void testInstancesShouldCreateInstanceOnlyOncePerKey() {
+        // Given:
+        RowFiles.Instances<Object> underTest = new RowFiles.Instances<Object>();
+        RowFiles.Factory<Object> factory = new RowFiles.Factory<Object>() {
+            @Override
+            public Object create() {
+                return new Object();
+            }
+        };
+
+        // When:
+        Object result1 = underTest.get("key", factory);
+        Object result2 = underTest.get("key", factory);
+
+        // Then:
+        assertThat(result1).isSameAs(result2).isNotSameAs(underTest.get("other", factory));
+    }
+}
@@ -0,0 +1,168 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+
+public class RowFingerprintTest extends BaseTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testOfShouldThrowNullPointerExceptionIfTestClassIsNull() {
+        // Given:
+
+        // When:
+        RowFingerprint.of(null, anyMethod());
+
+        // Then: expect exception
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOfShouldThrowNullPointerExceptionIfMethodIsNull() {
+        // Given:
+
+        // When:
+        RowFingerprint.of(getClass(), null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testOfShouldReturnClassAndMethodSignatureIfThereAreNoParametersHashes() {
+        // Given:
+
+        // When:
+        String result = RowFingerprint.of(getClass(), getMethod("methodWithParameters"));
+
+        // Then:
+        assertThat(result).isEqualTo(RowFingerprintTest.class.getName() + "#methodWithParameters(int,java.lang.String[])");
+    }
+
+    @Test
+    public void testOfShouldAppendSixteenDigitParametersHash() {
+        // Given:
+
+        // When:
+        String result = RowFingerprint.of(getClass(), getMethod("methodWithParameters"), 0x1fL);
+
+        // Then:
+        assertThat(result).isEqualTo(
+                RowFingerprintTest.class.getName() + "#methodWithParameters(int,java.lang.String[])#000000000000001f");
+    }
+
+    @Test
+    public void testOfShouldCombineParametersHashesOfMultipleRowsDependingOnTheirOrder() {
+        // Given:
+
+        // When:
+        String result1 = RowFingerprint.of(getClass(), anyMethod(), 1L, 2L);
+        String result2 = RowFingerprint.of(getClass(), anyMethod(), 2L, 1L);
+
+        // Then:
+        assertThat(result1).matches(".*#anyMethod\\(\\)#[0-9a-f]{16}").isNotEqualTo(result2);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testHashParametersShouldThrowNullPointerExceptionIfParametersIsNull() {
+        // Given:
+
+        // When:
+        RowFingerprint.hashParameters(null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testHashParametersShouldReturnEqualHashesForEqualParameters() {
+        // Given:
+
+        // When:
+        long result1 = RowFingerprint.hashParameters(new Object[] { 1, new String[] { "a", "b" }, null });
+        long result2 = RowFingerprint.hashParameters(new Object[] { 1, new String[] { "a", "b" }, null });
+
+        // Then:
+        assertThat(result1).isEqualTo(result2);
+    }
+
+    @Test
+    public void testHashParametersShouldReturnDifferentHashesForDifferentParameters() {
+        // Given:
+
+        // When:
+        long result1 = RowFingerprint.hashParameters(new Object[] { 1, "a" });
+        long result2 = RowFingerprint.hashParameters(new Object[] { 1, "b" });
+
+        // Then:
+        assertThat(result1).isNotEqualTo(result2);
+    }
+
+    @Test
+    public void testHashParametersShouldDistinguishTypesWithEqualStringRepresentation() {
+        // Given:
+
+        // When:
+        long result1 = RowFingerprint.hashParameters(new Object[] { 1 });
+        long result2 = RowFingerprint.hashParameters(new Object[] { "1" });
+        long result3 = RowFingerprint.hashParameters(new Object[] { 1L });
+
+        // Then:
+        assertThat(result1).isNotEqualTo(result2).isNotEqualTo(result3);
+    }
+
+    @Test
+    public void testHashParametersShouldHashPrimitiveArraysAndListsByTheirElements() {
+        // Given:
+
+        // When:
+        long result1 = RowFingerprint.hashParameters(new Object[] { new int[] { 1, 2 }, Arrays.asList("a", "b") });
+        long result2 = RowFingerprint.hashParameters(new Object[] { new int[] { 1, 2 }, new ArrayList<String>(
+                Arrays.asList("a", "b")) });
+        long result3 = RowFingerprint.hashParameters(new Object[] { new int[] { 2, 1 }, Arrays.asList("a", "b") });
+
+        // Then:
+        assertThat(result1).isEqualTo(result2).isNotEqualTo(result3);
+    }
+
+    @Test
+    public void testHashParametersShouldHashSetsAndMapsIndependentOfTheirIterationOrder() {
+        // Given:
+        Map<Object, Object> map1 = new LinkedHashMap<Object, Object>();
+        map1.put(TimeUnit.SECONDS, "a");
+        map1.put(TimeUnit.DAYS, "b");
+        Map<Object, Object> map2 = new LinkedHashMap<Object, Object>();
+        map2.put(TimeUnit.DAYS, "b");
+        map2.put(TimeUnit.SECONDS, "a");
+
+        // When:
+        long result1 = RowFingerprint.hashParameters(new Object[] { map1, new LinkedHashSet<Object>(map1.keySet()) });
+        long result2 = RowFingerprint.hashParameters(new Object[] { map2, new LinkedHashSet<Object>(map2.keySet()) });
+
+        // Then:
+        assertThat(result1).isEqualTo(result2);
+    }
+
+    @Test
+    public void testHashParametersShouldReturnSameHashAsInPreviousRunsForEnumsAndClasses() {
+        // Given:
+
+        // When:
+        long result = RowFingerprint.hashParameters(new Object[] { TimeUnit.SECONDS, String.class });
+
+        // Then: independent of identity hash codes
+        assertThat(Long.toHexString(result)).isEqualTo("d321d1e4c428dc5");
+    }
+
+    // -- helper methods to find non-mockable Method objects (due to final :-( ) ---------------------------------------
+
+    public void methodWithParameters(int i, String... strings) {
+        // only used for its signature
+    }
+}
@@ -0,0 +1,219 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RowGroupTest extends BaseTest {
+
+    @Mock
+    private FrameworkMethod testMethod;
+    @Mock
+    private FrameworkMethod dataProviderMethod;
+    @Mock
+    private DataProvider dataProvider;
+
+    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
+    @Test(expected = NullPointerException.class)
+    public void testRowGroupShouldThrowNullPointerExceptionIfTestMethodIsNull() {
+        // Given:
+
+        // When:
+        @SuppressWarnings("unused")
+        RowGroup result = new RowGroup(null, dataProviderMethod, dataProvider);
+
+        // Then: expect exception
+    }
+
+    @SuppressFBWarnings("DLS_DEAD_LOCAL_STORE")
+    @Test(expected = NullPointerException.class)
+    public void testRowGroupShouldThrowNullPointerExceptionIfDataProviderIsNull() {
+        // Given:
+
+        // When:
+        @SuppressWarnings("unused")
+        RowGroup result = new RowGroup(testMethod, dataProviderMethod, null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testRowGroupShouldAllowNullDataProviderMethod() {
+        // Given:
+
+        // When:
+        RowGroup result = new RowGroup(testMethod, null, dataProvider);
+
+        // Then:
+        assertThat(result.getTestMethod()).isSameAs(testMethod);
+        assertThat(result.getDataProviderMethod()).isNull();
+        assertThat(result.getDataProvider()).isSameAs(dataProvider);
+    }
+
+    @Test
+    public void testIsAbortedShouldReturnFalseIfAbortIsNotConfigured() {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        doReturn(DataProvider.NEVER_ABORT).when(dataProvider).abortAfterFailures();
+
+        underTest.recordFailure();
+        underTest.recordFailure();
+
+        // When:
+        boolean result = underTest.isAborted();
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testIsAbortedShouldReturnFalseIfFailuresAreBelowThreshold() {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        doReturn(2).when(dataProvider).abortAfterFailures();
+
+        underTest.recordFailure();
+
+        // When:
+        boolean result = underTest.isAborted();
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testIsAbortedShouldReturnTrueIfFailuresReachedThreshold() {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        doReturn(2).when(dataProvider).abortAfterFailures();
+
+        underTest.recordFailure();
+        underTest.recordFailure();
+
+        // When:
+        boolean result = underTest.isAborted();
+
+        // Then:
+        assertThat(result).isTrue();
+        assertThat(underTest.getFailures()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMarkAbortReportedShouldReturnTrueOnlyForFirstCall() {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+
+        // When:
+        boolean result1 = underTest.markAbortReported();
+        boolean result2 = underTest.markAbortReported();
+
+        // Then:
+        assertThat(result1).isTrue();
+        assertThat(result2).isFalse();
+    }
+
+    @Test
+    public void testFinishRowShouldReturnTrueOnlyForLastRow() {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        underTest.addRows(2);
+
+        // When:
+        boolean result1 = underTest.finishRow();
+        boolean result2 = underTest.finishRow();
+
+        // Then:
+        assertThat(result1).isFalse();
+        assertThat(result2).isTrue();
+    }
+
+    @Test
+    public void testFinishRowShouldReleaseTestInstancesOfAllThreadsAfterLastRow() throws Exception {
+        // Given:
+        final RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        underTest.addRows(2);
+        underTest.setTestInstance("main");
+
+        final List<Object> otherThreadInstances = new CopyOnWriteArrayList<Object>();
+        Thread otherThread = new Thread() {
+            @Override
+            public void run() {
+                underTest.setTestInstance("other");
+                otherThreadInstances.add(underTest.getTestInstance());
+                underTest.finishRow();
+                otherThreadInstances.add(underTest.getTestInstance());
+                while (underTest.getTestInstance() != null) {
+                    Thread.yield();
+                }
+                otherThreadInstances.add(underTest.getTestInstance());
+            }
+        };
+        otherThread.start();
+        while (otherThreadInstances.size() < 2) {
+            Thread.yield();
+        }
+
+        // When:
+        Object beforeLastRow = underTest.getTestInstance();
+        underTest.finishRow();
+        otherThread.join(10000L);
+
+        // Then:
+        assertThat(beforeLastRow).isEqualTo("main");
+        assertThat(underTest.getTestInstance()).isNull();
+        assertThat(otherThreadInstances).containsExactly("other", "other", null);
+    }
+
+    @Test
+    public void testSetUpOnceShouldEvaluateStatementOnlyOnce() throws Throwable {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        Statement setUp = mock(Statement.class);
+
+        // When:
+        Throwable result1 = underTest.setUpOnce(setUp);
+        Throwable result2 = underTest.setUpOnce(setUp);
+
+        // Then:
+        assertThat(result1).isNull();
+        assertThat(result2).isNull();
+        assertThat(underTest.isSetUp()).isTrue();
+        verify(setUp).evaluate();
+    }
+
+    @Test
+    public void testSetUpOnceShouldReturnFailureOfSetUpForEveryCall() throws Throwable {
+        // Given:
+        RowGroup underTest = new RowGroup(testMethod, dataProviderMethod, dataProvider);
+        Statement setUp = mock(Statement.class);
+        IllegalStateException failure = new IllegalStateException("setup failed");
+        doThrow(failure).when(setUp).evaluate();
+
+        // When:
+        Throwable result1 = underTest.setUpOnce(setUp);
+        Throwable result2 = underTest.setUpOnce(setUp);
+
+        // Then:
+        assertThat(result1).isSameAs(failure);
+        assertThat(result2).isSameAs(failure);
+        verify(setUp).evaluate();
+    }
+}
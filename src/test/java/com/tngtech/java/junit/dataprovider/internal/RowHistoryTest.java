@@ -0,0 +1,158 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory.Status;
+
+public class RowHistoryTest extends BaseTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetInstanceShouldReturnDisabledHistoryIfPathIsNull() {
+        // Given:
+
+        // When:
+        RowHistory result = RowHistory.getInstance(null);
+
+        // Then:
+        assertThat(result.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void testGetInstanceShouldReturnSameInstanceForSamePath() throws Exception {
+        // Given:
+        String path = new File(temporaryFolder.getRoot(), "history").getPath();
+
+        // When:
+        RowHistory result1 = RowHistory.getInstance(path);
+        RowHistory result2 = RowHistory.getInstance(path);
+
+        // Then:
+        assertThat(result1.isEnabled()).isTrue();
+        assertThat(result1).isSameAs(result2);
+    }
+
+    @Test
+    public void testRecordShouldNotRecordAnythingIfDisabled() {
+        // Given:
+        RowHistory underTest = new RowHistory(null);
+
+        // When:
+        underTest.record("a", Status.FAILED, 1000);
+
+        // Then:
+        assertThat(underTest.get("a")).isNull();
+    }
+
+    @Test
+    public void testRecordShouldReplacePreviousEntry() {
+        // Given:
+        RowHistory underTest = new RowHistory(new File("unused"));
+        underTest.record("a", Status.FAILED, 1000);
+
+        // When:
+        underTest.record("a", Status.PASSED, 2000000);
+
+        // Then:
+        assertThat(underTest.get("a").getStatus()).isEqualTo(Status.PASSED);
+        assertThat(underTest.get("a").getDurationMicros()).isEqualTo(2000);
+    }
+
+    @Test
+    public void testLoadShouldIgnoreCorruptLines() throws Exception {
+        // Given:
+        RowHistory underTest = new RowHistory(new File("unused"));
+
+        // When:
+        underTest.load(new StringReader("a\tPASSED\t17\nb\tUNKNOWN\t1\nc\tFAILED\n\nd\tFAILED\tx\ne\tSKIPPED\t3\n"));
+
+        // Then:
+        assertThat(underTest.get("a").getStatus()).isEqualTo(Status.PASSED);
+        assertThat(underTest.get("a").getDurationMicros()).isEqualTo(17);
+        assertThat(underTest.get("b")).isNull();
+        assertThat(underTest.get("c")).isNull();
+        assertThat(underTest.get("d")).isNull();
+        assertThat(underTest.get("e").getStatus()).isEqualTo(Status.SKIPPED);
+    }
+
+    @Test
+    public void testGetComparatorShouldSortFailedFirstThenNewThenSlowestFirst() {
+        // Given:
+        RowHistory underTest = new RowHistory(new File("unused"));
+        underTest.record("fast", Status.PASSED, 1000);
+        underTest.record("slow", Status.PASSED, 9000000);
+        underTest.record("failedFast", Status.FAILED, 2000);
+        underTest.record("failedSlow", Status.FAILED, 8000000);
+        underTest.record("skipped", Status.SKIPPED, 5000);
+
+        List<String> fingerprints = new ArrayList<String>(list("fast", "new1", "skipped", "failedFast", "slow",
+                "failedSlow", "new2"));
+
+        // When:
+        Collections.sort(fingerprints, underTest.getComparator());
+
+        // Then:
+        assertThat(fingerprints).containsExactly("failedSlow", "failedFast", "new1", "new2", "slow", "skipped", "fast");
+    }
+
+    @Test
+    public void testSaveShouldWriteHistoryWhichCanBeLoadedAgain() throws Exception {
+        // Given:
+        String path = new File(temporaryFolder.getRoot(), "sub/history").getPath();
+
+        RowHistory underTest = RowHistory.getInstance(path);
+        underTest.record("a#b(int)#0123456789abcdef", Status.FAILED, 5000);
+        underTest.record("a#c()", Status.PASSED, 7000);
+
+        // When:
+        underTest.save();
+
+        // Then:
+        RowHistory result = new RowHistory(new File("unused"));
+        result.load(new FileReader(path));
+        assertThat(result.get("a#b(int)#0123456789abcdef").getStatus()).isEqualTo(Status.FAILED);
+        assertThat(result.get("a#c()").getDurationMicros()).isEqualTo(7);
+    }
+
+    @Test
+    public void testSaveShouldKeepHistoryDirtyIfWriteFails() throws Exception {
+        // Given:
+        File blocker = temporaryFolder.newFile("blocker");
+        File file = new File(blocker, "history");
+
+        RowHistory underTest = new RowHistory(file);
+        underTest.record("a#c()", Status.PASSED, 7000);
+
+        IOException failure = null;
+        try {
+            underTest.save();
+        } catch (IOException e) {
+            failure = e;
+        }
+        assertThat(failure).isNotNull();
+        assertThat(blocker.delete()).isTrue();
+
+        // When:
+        underTest.save();
+
+        // Then:
+        RowHistory result = new RowHistory(new File("unused"));
+        result.load(new FileReader(file));
+        assertThat(result.get("a#c()").getDurationMicros()).isEqualTo(7);
+    }
+}
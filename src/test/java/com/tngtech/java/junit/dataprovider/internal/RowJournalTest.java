@@ -0,0 +1,185 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.StringReader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory.Status;
+import com.tngtech.java.junit.dataprovider.internal.RowJournal.Mode;
+
+public class RowJournalTest extends BaseTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(expected = NullPointerException.class)
+    public void testRowJournalShouldThrowNullPointerExceptionIfModeIsNull() {
+        // Given:
+
+        // When:
+        new RowJournal(new File("unused"), null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGetInstanceShouldReturnDisabledJournalIfPathIsNull() {
+        // Given:
+
+        // When:
+        RowJournal result = RowJournal.getInstance(null, Mode.RESUME);
+
+        // Then:
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.shouldSkip("a")).isFalse();
+    }
+
+    @Test
+    public void testGetInstanceShouldReturnSameInstanceForSamePath() {
+        // Given:
+        String path = new File(temporaryFolder.getRoot(), "journal").getPath();
+
+        // When:
+        RowJournal result1 = RowJournal.getInstance(path, Mode.RECORD);
+        RowJournal result2 = RowJournal.getInstance(path, Mode.RECORD);
+
+        // Then:
+        assertThat(result1.isEnabled()).isTrue();
+        assertThat(result1).isSameAs(result2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetInstanceShouldThrowIllegalArgumentExceptionForSamePathWithDifferentMode() {
+        // Given:
+        String path = new File(temporaryFolder.getRoot(), "journal").getPath();
+        RowJournal.getInstance(path, Mode.RECORD);
+
+        // When:
+        RowJournal.getInstance(path, Mode.RESUME);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testShouldSkipShouldNeverSkipInRecordMode() throws Exception {
+        // Given:
+        RowJournal underTest = new RowJournal(new File("unused"), Mode.RECORD);
+        underTest.load(new StringReader("a\tPASSED\nb\tFAILED\n"));
+
+        // When:
+        boolean result = underTest.shouldSkip("a") || underTest.shouldSkip("b") || underTest.shouldSkip("c");
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testShouldSkipShouldOnlyRunFailedAndNewRowsInRerunFailedMode() throws Exception {
+        // Given:
+        RowJournal underTest = new RowJournal(new File("unused"), Mode.RERUN_FAILED);
+        underTest.load(new StringReader("a\tPASSED\nb\tFAILED\nc\tSKIPPED\n"));
+
+        // When:
+        boolean resultA = underTest.shouldSkip("a");
+        boolean resultB = underTest.shouldSkip("b");
+        boolean resultC = underTest.shouldSkip("c");
+        boolean resultD = underTest.shouldSkip("d");
+
+        // Then:
+        assertThat(resultA).isTrue();
+        assertThat(resultB).isFalse();
+        assertThat(resultC).isTrue();
+        assertThat(resultD).isFalse();
+    }
+
+    @Test
+    public void testShouldSkipShouldOnlyRunNewRowsInResumeMode() throws Exception {
+        // Given:
+        RowJournal underTest = new RowJournal(new File("unused"), Mode.RESUME);
+        underTest.load(new StringReader("a\tPASSED\nb\tFAILED\n"));
+
+        // When:
+        boolean resultA = underTest.shouldSkip("a");
+        boolean resultB = underTest.shouldSkip("b");
+        boolean resultC = underTest.shouldSkip("c");
+
+        // Then:
+        assertThat(resultA).isTrue();
+        assertThat(resultB).isTrue();
+        assertThat(resultC).isFalse();
+    }
+
+    @Test
+    public void testLoadShouldLetLastLineWinAndIgnoreCorruptLines() throws Exception {
+        // Given:
+        RowJournal underTest = new RowJournal(new File("unused"), Mode.RERUN_FAILED);
+
+        // When:
+        underTest.load(new StringReader("a\tFAILED\nb\tFAILED\na\tPASSED\ncorrupt\nb\tUNKNOWN\nb\tPA"));
+
+        // Then:
+        assertThat(underTest.shouldSkip("a")).isTrue();
+        assertThat(underTest.shouldSkip("b")).isFalse();
+    }
+
+    @Test
+    public void testRecordShouldAppendToExistingJournalWithoutAffectingCurrentRun() throws Exception {
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "sub/journal");
+        RowJournal underTest = new RowJournal(file, Mode.RERUN_FAILED);
+        underTest.record("a", Status.FAILED);
+
+        // When:
+        underTest.record("a", Status.PASSED);
+        underTest.record("b", Status.FAILED);
+        underTest.close();
+
+        // Then:
+        assertThat(underTest.shouldSkip("a")).isFalse();
+
+        RowJournal nextRun = new RowJournal(file, Mode.RERUN_FAILED);
+        nextRun.load(new FileReader(file));
+        assertThat(nextRun.shouldSkip("a")).isTrue();
+        assertThat(nextRun.shouldSkip("b")).isFalse();
+    }
+
+    @Test
+    public void testFlushShouldWriteRecordedOutcomesThrough() throws Exception {
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "journal");
+        RowJournal underTest = new RowJournal(file, Mode.RESUME);
+        underTest.record("a", Status.PASSED);
+
+        try {
+            // When:
+            underTest.flush();
+
+            // Then:
+            RowJournal nextRun = new RowJournal(file, Mode.RESUME);
+            nextRun.load(new FileReader(file));
+            assertThat(nextRun.shouldSkip("a")).isTrue();
+
+        } finally {
+            underTest.close();
+        }
+    }
+
+    @Test
+    public void testRecordShouldNotWriteAnythingIfDisabled() {
+        // Given:
+        RowJournal underTest = RowJournal.getInstance(null, Mode.RECORD);
+
+        // When:
+        underTest.record("a", Status.FAILED);
+
+        // Then:
+        assertThat(underTest.shouldSkip("a")).isFalse();
+    }
+}
@@ -0,0 +1,148 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.internal.RowResourceUsage.Sample;
+
+public class RowResourceUsageTest extends BaseTest {
+
+    private static final long MS = 1000 * 1000;
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    public void testSampleShouldReturnUnsupportedCountersIfNotSupportedByThreadMXBean() {
+        // Given:
+        ThreadMXBean threadMXBean = mock(ThreadMXBean.class);
+        doReturn(false).when(threadMXBean).isCurrentThreadCpuTimeSupported();
+
+        RowResourceUsage underTest = new RowResourceUsage(threadMXBean);
+
+        // When:
+        Sample result = underTest.sample();
+
+        // Then:
+        assertThat(result.getCpuTimeNanos()).isEqualTo(RowResourceUsage.UNSUPPORTED);
+        assertThat(result.getAllocatedBytes()).isEqualTo(RowResourceUsage.UNSUPPORTED);
+    }
+
+    @Test
+    public void testSampleShouldReturnCpuTimeOfCurrentThreadIfSupportedAndEnabled() {
+        // Given:
+        ThreadMXBean threadMXBean = mock(ThreadMXBean.class);
+        doReturn(true).when(threadMXBean).isCurrentThreadCpuTimeSupported();
+        doReturn(true).when(threadMXBean).isThreadCpuTimeEnabled();
+        doReturn(42L).when(threadMXBean).getCurrentThreadCpuTime();
+
+        RowResourceUsage underTest = new RowResourceUsage(threadMXBean);
+
+        // When:
+        Sample result = underTest.sample();
+
+        // Then:
+        assertThat(result.getCpuTimeNanos()).isEqualTo(42L);
+    }
+
+    @Test
+    public void testSampleShouldAccountAllocatedBytesOfCurrentThreadIfSupportedByJvm() {
+        // Given:
+        RowResourceUsage underTest = new RowResourceUsage();
+        Sample start = underTest.sample();
+
+        // When:
+        byte[] allocated = new byte[4 * (int) MB];
+        Sample result = underTest.sample().minus(start);
+
+        // Then:
+        assertThat(allocated).hasSize(4 * (int) MB);
+        if (result.getAllocatedBytes() != RowResourceUsage.UNSUPPORTED) {
+            assertThat(result.getAllocatedBytes()).isGreaterThanOrEqualTo(4 * MB);
+        }
+    }
+
+    @Test
+    public void testMinusShouldReturnUnsupportedIfAnyCounterIsUnsupported() {
+        // Given:
+        Sample start = new Sample(RowResourceUsage.UNSUPPORTED, 100);
+        Sample end = new Sample(10, 150);
+
+        // When:
+        Sample result = end.minus(start);
+
+        // Then:
+        assertThat(result.getCpuTimeNanos()).isEqualTo(RowResourceUsage.UNSUPPORTED);
+        assertThat(result.getAllocatedBytes()).isEqualTo(50);
+    }
+
+    @Test
+    public void testReportShouldReturnTotalsPerGroup() {
+        // Given:
+        RowResourceUsage underTest = new RowResourceUsage(mock(ThreadMXBean.class));
+        underTest.record("test using dataProvider", "test[0: a]", new Sample(0, 0), new Sample(MS, 100));
+        underTest.record("test using dataProvider", "test[1: b]", new Sample(0, 0), new Sample(2 * MS, 200));
+        underTest.record("other", "other", new Sample(0, 0), new Sample(0, RowResourceUsage.UNSUPPORTED));
+
+        // When:
+        List<String> result = underTest.report();
+
+        // Then:
+        assertThat(result).containsExactly(
+                "Resource usage of test using dataProvider: 2 rows, 3.000 ms CPU time, 300 bytes allocated",
+                "Resource usage of other: 1 rows, 0.000 ms CPU time, n/a allocated");
+    }
+
+    @Test
+    public void testReportShouldReportOutliersWithTheirNames() {
+        // Given:
+        RowResourceUsage underTest = new RowResourceUsage(mock(ThreadMXBean.class));
+        underTest.record("test", "test[0: small]", new Sample(0, 0), new Sample(MS, MB));
+        underTest.record("test", "test[1: small]", new Sample(0, 0), new Sample(MS, MB));
+        underTest.record("test", "test[2: huge]", new Sample(0, 0), new Sample(MS, 10 * MB));
+        underTest.record("test", "test[3: slow]", new Sample(0, 0), new Sample(50 * MS, MB));
+
+        // When:
+        List<String> result = underTest.report();
+
+        // Then:
+        assertThat(result).hasSize(3);
+        assertThat(result.get(1)).isEqualTo(
+                "    outlier test[2: huge]: 1.000 ms CPU time (median 1.000 ms), 10485760 bytes allocated (median 1048576 bytes)");
+        assertThat(result.get(2)).startsWith("    outlier test[3: slow]: 50.000 ms CPU time");
+    }
+
+    @Test
+    public void testReportShouldNotReportOutliersForGroupsWithTooFewRows() {
+        // Given:
+        RowResourceUsage underTest = new RowResourceUsage(mock(ThreadMXBean.class));
+        underTest.record("test", "test[0: small]", new Sample(0, 0), new Sample(MS, MB));
+        underTest.record("test", "test[1: huge]", new Sample(0, 0), new Sample(MS, 100 * MB));
+
+        // When:
+        List<String> result = underTest.report();
+
+        // Then:
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    public void testReportShouldNotReportRowsAsOutliersIfAbsoluteDifferenceIsSmall() {
+        // Given:
+        RowResourceUsage underTest = new RowResourceUsage(mock(ThreadMXBean.class));
+        underTest.record("test", "test[0]", new Sample(0, 0), new Sample(1000, 100));
+        underTest.record("test", "test[1]", new Sample(0, 0), new Sample(1000, 100));
+        underTest.record("test", "test[2]", new Sample(0, 0), new Sample(100000, 100000));
+
+        // When:
+        List<String> result = underTest.report();
+
+        // Then:
+        assertThat(result).hasSize(1);
+    }
+}
@@ -0,0 +1,201 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.DataProviderSampling;
+
+public class RowSamplerTest extends BaseTest {
+
+    @Spy
+    private RowSampler underTest;
+
+    @Mock
+    private FrameworkMethod testMethod;
+    @Mock
+    private PrintStream out;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        doReturn(null).when(underTest).getSystemProperty(anyString());
+        doReturn(out).when(underTest).getOut();
+        doReturn(anyMethod()).when(testMethod).getMethod();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSampleShouldThrowNullPointerExceptionIfTestMethodIsNull() {
+        // Given:
+
+        // When:
+        underTest.sample(null, 10);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testSampleShouldReturnNullForAllRowsIfSamplingIsNotConfigured() {
+        // Given:
+
+        // When:
+        List<Integer> result = underTest.sample(testMethod, 5);
+
+        // Then:
+        assertThat(result).isNull();
+        verifyZeroInteractions(out);
+    }
+
+    @Test
+    public void testSampleShouldReturnLimitedRowsInAscendingOrderIfAnnotatedWithLimit() {
+        // Given:
+        doReturn(getMethod("limitedMethod")).when(testMethod).getMethod();
+
+        // When:
+        List<Integer> result = underTest.sample(testMethod, 100);
+
+        // Then:
+        assertThat(result).hasSize(3).isSorted();
+        assertThat(result.get(2)).isLessThan(100);
+        verify(out).println(anyString());
+    }
+
+    @Test
+    public void testSampleShouldReturnSameRowsForSameSeed() {
+        // Given:
+        doReturn(getMethod("limitedMethod")).when(testMethod).getMethod();
+
+        // When:
+        List<Integer> result1 = underTest.sample(testMethod, 1000);
+        List<Integer> result2 = underTest.sample(testMethod, 1000);
+
+        // Then:
+        assertThat(result1).isEqualTo(result2);
+    }
+
+    @Test
+    public void testSampleShouldUseClassAnnotationIfMethodIsNotAnnotated() throws Exception {
+        // Given:
+        doReturn(SampledClass.class.getDeclaredMethod("anyMethod")).when(testMethod).getMethod();
+
+        // When:
+        List<Integer> result = underTest.sample(testMethod, 40);
+
+        // Then:
+        assertThat(result).hasSize(10).isSorted();
+    }
+
+    @Test
+    public void testSampleShouldPreferSystemPropertyOverAnnotation() {
+        // Given:
+        doReturn(getMethod("limitedMethod")).when(testMethod).getMethod();
+        doReturn("50%").when(underTest).getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SAMPLE);
+
+        // When:
+        List<Integer> result = underTest.sample(testMethod, 20);
+
+        // Then:
+        assertThat(result).hasSize(10);
+    }
+
+    @Test
+    public void testSampleShouldUseSeedOfSystemProperty() {
+        // Given:
+        doReturn("5").when(underTest).getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SAMPLE);
+        doReturn("1234").when(underTest).getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SEED);
+
+        // When:
+        List<Integer> result = underTest.sample(testMethod, 20);
+
+        // Then:
+        assertThat(result).hasSize(5);
+        verify(out).println("Sampled 5 of 20 rows for 'BaseTest.anyMethod' using seed 1234 (use -D"
+                + DataProviderSampling.SYSTEM_PROPERTY_SEED + "=1234 to reproduce)");
+    }
+
+    @Test
+    public void testSampleShouldReturnNullForAllRowsIfSampleIsGreaterThanRowCount() {
+        // Given:
+        doReturn("50").when(underTest).getSystemProperty(DataProviderSampling.SYSTEM_PROPERTY_SAMPLE);
+
+        // When:
+        List<Integer> result = underTest.sample(testMethod, 3);
+
+        // Then:
+        assertThat(result).isNull();
+        verifyZeroInteractions(out);
+    }
+
+    @Test
+    public void testParseSampleSizeShouldParseFraction() {
+        // Expect:
+        assertThat(underTest.parseSampleSize("0.1", 95)).isEqualTo(10);
+        assertThat(underTest.parseSampleSize(" 25% ", 8)).isEqualTo(2);
+        assertThat(underTest.parseSampleSize("0.001", 10)).isEqualTo(1);
+    }
+
+    @Test
+    public void testParseSampleSizeShouldParseAbsoluteLimit() {
+        // Expect:
+        assertThat(underTest.parseSampleSize("17", 95)).isEqualTo(17);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseSampleSizeShouldThrowIllegalArgumentExceptionForInvalidValue() {
+        // Given:
+
+        // When:
+        underTest.parseSampleSize("ten", 95);
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseSampleSizeShouldThrowIllegalArgumentExceptionForFractionGreaterThanOne() {
+        // Given:
+
+        // When:
+        underTest.parseSampleSize("1.5", 95);
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseSampleSizeShouldThrowIllegalArgumentExceptionForNonPositiveLimit() {
+        // Given:
+
+        // When:
+        underTest.parseSampleSize("0", 95);
+
+        // Then: expect exception
+    }
+
+    // -- helper methods to find non-mockable Method objects (due to final :-( ) ---------------------------------------
+
+    @DataProviderSampling(limit = 3, seed = 42)
+    public void limitedMethod() {
+        // only used as annotated method
+    }
+
+    @DataProviderSampling(fraction = 0.25)
+    public static class SampledClass {
+        public void anyMethod() {
+            // only used as method of annotated class
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+
+public class RowStoreTest extends BaseTest {
+
+    private final RowStore underTest = new RowStore(getClass().getClassLoader());
+
+    @Test(expected = NullPointerException.class)
+    public void testRowStoreShouldThrowNullPointerExceptionIfClassLoaderIsNull() {
+        // Given:
+
+        // When:
+        new RowStore(null);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testGetShouldReturnAddedRowsInArbitraryOrder() {
+        // Given:
+        int idx0 = underTest.add(new Object[] { 1, "a", null });
+        int idx1 = underTest.add(new Object[] { new byte[] { 1, 2, 3 }, TimeUnit.DAYS, new String[] { "b" } });
+
+        // When:
+        Object[] result1 = underTest.get(idx1);
+        Object[] result0 = underTest.get(idx0);
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(result0).containsExactly(1, "a", null);
+        assertThat(result1[0]).isEqualTo(new byte[] { 1, 2, 3 });
+        assertThat(result1[1]).isSameAs(TimeUnit.DAYS);
+        assertThat(result1[2]).isEqualTo(new String[] { "b" });
+    }
+
+    @Test
+    public void testGetShouldReadManyRowsBack() {
+        // Given:
+        for (int idx = 0; idx < 1000; idx++) {
+            underTest.add(new Object[] { idx, String.valueOf(idx) });
+        }
+
+        // When:
+        Object[] result = underTest.get(567);
+
+        // Then:
+        assertThat(result).containsExactly(567, "567");
+    }
+
+    @Test
+    public void testAddShouldReturnMinusOneIfRowIsNotSerializable() {
+        // Given:
+
+        // When:
+        int result = underTest.add(new Object[] { 1, new Object() });
+
+        // Then:
+        assertThat(result).isEqualTo(-1);
+        assertThat(underTest.size()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetShouldThrowIllegalArgumentExceptionForUnknownIndex() {
+        // Given:
+        underTest.add(new Object[] { 1 });
+
+        // When:
+        underTest.get(1);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testCloseShouldDeleteTemporaryFileAndRejectFurtherAccess() {
+        // Given:
+        int idx = underTest.add(new Object[] { 1 });
+        assertThat(underTest.tempFile).exists();
+
+        // When:
+        underTest.close();
+
+        // Then:
+        assertThat(underTest.tempFile).doesNotExist();
+        try {
+            underTest.get(idx);
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).contains("closed");
+        }
+        underTest.close(); // does nothing
+    }
+}
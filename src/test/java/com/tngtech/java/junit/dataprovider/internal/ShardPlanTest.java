@@ -0,0 +1,247 @@
+package com.tngtech.java.junit.dataprovider.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.internal.RowHistory.Status;
+
+public class ShardPlanTest extends BaseTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetInstanceShouldReturnDisabledPlanIfPathIsNull() {
+        // Given:
+
+        // When:
+        ShardPlan result = ShardPlan.getInstance(null);
+
+        // Then:
+        assertThat(result.isEnabled()).isFalse();
+        assertThat(result.getShard("any")).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetInstanceShouldThrowIllegalStateExceptionIfPlanFileDoesNotExist() {
+        // Given:
+        String path = new File(temporaryFolder.getRoot(), "notExisting").getPath();
+
+        // When:
+        ShardPlan.getInstance(path);
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlanShouldThrowIllegalArgumentExceptionIfShardCountIsNotPositive() {
+        // Given:
+
+        // When:
+        ShardPlan.plan(new HashMap<String, Long>(), 0);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testPlanShouldAssignLongestRowsFirstToShardWithLeastDuration() {
+        // Given:
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a", 30L);
+        durations.put("b", 20L);
+        durations.put("c", 10L);
+        durations.put("d", 10L);
+        durations.put("e", 10L);
+
+        // When:
+        ShardPlan result = ShardPlan.plan(durations, 2);
+
+        // Then:
+        assertThat(result.isEnabled()).isTrue();
+        assertThat(result.getShardCount()).isEqualTo(2);
+        assertThat(result.getShard("a")).isEqualTo(0);
+        assertThat(result.getShard("b")).isEqualTo(1);
+        assertThat(result.getShard("c")).isEqualTo(1);
+        assertThat(result.getShard("d")).isEqualTo(0);
+        assertThat(result.getShard("e")).isEqualTo(1);
+    }
+
+    @Test
+    public void testPlanShouldNotPutAllHeavyRowsOnSameShard() {
+        // Given:
+        Map<String, Long> durations = new HashMap<String, Long>();
+        for (int idx = 0; idx < 4; idx++) {
+            durations.put("heavy" + idx, 30000L);
+        }
+        for (int idx = 0; idx < 100; idx++) {
+            durations.put("light" + idx, 1L);
+        }
+
+        // When:
+        ShardPlan result = ShardPlan.plan(durations, 4);
+
+        // Then:
+        long[] loads = new long[4];
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            loads[result.getShard(entry.getKey())] += entry.getValue();
+        }
+        assertThat(loads).containsOnly(30025L);
+    }
+
+    @Test
+    public void testGetShardShouldFallBackToHashCodeForUnknownRows() {
+        // Given:
+        ShardPlan underTest = ShardPlan.plan(new HashMap<String, Long>(), 3);
+
+        // When:
+        int result = underTest.getShard("unknown");
+
+        // Then:
+        assertThat(result).isEqualTo(("unknown".hashCode() & Integer.MAX_VALUE) % 3);
+    }
+
+    @Test
+    public void testGetSelectedShardShouldReturnZeroIfPlanIsDisabled() {
+        // Given:
+        ShardPlan underTest = ShardPlan.getInstance(null);
+
+        // When:
+        int result = underTest.getSelectedShard();
+
+        // Then:
+        assertThat(result).isEqualTo(0);
+    }
+
+    @Test
+    public void testGetSelectedShardShouldReturnShardGivenBySystemProperty() {
+        // Given:
+        ShardPlan underTest = ShardPlan.plan(new HashMap<String, Long>(), 3);
+
+        System.setProperty(ShardPlan.SYSTEM_PROPERTY_SHARD, "2");
+        int result;
+        try {
+            // When:
+            result = underTest.getSelectedShard();
+
+        } finally {
+            System.clearProperty(ShardPlan.SYSTEM_PROPERTY_SHARD);
+        }
+
+        // Then:
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetSelectedShardShouldThrowIllegalStateExceptionIfSystemPropertyIsOutOfRange() {
+        // Given:
+        ShardPlan underTest = ShardPlan.plan(new HashMap<String, Long>(), 3);
+
+        System.setProperty(ShardPlan.SYSTEM_PROPERTY_SHARD, "3");
+        try {
+            // When:
+            underTest.getSelectedShard();
+
+        } finally {
+            System.clearProperty(ShardPlan.SYSTEM_PROPERTY_SHARD);
+        }
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testSaveShouldWritePlanWhichCanBeLoadedAgain() throws Exception {
+        // Given:
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a", 30L);
+        durations.put("b", 20L);
+        ShardPlan underTest = ShardPlan.plan(durations, 2);
+
+        StringWriter writer = new StringWriter();
+
+        // When:
+        underTest.save(writer);
+
+        // Then:
+        ShardPlan result = ShardPlan.load(new StringReader(writer.toString()));
+        assertThat(writer.toString()).startsWith("2\n");
+        assertThat(result.getShardCount()).isEqualTo(2);
+        assertThat(result.getShard("a")).isEqualTo(0);
+        assertThat(result.getShard("b")).isEqualTo(1);
+    }
+
+    @Test
+    public void testLoadShouldIgnoreCorruptLinesAndInvalidShards() throws Exception {
+        // Given:
+
+        // When:
+        ShardPlan result = ShardPlan.load(new StringReader("3\na\t2\nb\tx\nc\t7\nd\n"));
+
+        // Then:
+        assertThat(result.getShard("a")).isEqualTo(2);
+        assertThat(result.getShard("b")).isEqualTo(("b".hashCode() & Integer.MAX_VALUE) % 3);
+        assertThat(result.getShard("c")).isEqualTo(("c".hashCode() & Integer.MAX_VALUE) % 3);
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadShouldThrowIOExceptionIfShardCountIsMissing() throws Exception {
+        // Given:
+
+        // When:
+        ShardPlan.load(new StringReader("a\t2\n"));
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testMainShouldPrintUsageIfNumberOfArgumentsIsWrong() throws Exception {
+        // Given:
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        // When:
+        ShardPlan.main(new String[] { "history" }, null, new PrintStream(err, true, "UTF-8"));
+
+        // Then:
+        assertThat(err.toString("UTF-8")).startsWith("Usage: " + ShardPlan.class.getName());
+    }
+
+    @Test
+    public void testMainShouldCreatePlanFromRowHistoryFile() throws Exception {
+        // Given:
+        File historyFile = new File(temporaryFolder.getRoot(), "history");
+        File planFile = new File(temporaryFolder.getRoot(), "plan");
+
+        RowHistory history = RowHistory.getInstance(historyFile.getPath());
+        history.record("slow", Status.PASSED, 30000000L);
+        history.record("fast1", Status.PASSED, 1000000L);
+        history.record("fast2", Status.FAILED, 2000000L);
+        history.save();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When:
+        ShardPlan.main(new String[] { historyFile.getPath(), "2", planFile.getPath() }, new PrintStream(out, true,
+                "UTF-8"), null);
+
+        // Then:
+        assertThat(out.toString("UTF-8")).isEqualTo(String.format("Shard 0: 30 ms%nShard 1: 3 ms%n"));
+
+        ShardPlan result = ShardPlan.getInstance(planFile.getPath());
+        assertThat(result.getShardCount()).isEqualTo(2);
+        assertThat(result.getShard("slow")).isEqualTo(0);
+        assertThat(result.getShard("fast1")).isEqualTo(1);
+        assertThat(result.getShard("fast2")).isEqualTo(1);
+    }
+}
@@ -1,16 +1,29 @@
 package com.tngtech.java.junit.dataprovider.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyListOf;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.io.PrintStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -18,10 +31,20 @@ import org.junit.runner.RunWith;
 import org.junit.runners.model.FrameworkMethod;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import com.tngtech.java.junit.dataprovider.BaseTest;
 import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderBatch;
+import com.tngtech.java.junit.dataprovider.DataProviderBatchFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.DataProviderContext;
+import com.tngtech.java.junit.dataprovider.DataProviderFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.LazyDataProviderFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.SharedResource;
+import com.tngtech.java.junit.dataprovider.SpilledDataProviderFrameworkMethod;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -29,6 +52,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 public class TestGeneratorTest extends BaseTest {
 
     @InjectMocks
+    @Spy
     private TestGenerator underTest;
 
     @Mock
@@ -186,6 +210,82 @@ public class TestGeneratorTest extends BaseTest {
         verify(dataProviderMethod).invokeExplosively(null, testMethod);
     }
 
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldOnlyReturnSampledRowsRetainingTheirIndex() {
+        // Given:
+        RowSampler rowSampler = mock(RowSampler.class);
+        underTest.setRowSampler(rowSampler);
+
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 },
+                new Object[] { 4 });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn(list(1, 3)).when(rowSampler).sample(testMethod, 4);
+        doReturn("%i").when(dataProvider).format();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(((DataProviderFrameworkMethod) result.get(0)).getName()).isEqualTo("1");
+        assertThat(((DataProviderFrameworkMethod) result.get(1)).getName()).isEqualTo("3");
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldRemoveDuplicateRowsRetainingTheirIndexIfConfigured() {
+        // Given:
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1, "a" }, new Object[] { 2, "b" },
+                new Object[] { 1, "a" }, new Object[] { 3, "c" });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn(true).when(dataProvider).removeDuplicates();
+        doReturn("%i").when(dataProvider).format();
+
+        PrintStream out = mock(PrintStream.class);
+        doReturn(out).when(underTest).getOut();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getName()).isEqualTo("0");
+        assertThat(result.get(1).getName()).isEqualTo("1");
+        assertThat(result.get(2).getName()).isEqualTo("3");
+        verify(out).println("Removed 1 duplicate rows of 'BaseTest.anyMethod'");
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldNotRemoveDuplicateRowsIfNotConfigured() {
+        // Given:
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 }, new Object[] { 1 });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn("%i").when(dataProvider).format();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertDataProviderFrameworkMethods(result, dataConverterResult, "%i");
+    }
+
+    @Test
+    public void testRemoveDuplicatesShouldCompareArrayParametersDeeply() {
+        // Given:
+        List<Object[]> rows = listOfArrays(new Object[] { new int[] { 1, 2 }, new String[] { "a" } },
+                new Object[] { new int[] { 1, 2 }, new String[] { "b" } },
+                new Object[] { new int[] { 1, 2 }, new String[] { "a" } }, new Object[] { null, null },
+                new Object[] { null, null });
+
+        // When:
+        List<Integer> result = underTest.removeDuplicates(rows);
+
+        // Then:
+        assertThat(result).containsExactly(0, 1, 3);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testExplodeTestMethodsDataProviderShouldIllegalArgumentExceptionIfDataConverterReturnsAnEmptyList() {
         // Given:
@@ -229,8 +329,508 @@ public class TestGeneratorTest extends BaseTest {
         assertDataProviderFrameworkMethods(result, dataConverterResult, "%p[0]");
     }
 
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldSpillSerializableRowsAboveThresholdWhileConverting()
+            throws Throwable {
+        // Given:
+        final List<Object[]> spilledWhileConverting = new ArrayList<Object[]>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                @SuppressWarnings("unchecked")
+                List<Object[]> result = (List<Object[]>) invocation.getArguments()[4];
+                for (Object[] row : listOfArrays(new Object[] { 1 }, new Object[] { 2 }, new Object[] { new Object() },
+                        new Object[] { 4 })) {
+                    result.add(row);
+                    spilledWhileConverting.add(result.get(result.size() - 1));
+                }
+                return null;
+            }
+        }).when(dataConverter).convert(any(), anyBoolean(), any(Class[].class), any(DataProvider.class),
+                anyListOf(Object[].class));
+        doReturn("%i: %p[0]").when(dataProvider).format();
+
+        System.setProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD, "1");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+            // Then:
+            assertThat(spilledWhileConverting.get(0)).isNotNull();
+            assertThat(spilledWhileConverting.get(1)).isNull();
+            assertThat(spilledWhileConverting.get(2)).isNotNull();
+            assertThat(spilledWhileConverting.get(3)).isNull();
+
+            assertThat(result).hasSize(4);
+            assertThat(result.get(0)).isNotInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(1)).isInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(2)).isNotInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(3)).isInstanceOf(SpilledDataProviderFrameworkMethod.class);
+
+            assertThat(result.get(3).getName()).isEqualTo("3: 4");
+            assertThat(((SpilledDataProviderFrameworkMethod) result.get(3)).readParameters()).containsExactly(4);
+
+        } finally {
+            System.clearProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldOnlySpillSampledRowsIfSampleIsDrawnBeforeConverting() {
+        // Given:
+        RowSampler rowSampler = mock(RowSampler.class);
+        underTest.setRowSampler(rowSampler);
+        doReturn(list(1, 2, 3)).when(rowSampler).sample(testMethod, 4);
+
+        final List<Object[]> keptWhileConverting = new ArrayList<Object[]>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                @SuppressWarnings("unchecked")
+                List<Object[]> result = (List<Object[]>) invocation.getArguments()[4];
+                for (Object[] row : listOfArrays(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 },
+                        new Object[] { 4 })) {
+                    result.add(row);
+                    keptWhileConverting.add(result.get(result.size() - 1));
+                }
+                return null;
+            }
+        }).when(dataConverter).convert(any(), anyBoolean(), any(Class[].class), any(DataProvider.class),
+                anyListOf(Object[].class));
+        doReturn(new String[] { "1", "2", "3", "4" }).when(dataProvider).value();
+        doReturn("%i: %p[0]").when(dataProvider).format();
+
+        System.setProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD, "1");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+            // Then:
+            assertThat(keptWhileConverting.get(0)).isNull();
+            assertThat(keptWhileConverting.get(1)).containsExactly(2);
+            assertThat(keptWhileConverting.get(2)).isNull();
+            assertThat(keptWhileConverting.get(3)).isNull();
+
+            assertThat(result).hasSize(3);
+            assertThat(result.get(0)).isNotInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(1)).isInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(2)).isInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(2).getName()).isEqualTo("3: 4");
+            verify(rowSampler).sample(testMethod, 4);
+            verifyNoMoreInteractions(rowSampler);
+
+        } finally {
+            System.clearProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldOnlyCreateSpilledRowsForSampleDrawnAfterConverting()
+            throws Throwable {
+        // Given:
+        RowSampler rowSampler = mock(RowSampler.class);
+        underTest.setRowSampler(rowSampler);
+        doReturn(true).when(rowSampler).isSampling(testMethod);
+        doReturn(list(2)).when(rowSampler).sample(testMethod, 4);
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                @SuppressWarnings("unchecked")
+                List<Object[]> result = (List<Object[]>) invocation.getArguments()[4];
+                result.addAll(listOfArrays(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 },
+                        new Object[] { 4 }));
+                return null;
+            }
+        }).when(dataConverter).convert(any(), anyBoolean(), any(Class[].class), any(DataProvider.class),
+                anyListOf(Object[].class));
+        doReturn("%i: %p[0]").when(dataProvider).format();
+
+        System.setProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD, "1");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+            // Then:
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0)).isInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(0).getName()).isEqualTo("2: 3");
+            assertThat(((SpilledDataProviderFrameworkMethod) result.get(0)).readParameters()).containsExactly(3);
+
+        } finally {
+            System.clearProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldOnlySpillRowsOfSelectedShardWhileConverting() {
+        // Given:
+        List<Object[]> data = listOfArrays(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 },
+                new Object[] { 4 }, new Object[] { 5 }, new Object[] { 6 });
+        Map<String, Long> durations = new HashMap<String, Long>();
+        for (Object[] row : data) {
+            durations.put(RowFingerprint.of(getClass(), anyMethod(), RowFingerprint.hashParameters(row)), 10L);
+        }
+        ShardPlan shardPlan = ShardPlan.plan(durations, 2);
+        underTest.setShardPlan(shardPlan);
+        underTest.setTestClass(getClass());
+
+        final List<Object[]> rows = data;
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                @SuppressWarnings("unchecked")
+                List<Object[]> result = (List<Object[]>) invocation.getArguments()[4];
+                result.addAll(rows);
+                return null;
+            }
+        }).when(dataConverter).convert(any(), anyBoolean(), any(Class[].class), any(DataProvider.class),
+                anyListOf(Object[].class));
+        doReturn("%p[0]").when(dataProvider).format();
+
+        System.setProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD, "1");
+        System.setProperty(ShardPlan.SYSTEM_PROPERTY_SHARD, "1");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+            // Then:
+            List<String> expected = new ArrayList<String>();
+            for (Object[] row : data) {
+                if (shardPlan.getShard(RowFingerprint.of(getClass(), anyMethod(), RowFingerprint.hashParameters(
+                        row))) == 1) {
+                    expected.add(String.valueOf(row[0]));
+                }
+            }
+            List<String> names = new ArrayList<String>();
+            for (FrameworkMethod row : result) {
+                names.add(row.getName());
+            }
+            assertThat(names).isNotEmpty().hasSize(3).isEqualTo(expected);
+
+        } finally {
+            System.clearProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD);
+            System.clearProperty(ShardPlan.SYSTEM_PROPERTY_SHARD);
+        }
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldSpillRowsAboveThresholdAfterRemovingDuplicates() {
+        // Given:
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 }, new Object[] { 1 }, new Object[] { 2 },
+                new Object[] { 3 });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn("%i: %p[0]").when(dataProvider).format();
+        doReturn(true).when(dataProvider).removeDuplicates();
+
+        PrintStream out = mock(PrintStream.class);
+        doReturn(out).when(underTest).getOut();
+
+        System.setProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD, "2");
+        try {
+            // When:
+            List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+            // Then:
+            assertThat(result).hasSize(3);
+            assertThat(result.get(1)).isNotInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(2)).isInstanceOf(SpilledDataProviderFrameworkMethod.class);
+            assertThat(result.get(2).getName()).isEqualTo("3: 3");
+            verify(out).println("Removed 1 duplicate rows of 'BaseTest.anyMethod'");
+
+        } finally {
+            System.clearProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testCloseRowStoresShouldCloseRowStoresOfSpilledRows() {
+        // Given:
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 }, new Object[] { 2 });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn("%i").when(dataProvider).format();
+        doReturn(true).when(dataProvider).removeDuplicates();
+
+        List<FrameworkMethod> result;
+        System.setProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD, "1");
+        try {
+            result = underTest.explodeTestMethod(testMethod, dataProvider);
+        } finally {
+            System.clearProperty(RowStore.SYSTEM_PROPERTY_THRESHOLD);
+        }
+
+        // When:
+        underTest.closeRowStores();
+
+        // Then:
+        try {
+            ((SpilledDataProviderFrameworkMethod) result.get(1)).readParameters();
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).contains("closed");
+        }
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldOnlyCheckParameterCountIfConvertLazily() {
+        // Given:
+        String[] data = new String[] { "1, a", "2, b" };
+        doReturn(data).when(dataProvider).value();
+        doReturn(true).when(dataProvider).convertLazily();
+        doReturn("%i: %p[0]").when(dataProvider).format();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).isInstanceOf(LazyDataProviderFrameworkMethod.class);
+        assertThat(result.get(0).getName()).isEqualTo("0: 1, a");
+        assertThat(result.get(1).getName()).isEqualTo("1: 2, b");
+
+        verify(dataConverter).checkParameterCount(data, false, new Class<?>[0], dataProvider);
+        verifyNoMoreInteractions(dataConverter);
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldDetermineResourceKeysAndNotConvertLazilyIfParametersAreKeys() {
+        // Given:
+        String[] data = new String[] { "1, a", "2, b" };
+        doReturn(data).when(dataProvider).value();
+        doReturn(true).when(dataProvider).convertLazily();
+        doReturn("%i").when(dataProvider).format();
+
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1, "a" }, new Object[] { 2, "b" });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+
+        SharedResource sharedResource = mock(SharedResource.class);
+        doReturn(new String[] { "static" }).when(sharedResource).value();
+        doReturn(new int[] { 1 }).when(sharedResource).parameters();
+        doReturn(SharedResource.Mode.READ_WRITE).when(sharedResource).mode();
+        doReturn(sharedResource).when(testMethod).getAnnotation(SharedResource.class);
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).isNotInstanceOf(LazyDataProviderFrameworkMethod.class);
+        assertThat(((DataProviderFrameworkMethod) result.get(0)).getResourceKeys().getWriteKeys()).containsOnly(
+                "static", "a");
+        assertThat(((DataProviderFrameworkMethod) result.get(1)).getResourceKeys().getWriteKeys()).containsOnly(
+                "static", "b");
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldSetNoResourceKeysWithoutSharedResource() {
+        // Given:
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn("%i").when(dataProvider).format();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertThat(((DataProviderFrameworkMethod) result.get(0)).getResourceKeys()).isSameAs(ResourceKeys.NONE);
+    }
+
+    @Test
+    public void testExplodeTestMethodsDataProviderShouldReturnBatchesIfTestMethodIsAnnotatedWithDataProviderBatch() {
+        // Given:
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 });
+        doReturn(dataConverterResult).when(dataConverter).convert(any(), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn("%i").when(dataProvider).format();
+
+        DataProviderBatch batch = mock(DataProviderBatch.class);
+        doReturn(2).when(batch).size();
+        doReturn(batch).when(testMethod).getAnnotation(DataProviderBatch.class);
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProvider);
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).isInstanceOf(DataProviderBatchFrameworkMethod.class);
+        assertThat(result.get(0).getName()).isEqualTo("anyMethod[batch 0: 2 rows from 0 to 1]");
+        assertThat(result.get(1).getName()).isEqualTo("anyMethod[batch 1: 1 rows from 2 to 2]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateBatchesShouldThrowIllegalArgumentExceptionIfBatchSizeIsNotPositive() {
+        // Given:
+
+        // When:
+        underTest.createBatches(anyMethod(), null, new ArrayList<DataProviderFrameworkMethod>(), 0);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testStartAsyncDataProviderMethodShouldNotInvokeDataProviderMethodNotReturningFuture() throws Throwable {
+        // Given:
+
+        // When:
+        underTest.startAsyncDataProviderMethod(testMethod, dataProviderMethod);
+
+        // Then:
+        verify(dataProviderMethod, never()).invokeExplosively(any());
+    }
+
+    @Test
+    public void testExplodeTestMethodsUseDataProviderShouldUseResultOfFutureStartedEarly() throws Throwable {
+        // Given:
+        final Object[][] data = new Object[][] { { 1 }, { 2 } };
+        FutureTask<Object[][]> future = new FutureTask<Object[][]>(new Callable<Object[][]>() {
+            @Override
+            public Object[][] call() {
+                return data;
+            }
+        });
+        doReturn(getMethod("futureDataProviderMethod")).when(dataProviderMethod).getMethod();
+        doReturn(future).when(dataProviderMethod).invokeExplosively(null);
+
+        List<Object[]> dataConverterResult = listOfArrays(new Object[] { 1 }, new Object[] { 2 });
+        doReturn(dataConverterResult).when(dataConverter).convert(eq(data), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn(dataProvider).when(dataProviderMethod).getAnnotation(DataProvider.class);
+        doReturn("%m").when(dataProvider).format();
+
+        underTest.startAsyncDataProviderMethod(testMethod, dataProviderMethod);
+        verify(dataProviderMethod).invokeExplosively(null);
+        future.run();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProviderMethod);
+
+        // Then:
+        assertDataProviderFrameworkMethods(result, dataConverterResult, "%m");
+        verify(dataProviderMethod).invokeExplosively(null);
+    }
+
+    @Test
+    public void testExplodeTestMethodsUseDataProviderShouldOnlyUnwrapExecutionExceptionOfFuture() throws Throwable {
+        // Given:
+        final ExecutionException exception = new ExecutionException("lookup failed", new IllegalStateException());
+        FutureTask<Object[][]> future = new FutureTask<Object[][]>(new Callable<Object[][]>() {
+            @Override
+            public Object[][] call() throws Exception {
+                throw exception;
+            }
+        });
+        future.run();
+        doReturn(getMethod("futureDataProviderMethod")).when(dataProviderMethod).getMethod();
+        doReturn(future).when(dataProviderMethod).invokeExplosively(null);
+
+        underTest.startAsyncDataProviderMethod(testMethod, dataProviderMethod);
+
+        // When:
+        try {
+            underTest.explodeTestMethod(testMethod, dataProviderMethod);
+            fail("expected exception");
+
+        } catch (IllegalArgumentException e) {
+            // Then:
+            assertThat(e.getCause()).isSameAs(exception);
+        }
+    }
+
+    @Test
+    public void testExplodeTestMethodsUseDataProviderShouldThrowDeferredExceptionOfDataProviderMethodStartedEarly()
+            throws Throwable {
+        // Given:
+        IllegalStateException exception = new IllegalStateException("no database");
+        doReturn(getMethod("futureDataProviderMethod")).when(dataProviderMethod).getMethod();
+        doThrow(exception).when(dataProviderMethod).invokeExplosively(null);
+
+        underTest.startAsyncDataProviderMethod(testMethod, dataProviderMethod);
+
+        // When:
+        try {
+            underTest.explodeTestMethod(testMethod, dataProviderMethod);
+            fail("expected exception");
+
+        } catch (IllegalArgumentException e) {
+            // Then:
+            assertThat(e.getCause()).isSameAs(exception);
+        }
+        verify(dataProviderMethod).invokeExplosively(null);
+    }
+
+    @Test
+    public void testExplodeTestMethodsUseDataProviderShouldRetainRowsSelectedViaDataProviderContext() throws Throwable {
+        // Given:
+        RowSampler rowSampler = mock(RowSampler.class);
+        underTest.setRowSampler(rowSampler);
+        doReturn(list(2, 7)).when(rowSampler).sample(testMethod, 10);
+
+        final Object[][] data = new Object[][] { { 2 }, { 7 } };
+        doReturn(getMethod("contextDataProviderMethod")).when(dataProviderMethod).getMethod();
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                DataProviderContext context = invocation.getArgument(1);
+                assertThat(context.getTestMethod()).isSameAs(testMethod);
+                assertThat(context.selectRows(10)).containsExactly(2, 7);
+                return data;
+            }
+        }).when(dataProviderMethod).invokeExplosively(eq(null), any(DataProviderContext.class));
+
+        doReturn(listOfArrays(data)).when(dataConverter).convert(eq(data), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn(dataProvider).when(dataProviderMethod).getAnnotation(DataProvider.class);
+        doReturn("%i").when(dataProvider).format();
+
+        // When:
+        List<FrameworkMethod> result = underTest.explodeTestMethod(testMethod, dataProviderMethod);
+
+        // Then:
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getName()).isEqualTo("2");
+        assertThat(result.get(1).getName()).isEqualTo("7");
+        verify(rowSampler).sample(testMethod, 10);
+        verifyNoMoreInteractions(rowSampler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExplodeTestMethodsUseDataProviderShouldThrowIllegalArgumentExceptionIfNotOnlySelectedRowsAreReturned()
+            throws Throwable {
+        // Given:
+        final Object[][] data = new Object[][] { { 1 }, { 2 }, { 3 } };
+        doReturn(getMethod("contextDataProviderMethod")).when(dataProviderMethod).getMethod();
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((DataProviderContext) invocation.getArgument(1)).selectRows(2);
+                return data;
+            }
+        }).when(dataProviderMethod).invokeExplosively(eq(null), any(DataProviderContext.class));
+
+        doReturn(listOfArrays(data)).when(dataConverter).convert(eq(data), any(Boolean.class), any(Class[].class),
+                any(DataProvider.class));
+        doReturn(dataProvider).when(dataProviderMethod).getAnnotation(DataProvider.class);
+
+        // When:
+        underTest.explodeTestMethod(testMethod, dataProviderMethod);
+
+        // Then: expect exception
+    }
+
     // -- helper methods to find non-mockable Method objects (due to final :-( ) ---------------------------------------
     public static Object[][] dataProviderMethod(FrameworkMethod method) {
         return new Object[][] { { method } };
     }
+
+    public static Future<Object[][]> futureDataProviderMethod() {
+        return null;
+    }
+
+    public static Object[][] contextDataProviderMethod(@SuppressWarnings("unused") DataProviderContext context) {
+        return null;
+    }
 }
@@ -19,6 +19,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import com.tngtech.java.junit.dataprovider.BaseTest;
 import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderContext;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -259,6 +260,25 @@ public class TestValidatorTest extends BaseTest {
         assertThat(errors).isEmpty();
     }
 
+    @Test
+    public void testValidateDataProviderMethodShouldAddNoErrorIfDataProviderMethodWithDataProviderContextParameterIsValid() {
+        // Given:
+        String dataProviderName = "validDataProvider";
+
+        List<Throwable> errors = new ArrayList<Throwable>();
+
+        doReturn(dataProviderName).when(dataProviderMethod).getName();
+        doReturn(getMethod("validDataProviderMethodWithDataProviderContextParameter")).when(dataProviderMethod).getMethod();
+        doReturn(true).when(dataConverter).canConvert(any(Type.class));
+        doReturn(new String[0]).when(dataProvider).value();
+
+        // When:
+        underTest.validateDataProviderMethod(dataProviderMethod, dataProvider, errors);
+
+        // Then:
+        assertThat(errors).isEmpty();
+    }
+
     @Test
     public void testValidateDataProviderMethodShouldAddErrorIfDataProviderMethodIsNotPublic() {
         // Given:
@@ -317,7 +337,7 @@ public class TestValidatorTest extends BaseTest {
         // Then:
         assertThat(errors).hasSize(1);
         assertThat(errors.get(0).getMessage()).contains(dataProviderName).containsIgnoringCase(
-                "must either have a single FrameworkMethod parameter or none");
+                "must either have a single FrameworkMethod or DataProviderContext parameter or none");
     }
 
     @Test
@@ -338,7 +358,7 @@ public class TestValidatorTest extends BaseTest {
         // Then:
         assertThat(errors).hasSize(1);
         assertThat(errors.get(0).getMessage()).contains(dataProviderName).containsIgnoringCase(
-                "must either have a single FrameworkMethod parameter or none");
+                "must either have a single FrameworkMethod or DataProviderContext parameter or none");
     }
 
     @Test
@@ -403,7 +423,7 @@ public class TestValidatorTest extends BaseTest {
         assertThat(errors.get(0).getMessage()).contains(dataProviderName).containsIgnoringCase("must be public");
         assertThat(errors.get(1).getMessage()).contains(dataProviderName).containsIgnoringCase("must be static");
         assertThat(errors.get(2).getMessage()).contains(dataProviderName).containsIgnoringCase(
-                "must either have a single FrameworkMethod parameter or none");
+                "must either have a single FrameworkMethod or DataProviderContext parameter or none");
         assertThat(errors.get(3).getMessage()).contains(dataProviderName).containsIgnoringCase(
                 "must either return Object[][], Object[], String[], Iterable<Iterable<?>>, or Iterable<?>");
         assertThat(errors.get(4).getMessage()).contains(dataProviderName).containsIgnoringCase(
@@ -449,4 +469,9 @@ public class TestValidatorTest extends BaseTest {
             @SuppressWarnings("unused") FrameworkMethod testMethod) {
         return null;
     }
+
+    public static Object[][] validDataProviderMethodWithDataProviderContextParameter(
+            @SuppressWarnings("unused") DataProviderContext context) {
+        return null;
+    }
 }
@@ -73,6 +73,34 @@ public class StringConverterTest extends BaseTest {
         // Then: expect exception
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckParameterCountShouldThrowExceptionIfNumberOfArgumentsIsNotEqualToNumberOfParameterTypes() {
+        // Given:
+        String data = "1,2,3";
+        Class<?>[] parameterTypes = new Class<?>[] { int.class, int.class };
+
+        doReturn(",").when(dataProvider).splitBy();
+
+        // When:
+        underTest.checkParameterCount(data, false, parameterTypes, dataProvider, 4);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testCheckParameterCountShouldNotConvertArguments() {
+        // Given:
+        String data = "noInt, noLong,1,2";
+        Class<?>[] parameterTypes = new Class<?>[] { int.class, long.class, Object[].class };
+
+        doReturn(",").when(dataProvider).splitBy();
+
+        // When:
+        underTest.checkParameterCount(data, true, parameterTypes, dataProvider, 5);
+
+        // Then: expect no exception
+    }
+
     @Test
     public void testConvertShouldCorrectlyParseAllPrimitiveTypes() {
         // Given:
@@ -447,6 +475,71 @@ public class StringConverterTest extends BaseTest {
         assertThat(result).containsExactly(BigInteger.ONE);
     }
 
+    @Test
+    public void testConvertShouldReturnSharedInstanceForEqualValuesOfImmutableTypeIfInternValues() {
+        // Given:
+        Class<?>[] parameterTypes = new Class<?>[] { BigInteger.class, Long.class };
+
+        doReturn(",").when(dataProvider).splitBy();
+        doReturn(true).when(dataProvider).internValues();
+
+        // When:
+        Object[] result1 = underTest.convert(new String("12345,12345"), false, parameterTypes, dataProvider, 81);
+        Object[] result2 = underTest.convert(new String("12345,12345"), false, parameterTypes, dataProvider, 82);
+
+        // Then:
+        assertThat(result1).containsExactly(new BigInteger("12345"), 12345L);
+        assertThat(result2[0]).isSameAs(result1[0]);
+        assertThat(result2[1]).isSameAs(result1[1]);
+    }
+
+    @Test
+    public void testConvertShouldNotReturnSharedInstanceForEqualValuesOfImmutableTypeIfNotInternValues() {
+        // Given:
+        Class<?>[] parameterTypes = new Class<?>[] { BigInteger.class };
+
+        // When:
+        Object[] result1 = underTest.convert("12345", false, parameterTypes, dataProvider, 83);
+        Object[] result2 = underTest.convert("12345", false, parameterTypes, dataProvider, 84);
+
+        // Then:
+        assertThat(result2[0]).isEqualTo(result1[0]).isNotSameAs(result1[0]);
+    }
+
+    @Test
+    public void testConvertShouldNotReturnSharedInstanceForEqualValuesOfMutableTypeEvenIfInternValues() {
+        // Given:
+        Class<?>[] parameterTypes = new Class<?>[] { StringBuilder.class };
+
+        doReturn(true).when(dataProvider).internValues();
+
+        // When:
+        Object[] result1 = underTest.convert("abc", false, parameterTypes, dataProvider, 85);
+        Object[] result2 = underTest.convert("abc", false, parameterTypes, dataProvider, 86);
+
+        // Then:
+        assertThat(result2[0]).isNotSameAs(result1[0]);
+    }
+
+    @Test
+    public void testConvertShouldEvictLeastRecentlyUsedSharedInstanceIfMaximumIsExceeded() {
+        // Given:
+        Class<?>[] parameterTypes = new Class<?>[] { BigInteger.class };
+
+        doReturn(true).when(dataProvider).internValues();
+
+        Object[] first = underTest.convert("0", false, parameterTypes, dataProvider, 0);
+        for (int idx = 1; idx <= StringConverter.MAX_INTERNED_VALUES_PER_TYPE; idx++) {
+            underTest.convert(String.valueOf(idx), false, parameterTypes, dataProvider, idx);
+        }
+
+        // When:
+        Object[] result = underTest.convert("0", false, parameterTypes, dataProvider, 0);
+
+        // Then:
+        assertThat(result[0]).isEqualTo(first[0]).isNotSameAs(first[0]);
+    }
+
     @Test
     public void testConvertShouldCorrectlyUseConstructorWithSingleStringArgForFile() {
         // Given:
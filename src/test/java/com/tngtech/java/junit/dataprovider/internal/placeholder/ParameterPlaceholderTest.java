@@ -1,5 +1,6 @@
 package com.tngtech.java.junit.dataprovider.internal.placeholder;
 
+import static com.tngtech.java.junit.dataprovider.internal.placeholder.ParameterPlaceholder.STRING_ELLIPSIS;
 import static com.tngtech.java.junit.dataprovider.internal.placeholder.ParameterPlaceholder.STRING_EMPTY;
 import static com.tngtech.java.junit.dataprovider.internal.placeholder.ParameterPlaceholder.STRING_NON_PRINTABLE;
 import static com.tngtech.java.junit.dataprovider.internal.placeholder.ParameterPlaceholder.STRING_NULL;
@@ -15,6 +16,9 @@ import org.mockito.InjectMocks;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.tngtech.java.junit.dataprovider.BaseTest;
+import com.tngtech.java.junit.dataprovider.DataProviderFrameworkMethod;
+import com.tngtech.java.junit.dataprovider.ParameterFormatter;
+import com.tngtech.java.junit.dataprovider.ParameterFormatters;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ParameterPlaceholderTest extends BaseTest {
@@ -661,4 +665,168 @@ public class ParameterPlaceholderTest extends BaseTest {
         // Then:
         assertThat(result).isEqualTo(now.toString() + ", 3.5, 1|2|3, src/main/java/com/tngtech");
     }
+
+    @Test
+    public void testFormatAllElidesMiddleOfParametersLongerThanMaxParameterLength() {
+        // Given:
+        final Object[] parameters = new Object[] { "abcdefghijklmnopqrstuvwxyz", "short", "0123456789\n\n" };
+
+        System.setProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH, "10");
+        try {
+            // When:
+            String result = underTest.formatAll(parameters);
+
+            // Then:
+            assertThat(result).isEqualTo("abcde" + STRING_ELLIPSIS + "vwxyz, short, 01234" + STRING_ELLIPSIS
+                    + "789\\n\\n");
+
+        } finally {
+            System.clearProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH);
+        }
+    }
+
+    @Test
+    public void testFormatAllElidesMiddleElementsOfArraysLongerThanMaxParameterLength() {
+        // Given:
+        int[] array = new int[1000000];
+        for (int idx = 0; idx < array.length; idx++) {
+            array[idx] = idx;
+        }
+        final Object[] parameters = new Object[] { array, new Object[] { "a", new String[] { "b", "c" } } };
+
+        System.setProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH, "20");
+        try {
+            // When:
+            String result = underTest.formatAll(parameters);
+
+            // Then:
+            assertThat(result).isEqualTo("[0, 1, 2, 3, " + STRING_ELLIPSIS + ", 999998, 999999], [a, [b, c]]");
+
+        } finally {
+            System.clearProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH);
+        }
+    }
+
+    @Test
+    public void testFormatAllOnlyFormatsLeadingAndTrailingParametersFittingIntoMaxNameLength() {
+        // Given:
+        final Object[] parameters = new Object[] { "abcdefghijklmnopqrstuvwxyz", "b", "c", "d", "e", "f" };
+
+        System.setProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH, "10");
+        try {
+            // When:
+            String result = underTest.formatAll(parameters);
+
+            // Then:
+            assertThat(result).isEqualTo("abcdefghij" + STRING_ELLIPSIS + "qrstuvwxyz, " + STRING_ELLIPSIS
+                    + ", c, d, e, f");
+
+        } finally {
+            System.clearProperty(DataProviderFrameworkMethod.SYSTEM_PROPERTY_MAX_NAME_LENGTH);
+        }
+    }
+
+    @Test
+    public void testFormatAllDoesNotSplitSurrogatePairsWhenElidingMiddleOfParameter() {
+        // Given:
+        final Object[] parameters = new Object[] { "ab\uD83D\uDE00cdef\uD83D\uDE00gh" };
+
+        System.setProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH, "6");
+        try {
+            // When:
+            String result = underTest.formatAll(parameters);
+
+            // Then:
+            assertThat(result).isEqualTo("ab" + STRING_ELLIPSIS + "gh");
+
+        } finally {
+            System.clearProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFormatAllThrowsIllegalArgumentExceptionIfMaxParameterLengthIsNotPositive() {
+        // Given:
+        System.setProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH, "0");
+        try {
+            // When:
+            underTest.formatAll(new Object[] { "a" });
+
+            // Then: expect exception
+
+        } finally {
+            System.clearProperty(ParameterPlaceholder.SYSTEM_PROPERTY_MAX_PARAMETER_LENGTH);
+        }
+    }
+
+    @Test
+    public void testFormatAllUsesRegisteredParameterFormatterInsteadOfToString() {
+        // Given:
+        final Object[] parameters = new Object[] { new TestToString("expensive"), new StringBuilder("a\nb") };
+
+        ParameterFormatters.register(TestToString.class, new ParameterFormatter<TestToString>() {
+            @Override
+            public String format(TestToString parameter) {
+                return "cheap";
+            }
+        });
+        ParameterFormatters.register(CharSequence.class, new ParameterFormatter<CharSequence>() {
+            @Override
+            public String format(CharSequence parameter) {
+                return parameter.length() + "\n";
+            }
+        });
+        try {
+            // When:
+            String result = underTest.formatAll(parameters);
+
+            // Then:
+            assertThat(result).isEqualTo("cheap, 3\\n");
+
+        } finally {
+            ParameterFormatters.reset();
+        }
+    }
+
+    @Test
+    public void testFormatAllUsesOverriddenFormatForEachParameterAndArrayElement() {
+        // Given:
+        final Object[] parameters = new Object[] { 1, null, new String[] { "a", "b" } };
+
+        ParameterPlaceholder placeholder = new ParameterPlaceholder() {
+            @Override
+            protected String format(Object param) {
+                return (param instanceof Object[]) ? "<" + formatAll((Object[]) param) + ">" : "'" + param + "'";
+            }
+        };
+
+        // When:
+        String result = placeholder.formatAll(parameters);
+
+        // Then:
+        assertThat(result).isEqualTo("'1', 'null', <'a', 'b'>");
+    }
+
+    @Test
+    public void testFormatAllUsesFormatOverriddenBySuperClassOfSubclass() {
+        // Given:
+        final Object[] parameters = new Object[] { 1, "b" };
+
+        ParameterPlaceholder placeholder = new QuotingParameterPlaceholder() {
+            // inherits the overridden format method
+        };
+
+        // When:
+        String result = placeholder.formatAll(parameters);
+
+        // Then:
+        assertThat(result).isEqualTo("'1', 'b'");
+    }
+
+    private static class QuotingParameterPlaceholder extends ParameterPlaceholder {
+        @Override
+        protected String format(Object param) {
+            return "'" + param + "'";
+        }
+    }
 }